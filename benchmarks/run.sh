@@ -0,0 +1,18 @@
+#!/usr/bin/env bash
+#
+# Runs the benchmarks with the GC profiler and writes the results as JSON.
+#
+#   ./run.sh                       # all benchmarks, results/baseline.json
+#   RESULTS=results/after.json ./run.sh 'DeploymentConfig.*'
+#
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+RESULTS=${RESULTS:-results/baseline.json}
+mkdir -p "$(dirname "$RESULTS")"
+
+../mvnw -q -f ../pom.xml -DskipTests install
+../mvnw -q package
+
+java -jar target/benchmarks.jar -prof gc -rf json -rff "$RESULTS" "$@"
@@ -0,0 +1,58 @@
+package org.springframework.cloud.deployer.spi.openshift;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+
+import io.fabric8.kubernetes.api.model.ContainerStatusBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.openshift.api.model.Build;
+import io.fabric8.openshift.api.model.BuildBuilder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OpenShiftAppInstanceStatusBenchmark {
+
+	@Param({ "Running", "Complete" })
+	private String buildPhase;
+
+	private Pod pod;
+
+	private Build build;
+
+	private OpenShiftDeployerProperties properties;
+
+	@Setup
+	public void setup() {
+		pod = new PodBuilder().withNewMetadata().withName("testapp-source-1-abcde")
+				.endMetadata().withNewStatus()
+				.withContainerStatuses(new ContainerStatusBuilder().withReady(true)
+						.withRestartCount(0).build())
+				.withPhase("Running").endStatus().build();
+		build = new BuildBuilder().withNewStatus().withPhase(buildPhase).endStatus()
+				.build();
+		properties = new OpenShiftDeployerProperties();
+	}
+
+	@Benchmark
+	public DeploymentState getState() {
+		return new OpenShiftAppInstanceStatus(pod, properties, build).getState();
+	}
+
+}
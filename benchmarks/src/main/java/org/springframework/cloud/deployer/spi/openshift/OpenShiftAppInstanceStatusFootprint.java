@@ -0,0 +1,150 @@
+package org.springframework.cloud.deployer.spi.openshift;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.ContainerStatusBuilder;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodConditionBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.openshift.api.model.Build;
+import io.fabric8.openshift.api.model.BuildBuilder;
+
+/**
+ * Measures the heap retained by the app instance statuses with JOL: the
+ * {@link OpenShiftAppInstanceStatus} of a number of instances, against the Pods and Builds
+ * the statuses previously retained. The objects are modelled on the Pods and Builds of a
+ * deployed Maven app.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar \
+ *   org.springframework.cloud.deployer.spi.openshift.OpenShiftAppInstanceStatusFootprint 1000 10
+ * </pre>
+ */
+public class OpenShiftAppInstanceStatusFootprint {
+
+	public static void main(String[] args) {
+		int instances = (args.length > 0) ? Integer.parseInt(args[0]) : 1000;
+		int apps = (args.length > 1) ? Integer.parseInt(args[1]) : 10;
+
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		List<Build> builds = new ArrayList<>();
+		for (int app = 0; app < apps; app++) {
+			builds.add(build("app" + app));
+		}
+
+		List<Object> retainedBefore = new ArrayList<>();
+		List<OpenShiftAppInstanceStatus> statuses = new ArrayList<>();
+		for (int instance = 0; instance < instances; instance++) {
+			Build build = builds.get(instance % apps);
+			Pod pod = pod("app" + (instance % apps), instance);
+			retainedBefore.add(Arrays.asList(pod, build));
+			statuses.add(new OpenShiftAppInstanceStatus(pod, properties, build));
+		}
+
+		System.out.println(VM.current().details());
+		long before = GraphLayout.parseInstance(retainedBefore).totalSize();
+		long after = GraphLayout.parseInstance(statuses).totalSize();
+		System.out.printf("%d instances of %d apps%n", instances, apps);
+		System.out.printf("Pods and Builds:  %,12d bytes (%,d per instance)%n", before,
+				before / instances);
+		System.out.printf("Instance status:  %,12d bytes (%,d per instance)%n", after,
+				after / instances);
+		System.out.println(GraphLayout.parseInstance(statuses.get(0)).toFootprint());
+	}
+
+	private static Pod pod(String appId, int instance) {
+		String name = String.format("%s-1-%05d", appId, instance);
+		return new PodBuilder().withNewMetadata().withName(name).withNamespace("scdf")
+				.withUid("6a1c2b8e-0f9d-11e8-9e6a-" + String.format("%012d", instance))
+				.addToLabels("spring-app-id", appId)
+				.addToLabels("spring-deployment-id", appId)
+				.addToLabels("spring-group-id", "ticktock")
+				.addToLabels("deployment", appId + "-1")
+				.addToLabels("deploymentconfig", appId)
+				.addToAnnotations("openshift.io/deployment-config.name", appId)
+				.addToAnnotations("openshift.io/deployment.name", appId + "-1")
+				.addToAnnotations("openshift.io/scc", "restricted")
+				.addToAnnotations("kubernetes.io/created-by",
+						"{\"kind\":\"SerializedReference\",\"apiVersion\":\"v1\",\"reference\":"
+								+ "{\"kind\":\"ReplicationController\",\"namespace\":\"scdf\","
+								+ "\"name\":\"" + appId + "-1\"}}")
+				.endMetadata().withNewSpec()
+				.withContainers(new ContainerBuilder().withName(appId)
+						.withImage("172.30.1.1:5000/scdf/" + appId + "@sha256:"
+								+ "4f1c8a8e9b2d7c6e5f4a3b2c1d0e9f8a7b6c5d4e3f2a1b0c9d8e7f6a5b4c3d2e")
+						.withEnv(env(appId)).addNewPort().withContainerPort(8080).endPort()
+						.withNewResources()
+						.addToLimits("memory", new Quantity("512Mi"))
+						.addToLimits("cpu", new Quantity("500m")).endResources()
+						.withNewReadinessProbe().withNewHttpGet().withPath("/health")
+						.endHttpGet().withInitialDelaySeconds(10).endReadinessProbe()
+						.withNewLivenessProbe().withNewHttpGet().withPath("/health")
+						.endHttpGet().withInitialDelaySeconds(60).endLivenessProbe()
+						.build())
+				.withNodeName("node-" + (instance % 8) + ".example.com")
+				.withRestartPolicy("Always").withServiceAccount("default").endSpec()
+				.withNewStatus().withPhase("Running").withHostIP("10.0.0." + (instance % 8))
+				.withPodIP("10.128." + (instance / 250) + "." + (instance % 250))
+				.withStartTime("2018-02-10T10:15:30Z").withQosClass("Burstable")
+				.withConditions(
+						new PodConditionBuilder().withType("Initialized")
+								.withStatus("True")
+								.withLastTransitionTime("2018-02-10T10:15:30Z").build(),
+						new PodConditionBuilder().withType("Ready").withStatus("True")
+								.withLastTransitionTime("2018-02-10T10:16:02Z").build(),
+						new PodConditionBuilder().withType("PodScheduled")
+								.withStatus("True")
+								.withLastTransitionTime("2018-02-10T10:15:30Z").build())
+				.withContainerStatuses(new ContainerStatusBuilder().withName(appId)
+						.withReady(true).withRestartCount(0)
+						.withImage("172.30.1.1:5000/scdf/" + appId)
+						.withImageID("docker-pullable://172.30.1.1:5000/scdf/" + appId)
+						.withContainerID("docker://" + String.format("%064d", instance))
+						.withNewState().withNewRunning()
+						.withStartedAt("2018-02-10T10:15:40Z").endRunning().endState()
+						.build())
+				.endStatus().build();
+	}
+
+	private static Build build(String appId) {
+		return new BuildBuilder().withNewMetadata().withName(appId + "-1")
+				.withNamespace("scdf").addToLabels("spring-app-id", appId)
+				.addToLabels("buildconfig", appId)
+				.addToAnnotations("openshift.io/build-config.name", appId)
+				.addToAnnotations("openshift.io/build.number", "1").endMetadata()
+				.withNewSpec().withNewStrategy().withType("Docker")
+				.withNewDockerStrategy().withEnv(env(appId)).endDockerStrategy()
+				.endStrategy().withNewOutput().withNewTo().withKind("ImageStreamTag")
+				.withName(appId + ":latest").endTo().endOutput().endSpec()
+				.withNewStatus().withPhase("Complete")
+				.withStartTimestamp("2018-02-10T10:12:01Z")
+				.withCompletionTimestamp("2018-02-10T10:14:55Z").withDuration(174000000000L)
+				.withOutputDockerImageReference("172.30.1.1:5000/scdf/" + appId + ":latest")
+				.endStatus().build();
+	}
+
+	private static List<EnvVar> env(String appId) {
+		List<EnvVar> env = new ArrayList<>();
+		env.add(new EnvVar("SPRING_CLOUD_APPLICATION_GROUP", "ticktock", null));
+		env.add(new EnvVar("SPRING_CLOUD_APPLICATION_GUID", appId, null));
+		env.add(new EnvVar("SPRING_APPLICATION_JSON",
+				"{\"spring.cloud.stream.bindings.output.destination\":\"ticktock." + appId
+						+ "\",\"spring.cloud.stream.bindings.output.producer.requiredGroups\":"
+						+ "\"ticktock\",\"spring.metrics.export.triggers.application.includes\":"
+						+ "\"integration**\"}",
+				null));
+		for (int index = 0; index < 8; index++) {
+			env.add(new EnvVar("APP_PROPERTY_" + index, "value-" + index, null));
+		}
+		return env;
+	}
+
+}
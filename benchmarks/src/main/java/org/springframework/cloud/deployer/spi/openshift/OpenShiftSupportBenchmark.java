@@ -0,0 +1,99 @@
+package org.springframework.cloud.deployer.spi.openshift;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.core.io.ByteArrayResource;
+
+import io.fabric8.kubernetes.api.model.EnvVar;
+
+/**
+ * The per deploy parsing of deployment and deployer properties:
+ * {@link OpenShiftSupport#toEnvVars}, {@link OpenShiftDeploymentRequest#of} and
+ * {@link OpenShiftAppDeployer#enableKubernetesDeployerCompatibility}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OpenShiftSupportBenchmark {
+
+	@Param({ "10", "50" })
+	private int properties;
+
+	private final OpenShiftSupport openShiftSupport = new OpenShiftSupport() {
+	};
+
+	private OpenShiftAppDeployer appDeployer;
+
+	private String[] environmentVariables;
+
+	private Map<String, String> overrideEnvironmentVariables;
+
+	private Map<String, String> deploymentProperties;
+
+	private AppDeploymentRequest request;
+
+	@Setup
+	public void setup() {
+		environmentVariables = new String[properties];
+		overrideEnvironmentVariables = new HashMap<>();
+		deploymentProperties = new HashMap<>();
+		StringBuilder labels = new StringBuilder();
+		for (int i = 0; i < properties; i++) {
+			environmentVariables[i] = "ENV_VAR_" + i + "=value-" + i;
+			if (i % 2 == 0) {
+				overrideEnvironmentVariables.put("ENV_VAR_" + i, "override-" + i);
+			}
+			deploymentProperties.put(
+					"spring.cloud.deployer.openshift.property" + i, "value-" + i);
+			deploymentProperties.put(
+					"spring.cloud.deployer.kubernetes.property" + i, "value-" + i);
+			labels.append(i == 0 ? "" : ",").append("label").append(i).append("=value")
+					.append(i);
+		}
+		deploymentProperties.put(
+				OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_LABELS,
+				labels.toString());
+
+		appDeployer = new OpenShiftAppDeployer(new OpenShiftDeployerProperties(), null,
+				null);
+		request = new AppDeploymentRequest(new AppDefinition("testapp", null),
+				new ByteArrayResource(new byte[0]), deploymentProperties);
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public List<EnvVar> toEnvVars() {
+		return openShiftSupport.toEnvVars(environmentVariables,
+				overrideEnvironmentVariables);
+	}
+
+	@Benchmark
+	public OpenShiftDeploymentRequest parseDeploymentProperties() {
+		return OpenShiftDeploymentRequest.of(request);
+	}
+
+	@Benchmark
+	public AppDeploymentRequest enableKubernetesDeployerCompatibility() {
+		return appDeployer.enableKubernetesDeployerCompatibility(request);
+	}
+
+}
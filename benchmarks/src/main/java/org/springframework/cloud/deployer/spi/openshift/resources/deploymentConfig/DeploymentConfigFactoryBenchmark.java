@@ -0,0 +1,101 @@
+package org.springframework.cloud.deployer.spi.openshift.resources.deploymentConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.kubernetes.ImagePullPolicy;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.resources.volumes.VolumeFactory;
+import org.springframework.core.io.ByteArrayResource;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+
+/**
+ * Building a {@link DeploymentConfig} with each of the {@link DeploymentConfigFactory}
+ * implementations. Lives in the factory package so that the protected
+ * {@link DeploymentConfigFactory#build} method can be called directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DeploymentConfigFactoryBenchmark {
+
+	@Param({ "plain", "indexed", "imageChangeTrigger" })
+	private String factory;
+
+	private DeploymentConfigFactory deploymentConfigFactory;
+
+	private AppDeploymentRequest request;
+
+	private Container container;
+
+	private Map<String, String> labels;
+
+	private ResourceRequirements resourceRequirements;
+
+	@Setup
+	public void setup() {
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+
+		switch (factory) {
+		case "indexed":
+			deploymentConfigFactory = new DeploymentConfigWithIndexSuppportFactory(null,
+					properties, null, null, null, ImagePullPolicy.IfNotPresent);
+			break;
+		case "imageChangeTrigger":
+			deploymentConfigFactory = new DeploymentConfigWithImageChangeTriggerWithIndexSuppportFactory(
+					null, properties, null, null, null, ImagePullPolicy.IfNotPresent);
+			break;
+		default:
+			deploymentConfigFactory = new DeploymentConfigFactory(null, null, null, null,
+					ImagePullPolicy.IfNotPresent, new VolumeFactory(properties));
+		}
+
+		request = new AppDeploymentRequest(
+				new AppDefinition("testapp", ImmutableMap.of("server.port", "8080")),
+				new ByteArrayResource(new byte[0]),
+				ImmutableMap.of(AppDeployer.COUNT_PROPERTY_KEY, "3",
+						AppDeployer.INDEXED_PROPERTY_KEY, "true"));
+		container = new ContainerBuilder().withName("testapp-source-0")
+				.withImage("testapp-source:latest").addNewEnv()
+				.withName("SPRING_CLOUD_APPLICATION_GROUP").withValue("test")
+				.endEnv().addNewPort().withContainerPort(8080).endPort().build();
+		labels = new HashMap<>(ImmutableMap.of("spring-app-id", "testapp-source",
+				"spring-deployment-id", "testapp-source", "spring-group-id", "test"));
+		resourceRequirements = new ResourceRequirements(
+				ImmutableMap.of("memory", new Quantity("512Mi"), "cpu",
+						new Quantity("500m")),
+				ImmutableMap.of("memory", new Quantity("256Mi")));
+	}
+
+	@Benchmark
+	public DeploymentConfig build() {
+		return deploymentConfigFactory.build(request, "testapp-source-0", container,
+				labels, resourceRequirements, ImagePullPolicy.IfNotPresent);
+	}
+
+}
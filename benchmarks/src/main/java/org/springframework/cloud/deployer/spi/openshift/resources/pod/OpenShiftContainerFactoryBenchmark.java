@@ -0,0 +1,73 @@
+package org.springframework.cloud.deployer.spi.openshift.resources.pod;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.deployer.resource.docker.DockerResource;
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.kubernetes.ContainerConfiguration;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentPropertyKeys;
+import org.springframework.cloud.deployer.spi.openshift.resources.volumes.VolumeMountFactory;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.fabric8.kubernetes.api.model.Container;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OpenShiftContainerFactoryBenchmark {
+
+	@Param({ "docker", "maven" })
+	private String resource;
+
+	private OpenShiftContainerFactory containerFactory;
+
+	private ContainerConfiguration containerConfiguration;
+
+	@Setup
+	public void setup() {
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		properties.setEnvironmentVariables(
+				new String[] { "JAVA_OPTS=-Xmx256m", "SPRING_PROFILES_ACTIVE=openshift" });
+		containerFactory = new OpenShiftContainerFactory(properties,
+				new VolumeMountFactory(properties));
+
+		Resource appResource = "docker".equals(resource)
+				? new DockerResource("springcloud/testapp:latest")
+				: new ByteArrayResource(new byte[0]);
+		AppDeploymentRequest request = new AppDeploymentRequest(
+				new AppDefinition("testapp",
+						ImmutableMap.of("server.port", "8080", "spring.cloud.stream"
+								+ ".bindings.output.destination", "testapp-output")),
+				appResource,
+				ImmutableMap.of(
+						OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_VOLUME_MOUNTS,
+						"[{name: 'config', mountPath: '/config'}]"));
+		containerConfiguration = new ContainerConfiguration("testapp-source", request)
+				.withExternalPort(8080);
+	}
+
+	@Benchmark
+	public Container create() {
+		return containerFactory.create(containerConfiguration);
+	}
+
+}
@@ -0,0 +1,86 @@
+package org.springframework.cloud.deployer.spi.openshift.resources.volumes;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentPropertyKeys;
+import org.springframework.core.io.ByteArrayResource;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.VolumeBuilder;
+import io.fabric8.kubernetes.api.model.VolumeMount;
+import io.fabric8.kubernetes.api.model.VolumeMountBuilder;
+
+/**
+ * Parsing the YAML volume and volume mount deployment properties and merging them with
+ * the deployer defined volumes and volume mounts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class VolumeFactoryBenchmark {
+
+	private VolumeFactory volumeFactory;
+
+	private VolumeMountFactory volumeMountFactory;
+
+	private AppDeploymentRequest request;
+
+	@Setup
+	public void setup() {
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		properties.setVolumes(ImmutableList.of(
+				new VolumeBuilder().withName("testhostpath").withNewHostPath()
+						.withPath("/test/hostPath").endHostPath().build(),
+				new VolumeBuilder().withName("testdefault").withNewEmptyDir().endEmptyDir()
+						.build()));
+		properties.setVolumeMounts(ImmutableList.of(
+				new VolumeMountBuilder().withName("testhostpath")
+						.withMountPath("/test/hostPath").build(),
+				new VolumeMountBuilder().withName("testdefault")
+						.withMountPath("/test/default").build()));
+		volumeFactory = new VolumeFactory(properties);
+		volumeMountFactory = new VolumeMountFactory(properties);
+
+		request = new AppDeploymentRequest(new AppDefinition("testapp", null),
+				new ByteArrayResource(new byte[0]), ImmutableMap.of(
+						OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_VOLUMES,
+						"[{name: testhostpath, hostPath: { path: '/test/override/hostPath' }},"
+								+ "{name: 'testpvc', persistentVolumeClaim: { claimName: 'testClaim', readOnly: 'true' }},"
+								+ "{name: 'testnfs', nfs: { server: '10.0.0.1:111', path: '/test/nfs' }}]",
+						OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_VOLUME_MOUNTS,
+						"[{name: 'testhostpath', mountPath: '/test/hostPath'},"
+								+ "{name: 'testpvc', mountPath: '/test/pvc'},"
+								+ "{name: 'testnfs', mountPath: '/test/nfs'}]"));
+	}
+
+	@Benchmark
+	public List<Volume> volumes() {
+		return volumeFactory.addObject(request, "testapp-source");
+	}
+
+	@Benchmark
+	public List<VolumeMount> volumeMounts() {
+		return volumeMountFactory.addObject(request, "testapp-source");
+	}
+
+}
@@ -0,0 +1,333 @@
+package org.springframework.cloud.deployer.spi.openshift;
+
+import java.io.Closeable;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.openshift.api.model.Build;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.client.OpenShiftClient;
+
+/**
+ * Pushes the {@link AppStatus} of apps to subscribers when it changes, instead of them
+ * polling {@link OpenShiftAppDeployer#status(String)}. The Pods, Builds and
+ * DeploymentConfigs labeled with <code>spring-app-id</code> are watched while there are
+ * subscribers. The events of an app within the debounce interval result in one status
+ * lookup, and a status is only pushed if it differs from the last one pushed. The
+ * lookups run on the provided executor, so the lookups of different apps don't wait for
+ * each other, while the lookups of one app never overlap. Once an app is undeployed, its
+ * last status is forgotten.
+ *
+ * Each subscriber is called on the provided executor, one status at a time. While a
+ * subscriber is busy, newer statuses of an app replace the ones not yet pushed, so a slow
+ * subscriber only misses intermediate statuses.
+ */
+public class AppStatusWatcher {
+
+	private static final Logger logger = LoggerFactory.getLogger(AppStatusWatcher.class);
+
+	/**
+	 * See
+	 * {@link org.springframework.cloud.deployer.spi.kubernetes.AbstractKubernetesDeployer#SPRING_APP_KEY}
+	 */
+	private static final String SPRING_APP_KEY = "spring-app-id";
+
+	private static final long RECONNECT_DELAY = 5000;
+
+	private final OpenShiftClient client;
+
+	private final Function<String, AppStatus> status;
+
+	private final long debounce;
+
+	private final Executor executor;
+
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+	private final Set<String> changed = ConcurrentHashMap.newKeySet();
+
+	private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+	private final Map<String, Object> pushed = new ConcurrentHashMap<>();
+
+	private final List<Watch> watches = new CopyOnWriteArrayList<>();
+
+	private volatile ScheduledExecutorService scheduler;
+
+	/**
+	 * @param client the client to watch with
+	 * @param status looks up the status of an app
+	 * @param debounce the time in milliseconds the events of an app are collected for
+	 * before its status is looked up
+	 * @param executor looks up the statuses and calls the subscribers
+	 */
+	public AppStatusWatcher(OpenShiftClient client, Function<String, AppStatus> status,
+			long debounce, Executor executor) {
+		this.client = client;
+		this.status = status;
+		this.debounce = debounce;
+		this.executor = executor;
+	}
+
+	/**
+	 * Subscribe to the status changes of all apps. The first subscription starts the
+	 * watches, closing the last subscription stops them.
+	 * @param subscriber called with the new status of an app
+	 * @return the subscription, to be closed to unsubscribe
+	 */
+	public synchronized Closeable subscribe(Consumer<AppStatus> subscriber) {
+		Subscription subscription = new Subscription(subscriber);
+		subscriptions.add(subscription);
+		if (scheduler == null) {
+			start();
+		}
+		return subscription;
+	}
+
+	private synchronized void unsubscribe(Subscription subscription) {
+		if (subscriptions.remove(subscription) && subscriptions.isEmpty()) {
+			stop();
+		}
+	}
+
+	private void start() {
+		scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+			Thread thread = new Thread(task, "openshift-status-watcher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		watch(Pod.class);
+		watch(Build.class);
+		watch(DeploymentConfig.class);
+	}
+
+	private void stop() {
+		watches.forEach(Watch::close);
+		watches.clear();
+		scheduler.shutdownNow();
+		scheduler = null;
+		changed.clear();
+		refreshing.clear();
+		pushed.clear();
+	}
+
+	private synchronized void watch(Class<? extends HasMetadata> kind) {
+		if (scheduler == null) {
+			return;
+		}
+
+		try {
+			watches.add(watch(kind, new Watcher<HasMetadata>() {
+
+				@Override
+				public void eventReceived(Action action, HasMetadata resource) {
+					Map<String, String> labels = resource.getMetadata().getLabels();
+					if (labels != null && labels.containsKey(SPRING_APP_KEY)) {
+						changed(labels.get(SPRING_APP_KEY));
+					}
+				}
+
+				@Override
+				public void onClose(KubernetesClientException cause) {
+					if (cause != null) {
+						logger.warn("Watch for {} closed, reconnecting in {}ms",
+								kind.getSimpleName(), RECONNECT_DELAY, cause);
+						reconnect(kind);
+					}
+				}
+			}));
+		}
+		catch (KubernetesClientException e) {
+			logger.warn("Could not watch {}, retrying in {}ms", kind.getSimpleName(),
+					RECONNECT_DELAY, e);
+			reconnect(kind);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Watch watch(Class<? extends HasMetadata> kind, Watcher<HasMetadata> watcher) {
+		if (kind == Pod.class) {
+			return client.pods().withLabel(SPRING_APP_KEY)
+					.watch((Watcher<Pod>) (Watcher<?>) watcher);
+		}
+		if (kind == Build.class) {
+			return client.builds().withLabel(SPRING_APP_KEY)
+					.watch((Watcher<Build>) (Watcher<?>) watcher);
+		}
+		return client.deploymentConfigs().withLabel(SPRING_APP_KEY)
+				.watch((Watcher<DeploymentConfig>) (Watcher<?>) watcher);
+	}
+
+	/**
+	 * Events may have been missed while the watch was down, so the status of all apps
+	 * pushed so far is looked up again.
+	 */
+	private synchronized void reconnect(Class<? extends HasMetadata> kind) {
+		if (scheduler != null) {
+			scheduler.schedule(() -> {
+				watch(kind);
+				pushed.keySet().forEach(this::changed);
+			}, RECONNECT_DELAY, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void changed(String appId) {
+		ScheduledExecutorService scheduler = this.scheduler;
+		if (scheduler != null && changed.add(appId)) {
+			try {
+				scheduler.schedule(() -> execute(appId), debounce,
+						TimeUnit.MILLISECONDS);
+			}
+			catch (RejectedExecutionException e) {
+				// stopped in the meantime
+				changed.remove(appId);
+			}
+		}
+	}
+
+	private void execute(String appId) {
+		try {
+			executor.execute(() -> refresh(appId));
+		}
+		catch (RejectedExecutionException e) {
+			logger.warn("Could not look up the status of app '{}'", appId, e);
+			changed.remove(appId);
+		}
+	}
+
+	private void refresh(String appId) {
+		if (!refreshing.add(appId)) {
+			// a lookup of the app is still running, look it up again afterwards
+			changed.remove(appId);
+			changed(appId);
+			return;
+		}
+
+		try {
+			// events received from here on schedule another lookup
+			changed.remove(appId);
+			AppStatus appStatus;
+			try {
+				appStatus = status.apply(appId);
+			}
+			catch (RuntimeException e) {
+				logger.warn("Could not get the status of app '{}'", appId, e);
+				return;
+			}
+
+			Object fingerprint = fingerprint(appStatus);
+			if (!Objects.equals(pushed.put(appId, fingerprint), fingerprint)) {
+				subscriptions.forEach(subscription -> subscription.push(appStatus));
+			}
+			if (isUndeployed(appStatus)) {
+				pushed.remove(appId);
+			}
+		}
+		finally {
+			refreshing.remove(appId);
+		}
+	}
+
+	/**
+	 * An app without any objects left, whose status no longer needs to be compared.
+	 */
+	private static boolean isUndeployed(AppStatus appStatus) {
+		return appStatus.getInstances().isEmpty()
+				&& (appStatus.getState() == DeploymentState.unknown
+						|| appStatus.getState() == DeploymentState.undeployed);
+	}
+
+	/**
+	 * The parts of a status that make it differ from another status of the same app.
+	 */
+	private static Object fingerprint(AppStatus appStatus) {
+		return new SimpleImmutableEntry<>(appStatus.getState(),
+				appStatus.getInstances().values().stream()
+						.collect(Collectors.toMap(AppInstanceStatus::getId,
+								instance -> new SimpleImmutableEntry<>(
+										instance.getState(), instance.getAttributes()))));
+	}
+
+	private class Subscription implements Closeable {
+
+		private final Consumer<AppStatus> subscriber;
+
+		private final Map<String, AppStatus> pending = new ConcurrentHashMap<>();
+
+		private final AtomicBoolean draining = new AtomicBoolean();
+
+		Subscription(Consumer<AppStatus> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		void push(AppStatus appStatus) {
+			pending.put(appStatus.getDeploymentId(), appStatus);
+			drain();
+		}
+
+		private void drain() {
+			if (draining.compareAndSet(false, true)) {
+				executor.execute(() -> {
+					try {
+						pending.keySet().forEach(appId -> {
+							AppStatus appStatus = pending.remove(appId);
+							if (appStatus != null) {
+								deliver(appStatus);
+							}
+						});
+					}
+					finally {
+						draining.set(false);
+					}
+					// pushed while finishing up
+					if (!pending.isEmpty()) {
+						drain();
+					}
+				});
+			}
+		}
+
+		private void deliver(AppStatus appStatus) {
+			try {
+				subscriber.accept(appStatus);
+			}
+			catch (RuntimeException e) {
+				logger.warn("Subscriber failed on the status of app '{}'",
+						appStatus.getDeploymentId(), e);
+			}
+		}
+
+		@Override
+		public void close() {
+			pending.clear();
+			unsubscribe(this);
+		}
+
+	}
+
+}
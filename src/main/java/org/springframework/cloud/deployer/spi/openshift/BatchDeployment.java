@@ -0,0 +1,104 @@
+package org.springframework.cloud.deployer.spi.openshift;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tracks the deployment of a batch of apps, e.g. all apps of a stream, deployed with
+ * {@link ResourceAwareOpenShiftAppDeployer#deploy(List)}. The deployment of an app
+ * completes once its objects are created and, for apps that are built, once the rollout
+ * of the built image is started. It completes exceptionally if creating the objects or
+ * the build fails.
+ */
+public class BatchDeployment {
+
+	private final Map<String, CompletableFuture<String>> deployments;
+
+	public BatchDeployment(Map<String, CompletableFuture<String>> deployments) {
+		this.deployments = Collections.unmodifiableMap(new LinkedHashMap<>(deployments));
+	}
+
+	/**
+	 * @return the ids of the deployed apps
+	 */
+	public List<String> getAppIds() {
+		return new ArrayList<>(deployments.keySet());
+	}
+
+	/**
+	 * @return the deployment of the app, completed with the app id
+	 */
+	public CompletableFuture<String> getDeployment(String appId) {
+		CompletableFuture<String> deployment = deployments.get(appId);
+		if (deployment == null) {
+			throw new IllegalArgumentException(
+					String.format("App '%s' is not part of this batch", appId));
+		}
+		return deployment;
+	}
+
+	/**
+	 * @return whether the deployments of all apps completed, successfully or not
+	 */
+	public boolean isDone() {
+		return deployments.values().stream().allMatch(CompletableFuture::isDone);
+	}
+
+	/**
+	 * @return the causes of the failed deployments by app id
+	 */
+	public Map<String, Throwable> getFailures() {
+		Map<String, Throwable> failures = new LinkedHashMap<>();
+		deployments.forEach((appId, deployment) -> {
+			if (deployment.isCompletedExceptionally()) {
+				try {
+					deployment.join();
+				}
+				catch (CompletionException e) {
+					failures.put(appId, e.getCause());
+				}
+				catch (RuntimeException e) {
+					failures.put(appId, e);
+				}
+			}
+		});
+		return failures;
+	}
+
+	/**
+	 * Wait for the deployments of all apps to complete.
+	 * @return whether all apps were deployed, see {@link #getFailures()} otherwise
+	 * @throws TimeoutException if not all deployments completed in time
+	 */
+	public boolean await(long timeout, TimeUnit unit)
+			throws InterruptedException, TimeoutException {
+		try {
+			CompletableFuture
+					.allOf(deployments.values().toArray(new CompletableFuture<?>[0]))
+					.get(timeout, unit);
+			return true;
+		}
+		catch (ExecutionException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @return a batch tracking the apps of this and the other batch
+	 */
+	public BatchDeployment and(BatchDeployment other) {
+		Map<String, CompletableFuture<String>> deployments = new LinkedHashMap<>(
+				this.deployments);
+		deployments.putAll(other.deployments);
+		return new BatchDeployment(deployments);
+	}
+
+}
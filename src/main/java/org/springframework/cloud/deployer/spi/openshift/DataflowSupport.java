@@ -10,11 +10,19 @@ import static org.springframework.cloud.deployer.spi.app.AppDeployer.INDEXED_PRO
 public interface DataflowSupport {
 
 	default Integer getAppInstanceCount(AppDeploymentRequest request) {
+		if (request instanceof OpenShiftDeploymentRequest) {
+			return ((OpenShiftDeploymentRequest) request).getInstanceCount();
+		}
+
 		String countProperty = request.getDeploymentProperties().get(COUNT_PROPERTY_KEY);
 		return (countProperty != null) ? Integer.parseInt(countProperty) : 1;
 	}
 
 	default boolean isIndexed(AppDeploymentRequest request) {
+		if (request instanceof OpenShiftDeploymentRequest) {
+			return ((OpenShiftDeploymentRequest) request).isIndexed();
+		}
+
 		String indexedProperty = request.getDeploymentProperties()
 				.get(INDEXED_PROPERTY_KEY);
 		return (indexedProperty != null) ? Boolean.valueOf(indexedProperty) : false;
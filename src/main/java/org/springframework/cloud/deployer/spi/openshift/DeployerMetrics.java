@@ -0,0 +1,215 @@
+package org.springframework.cloud.deployer.spi.openshift;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Span;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Type;
+import org.springframework.cloud.deployer.spi.openshift.resources.AbstractObjectFactory;
+import org.springframework.cloud.deployer.spi.openshift.resources.ObjectFactory;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.util.StringUtils;
+
+import io.fabric8.openshift.api.model.Build;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers for the phases of a deployment, the OpenShift objects written by the
+ * {@link ObjectFactory}'s and the builds of Maven resource apps. Every timer is tagged
+ * with the <code>outcome</code> of the timed operation.
+ */
+public class DeployerMetrics {
+
+	/**
+	 * Hash computation, POM extraction and build strategy selection, tagged by
+	 * <code>phase</code>.
+	 */
+	public static final String PHASE_METER = "openshift.deployer.deploy.phase";
+
+	/**
+	 * {@link ObjectFactory#addObject} and {@link ObjectFactory#applyObject}, tagged by
+	 * object <code>kind</code> and <code>operation</code>.
+	 */
+	public static final String FACTORY_METER = "openshift.deployer.factory";
+
+	/**
+	 * Time between a Build being created and it starting to run.
+	 */
+	public static final String BUILD_QUEUED_METER = "openshift.deployer.build.queued";
+
+	/**
+	 * Time between a Build starting and it completing.
+	 */
+	public static final String BUILD_RUN_METER = "openshift.deployer.build.run";
+
+	/**
+	 * Time between a Build completing and the rollout of the new image being requested.
+	 */
+	public static final String ROLLOUT_DELAY_METER = "openshift.deployer.build.rollout.delay";
+
+	/**
+	 * Builds cancelled because a Build of a different artifact was started for the same
+	 * app, tagged by the <code>phase</code> they were cancelled in.
+	 */
+	public static final String BUILD_SUPERSEDED_METER = "openshift.deployer.build.superseded";
+
+	/**
+	 * Latency of app status calls, tagged by the resulting <code>state</code>.
+	 */
+	public static final String STATUS_METER = "openshift.deployer.status";
+
+	private final Map<Class<?>, String> factoryKinds = new ConcurrentHashMap<>();
+
+	private final MeterRegistry meterRegistry;
+
+	public DeployerMetrics() {
+		this(Metrics.globalRegistry);
+	}
+
+	public DeployerMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	public MeterRegistry getMeterRegistry() {
+		return meterRegistry;
+	}
+
+	public <T> T timePhase(String phase, Supplier<T> operation) {
+		return time(PHASE_METER, Tags.of("phase", phase), result -> Tags.empty(),
+				operation);
+	}
+
+	public <T> T timeAddObject(ObjectFactory<T> factory, String appId,
+			Supplier<T> operation) {
+		String kind = kindOf(factory);
+		Span event = DeployerEvents.begin(Type.FACTORY_WRITE, appId, kind);
+		try {
+			return time(FACTORY_METER, Tags.of("kind", kind, "operation", "addObject"),
+					result -> Tags.empty(), operation);
+		}
+		finally {
+			event.commit();
+		}
+	}
+
+	public void timeApplyObject(ObjectFactory<?> factory, String appId,
+			Runnable operation) {
+		String kind = kindOf(factory);
+		Span event = DeployerEvents.begin(Type.FACTORY_WRITE, appId, kind);
+		try {
+			time(FACTORY_METER, Tags.of("kind", kind, "operation", "applyObject"),
+					result -> Tags.empty(), () -> {
+						operation.run();
+						return null;
+					});
+		}
+		finally {
+			event.commit();
+		}
+	}
+
+	/**
+	 * Time an operation. The timer is tagged with the provided tags, the tags derived
+	 * from the result and an <code>outcome</code> of either <code>success</code> or
+	 * <code>error</code>.
+	 * @param name the name of the timer
+	 * @param tags the tags known before the operation runs
+	 * @param resultTags the tags derived from the result of the operation
+	 * @param operation the operation to time
+	 * @return the result of the operation
+	 */
+	public <T> T time(String name, Tags tags, Function<T, Tags> resultTags,
+			Supplier<T> operation) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		try {
+			T result = operation.get();
+			sample.stop(meterRegistry.timer(name,
+					tags.and(resultTags.apply(result)).and("outcome", "success")));
+			return result;
+		}
+		catch (RuntimeException e) {
+			sample.stop(meterRegistry.timer(name, tags.and("outcome", "error")));
+			throw e;
+		}
+	}
+
+	/**
+	 * Record the queued and run time of a finished Build, from the timestamps in its
+	 * status.
+	 * @param build a Build in a terminal phase
+	 */
+	public void recordBuild(Build build) {
+		Tags tags = Tags.of("strategy", build.getSpec().getStrategy().getType(),
+				"outcome", build.getStatus().getPhase());
+
+		Instant created = parse(build.getMetadata().getCreationTimestamp());
+		Instant started = parse(build.getStatus().getStartTimestamp());
+		Instant completed = parse(build.getStatus().getCompletionTimestamp());
+		if (created != null && started != null) {
+			record(BUILD_QUEUED_METER, tags, Duration.between(created, started));
+		}
+		if (started != null && completed != null) {
+			record(BUILD_RUN_METER, tags, Duration.between(started, completed));
+		}
+	}
+
+	/**
+	 * Record the time from the Build completing until now, when the rollout of the built
+	 * image was requested.
+	 * @param build a completed Build
+	 */
+	public void recordRollout(Build build) {
+		Instant completed = parse(build.getStatus().getCompletionTimestamp());
+		if (completed != null) {
+			record(ROLLOUT_DELAY_METER,
+					Tags.of("strategy", build.getSpec().getStrategy().getType()),
+					Duration.between(completed, Instant.now()));
+		}
+	}
+
+	/**
+	 * Count a Build cancelled because it was superseded by a newer Build.
+	 * @param build the Build, as it was before it was cancelled
+	 */
+	public void recordSupersededBuild(Build build) {
+		meterRegistry.counter(BUILD_SUPERSEDED_METER, "strategy",
+				build.getSpec().getStrategy().getType(), "phase",
+				build.getStatus().getPhase()).increment();
+	}
+
+	private void record(String name, Tags tags, Duration duration) {
+		if (!duration.isNegative()) {
+			meterRegistry.timer(name, tags).record(duration.toMillis(),
+					TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private Instant parse(String timestamp) {
+		return StringUtils.hasText(timestamp) ? Instant.parse(timestamp) : null;
+	}
+
+	/**
+	 * The simple name of the OpenShift object type produced by the factory.
+	 */
+	private String kindOf(ObjectFactory<?> factory) {
+		return factoryKinds.computeIfAbsent(factory.getClass(), factoryClass -> {
+			Class<?> kind = GenericTypeResolver.resolveTypeArgument(factoryClass,
+					ObjectFactory.class);
+			if (kind == null) {
+				kind = GenericTypeResolver.resolveTypeArgument(factoryClass,
+						AbstractObjectFactory.class);
+			}
+			return (kind != null) ? kind.getSimpleName() : factoryClass.getSimpleName();
+		});
+	}
+
+}
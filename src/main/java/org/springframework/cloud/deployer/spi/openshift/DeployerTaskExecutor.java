@@ -0,0 +1,90 @@
+package org.springframework.cloud.deployer.spi.openshift;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * A named, bounded thread pool for the deployer's parallel work. Like any
+ * {@link ThreadPoolExecutor}, the pool only grows beyond its core pool size once its
+ * queue is full. By default there is no queue, so up to <code>maxPoolSize</code> tasks
+ * run in parallel. When the pool and its queue are full, tasks run on the submitting
+ * thread, which slows down the submitter rather than failing, and a task waiting for
+ * the tasks it submitted never waits for a free thread of the pool. Running tasks are
+ * given time to complete on shutdown.
+ *
+ * The pool's active threads, queue depth, pool size and completed tasks are exported
+ * through the Micrometer <code>executor</code> metrics, tagged with the pool
+ * <code>name</code>.
+ */
+public class DeployerTaskExecutor extends ThreadPoolTaskExecutor {
+
+	private final String name;
+
+	private final MeterRegistry meterRegistry;
+
+	public DeployerTaskExecutor(String name) {
+		this(name, new OpenShiftDeployerProperties.ThreadPool(), Metrics.globalRegistry);
+	}
+
+	public DeployerTaskExecutor(String name, OpenShiftDeployerProperties.ThreadPool pool,
+			MeterRegistry meterRegistry) {
+		this.name = name;
+		this.meterRegistry = meterRegistry;
+
+		setBeanName(name);
+		setThreadNamePrefix(name + "-");
+		setDaemon(true);
+		setCorePoolSize(pool.getCorePoolSize());
+		setMaxPoolSize(Math.max(pool.getCorePoolSize(), pool.getMaxPoolSize()));
+		setQueueCapacity(pool.getQueueCapacity());
+		setKeepAliveSeconds(pool.getKeepAlive());
+		setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		setWaitForTasksToCompleteOnShutdown(true);
+		setAwaitTerminationSeconds(
+				(int) Math.ceil(pool.getAwaitTermination() / 1000.0));
+	}
+
+	/**
+	 * The executor of deployers and factories that are constructed directly rather than
+	 * by a Spring context. It is created on first use, shared by all of them and never
+	 * shut down, its threads are daemon threads.
+	 */
+	public static DeployerTaskExecutor shared() {
+		return Shared.EXECUTOR;
+	}
+
+	@Override
+	protected ExecutorService initializeExecutor(ThreadFactory threadFactory,
+			RejectedExecutionHandler rejectedExecutionHandler) {
+		ExecutorService executorService = super.initializeExecutor(threadFactory,
+				rejectedExecutionHandler);
+		new ExecutorServiceMetrics(getThreadPoolExecutor(), name, Tags.empty())
+				.bindTo(meterRegistry);
+		return executorService;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	private static class Shared {
+
+		private static final DeployerTaskExecutor EXECUTOR = new DeployerTaskExecutor(
+				"openshift-deployer-shared");
+
+		static {
+			EXECUTOR.initialize();
+		}
+
+	}
+
+}
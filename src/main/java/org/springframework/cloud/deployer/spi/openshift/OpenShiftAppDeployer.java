@@ -1,15 +1,24 @@
 package org.springframework.cloud.deployer.spi.openshift;
 
-import com.google.common.collect.Iterables;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.ReplicationController;
 import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
 import io.fabric8.kubernetes.api.model.ServiceList;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.openshift.api.model.Build;
+import io.fabric8.openshift.api.model.DeploymentCondition;
 import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.DeploymentConfigBuilder;
+import io.fabric8.openshift.api.model.DeploymentConfigStatus;
+import io.fabric8.openshift.api.model.DeploymentTriggerPolicy;
 import io.fabric8.openshift.client.OpenShiftClient;
+import io.micrometer.core.instrument.Tags;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.deployer.spi.app.AppDeployer;
@@ -21,104 +30,475 @@ import org.springframework.cloud.deployer.spi.kubernetes.ContainerFactory;
 import org.springframework.cloud.deployer.spi.kubernetes.ImagePullPolicy;
 import org.springframework.cloud.deployer.spi.kubernetes.KubernetesAppDeployer;
 import org.springframework.cloud.deployer.spi.kubernetes.KubernetesDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.client.ApiCallContext;
+import org.springframework.cloud.deployer.spi.openshift.client.PagedObjectLister;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Span;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Type;
 import org.springframework.cloud.deployer.spi.openshift.resources.ObjectFactory;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 import org.springframework.cloud.deployer.spi.openshift.resources.deploymentConfig.DeploymentConfigFactory;
 import org.springframework.cloud.deployer.spi.openshift.resources.deploymentConfig.DeploymentConfigWithIndexSuppportFactory;
 import org.springframework.cloud.deployer.spi.openshift.resources.route.RouteFactory;
 import org.springframework.cloud.deployer.spi.openshift.resources.service.ServiceWithIndexSupportFactory;
-import org.springframework.util.StringUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
 
+import java.io.Closeable;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class OpenShiftAppDeployer extends KubernetesAppDeployer
 		implements AppDeployer, OpenShiftSupport {
 
 	private static Logger logger = LoggerFactory.getLogger(OpenShiftAppDeployer.class);
 
+	private static final long SCALE_DOWN_POLL_INTERVAL = 500;
+
 	private OpenShiftDeployerProperties openShiftDeployerProperties;
 
 	private ContainerFactory containerFactory;
 
 	private OpenShiftClient client;
 
-	private final ExecutorService executorService = Executors.newCachedThreadPool();
+	private OpenShiftObjectCache objectCache;
+
+	private DeployerMetrics deployerMetrics;
+
+	private AsyncTaskExecutor taskExecutor;
+
+	private PagedObjectLister objectLister;
+
+	private AppStatusWatcher statusWatcher;
 
 	public OpenShiftAppDeployer(OpenShiftDeployerProperties properties,
 			KubernetesClient client, ContainerFactory containerFactory) {
+		this(properties, client, containerFactory,
+				new OpenShiftObjectCache((OpenShiftClient) client));
+	}
+
+	public OpenShiftAppDeployer(OpenShiftDeployerProperties properties,
+			KubernetesClient client, ContainerFactory containerFactory,
+			OpenShiftObjectCache objectCache) {
+		this(properties, client, containerFactory, objectCache, new DeployerMetrics());
+	}
+
+	public OpenShiftAppDeployer(OpenShiftDeployerProperties properties,
+			KubernetesClient client, ContainerFactory containerFactory,
+			OpenShiftObjectCache objectCache, DeployerMetrics deployerMetrics) {
+		this(properties, client, containerFactory, objectCache, deployerMetrics,
+				DeployerTaskExecutor.shared());
+	}
+
+	public OpenShiftAppDeployer(OpenShiftDeployerProperties properties,
+			KubernetesClient client, ContainerFactory containerFactory,
+			OpenShiftObjectCache objectCache, DeployerMetrics deployerMetrics,
+			AsyncTaskExecutor taskExecutor) {
 		super(properties, client);
 
 		this.openShiftDeployerProperties = properties;
 		this.client = (OpenShiftClient) client;
 		this.containerFactory = containerFactory;
+		this.objectCache = objectCache;
+		this.deployerMetrics = deployerMetrics;
+		this.taskExecutor = taskExecutor;
+		this.objectLister = new PagedObjectLister(this.client,
+				properties.getListPageSize());
+		this.statusWatcher = new AppStatusWatcher(this.client, this::status,
+				properties.getStatusDebounce(), taskExecutor);
 	}
 
 	@Override
 	public String deploy(AppDeploymentRequest request) {
+		return ApiCallContext.operation("deploy", () -> deployApp(request));
+	}
+
+	private String deployApp(AppDeploymentRequest request) {
 		logger.info("Deploying application: {}", request.getDefinition());
 
-		AppDeploymentRequest compatibleRequest = enableKubernetesDeployerCompatibility(
+		OpenShiftDeploymentRequest compatibleRequest = enableKubernetesDeployerCompatibility(
 				request);
 		validate(compatibleRequest);
 
 		String appId = createDeploymentId(compatibleRequest);
 
-		if (!status(appId).getState().equals(DeploymentState.unknown)) {
+		if (isDeployed(appId)) {
 			throw new IllegalStateException(
 					String.format("App '%s' is already deployed", appId));
 		}
 
-		List<ObjectFactory> factories = populateOpenShiftObjectsForDeployment(
+		applyObjects(populateOpenShiftObjectsForDeployment(compatibleRequest, appId),
 				compatibleRequest, appId);
-		factories.forEach(factory -> factory.addObject(compatibleRequest, appId));
-		factories.forEach(factory -> factory.applyObject(compatibleRequest, appId));
 
 		return appId;
 	}
 
+	/**
+	 * Deploy a batch of apps, e.g. all apps of a stream. All apps are checked to not be
+	 * deployed yet with a single request, then the objects of all apps are created
+	 * concurrently.
+	 * @param requests the apps to deploy
+	 * @return the handle tracking the deployment of all apps
+	 * @throws IllegalArgumentException if any of the requests is invalid
+	 * @throws IllegalStateException if any of the apps is already deployed, in which case
+	 * none of them are deployed
+	 */
+	public BatchDeployment deploy(List<AppDeploymentRequest> requests) {
+		return ApiCallContext.operation("deploy",
+				() -> deployApps(prepareBatch(requests)));
+	}
+
+	/**
+	 * Deploy a batch of apps prepared by {@link #prepareBatch(List)}.
+	 * @param deploymentRequests the parsed requests by app id
+	 * @return the handle tracking the deployment of all apps
+	 */
+	protected BatchDeployment deployApps(
+			Map<String, OpenShiftDeploymentRequest> deploymentRequests) {
+		Map<String, CompletableFuture<String>> deployments = new LinkedHashMap<>();
+		deploymentRequests.forEach((appId, request) -> deployments.put(appId,
+				supplyAsync(() -> {
+					applyObjects(populateOpenShiftObjectsForDeployment(request, appId),
+							request, appId);
+					return appId;
+				})));
+		return new BatchDeployment(deployments);
+	}
+
+	/**
+	 * Parse and validate a batch of requests and check that none of the apps are
+	 * deployed yet, with one request for all apps.
+	 * @return the parsed requests by app id
+	 */
+	protected Map<String, OpenShiftDeploymentRequest> prepareBatch(
+			List<AppDeploymentRequest> requests) {
+		logger.info("Deploying applications: {}", requests.stream()
+				.map(AppDeploymentRequest::getDefinition).collect(Collectors.toList()));
+
+		Map<String, OpenShiftDeploymentRequest> deploymentRequests = new LinkedHashMap<>();
+		for (AppDeploymentRequest request : requests) {
+			OpenShiftDeploymentRequest compatibleRequest = enableKubernetesDeployerCompatibility(
+					request);
+			validate(compatibleRequest);
+			String appId = createDeploymentId(compatibleRequest);
+			if (deploymentRequests.put(appId, compatibleRequest) != null) {
+				throw new IllegalArgumentException(
+						String.format("App '%s' is requested more than once", appId));
+			}
+		}
+		if (deploymentRequests.isEmpty()) {
+			return deploymentRequests;
+		}
+
+		Set<String> deployed = client.deploymentConfigs()
+				.withLabelIn(SPRING_APP_KEY,
+						deploymentRequests.keySet().toArray(new String[0]))
+				.list().getItems().stream()
+				.map(deploymentConfig -> deploymentConfig.getMetadata().getLabels()
+						.get(SPRING_APP_KEY))
+				.collect(Collectors.toCollection(TreeSet::new));
+		if (!deployed.isEmpty()) {
+			throw new IllegalStateException(
+					String.format("Apps '%s' are already deployed", deployed));
+		}
+
+		return deploymentRequests;
+	}
+
+	/**
+	 * Check whether an app is deployed, i.e. whether it has a DeploymentConfig, without
+	 * computing the status of the app. Once the DeploymentConfigs are watched, this is
+	 * answered by the {@link OpenShiftObjectCache}, otherwise with a single request.
+	 * @param appId the app to check
+	 * @return whether the app is deployed
+	 */
+	protected boolean isDeployed(String appId) {
+		return objectCache.contains(DeploymentConfig.class, appId,
+				() -> client.deploymentConfigs().withLabelIn(SPRING_APP_KEY, appId).list()
+						.getItems());
+	}
+
+	protected void applyObjects(List<ObjectFactory> factories,
+			OpenShiftDeploymentRequest request, String appId) {
+		factories.forEach(factory -> deployerMetrics.timeAddObject(factory, appId,
+				() -> factory.addObject(request, appId)));
+		factories.forEach(factory -> deployerMetrics.timeApplyObject(factory, appId,
+				() -> factory.applyObject(request, appId)));
+	}
+
 	@Override
 	public void undeploy(String appId) {
+		ApiCallContext.operation("undeploy", () -> undeployApp(appId));
+	}
+
+	private void undeployApp(String appId) {
 		logger.info("Undeploying application: {}", appId);
 
-		AppStatus status = status(appId);
-		if (status.getState().equals(DeploymentState.unknown)) {
+		if (!isDeployed(appId)) {
 			throw new IllegalStateException(
 					String.format("App '%s' is not deployed", appId));
 		}
 
-		// don't delete BuildConfig/Builds
-		client.services().withLabelIn(SPRING_APP_KEY, appId).delete();
-		client.routes().withLabelIn(SPRING_APP_KEY, appId).delete();
+		tearDown(appId);
+	}
+
+	/**
+	 * Undeploy several apps, e.g. all apps of a stream, in one pass. The apps' objects
+	 * are selected and deleted with one label selector per kind for all apps and the
+	 * DeploymentConfigs of all apps are scaled down together, so the whole undeploy is
+	 * bounded by a single scale down timeout and undeploy delay.
+	 * @param appIds the apps to undeploy
+	 * @throws IllegalStateException if any of the apps is not deployed, in which case
+	 * none of them are undeployed
+	 */
+	public void undeploy(Collection<String> appIds) {
+		ApiCallContext.operation("undeploy", () -> undeployApps(appIds));
+	}
+
+	private void undeployApps(Collection<String> appIds) {
+		logger.info("Undeploying applications: {}", appIds);
+
+		String[] ids = appIds.stream().distinct().toArray(String[]::new);
+		if (ids.length == 0) {
+			return;
+		}
+
+		// an app is deployed if it has a DeploymentConfig, see isDeployed
+		List<DeploymentConfig> deploymentConfigs = client.deploymentConfigs()
+				.withLabelIn(SPRING_APP_KEY, ids).list().getItems();
+		Set<String> deployed = new HashSet<>();
+		deploymentConfigs.forEach(deploymentConfig -> deployed
+				.add(deploymentConfig.getMetadata().getLabels().get(SPRING_APP_KEY)));
+		List<String> notDeployed = Stream.of(ids)
+				.filter(appId -> !deployed.contains(appId)).collect(Collectors.toList());
+		if (!notDeployed.isEmpty()) {
+			throw new IllegalStateException(
+					String.format("Apps '%s' are not deployed", notDeployed));
+		}
+
+		tearDown(deploymentConfigs, ids);
+	}
+
+	/**
+	 * Change the number of instances of a deployed app in place, without a redeploy. The
+	 * replicas of a regular app's DeploymentConfig are changed. Of an indexed app, only
+	 * the DeploymentConfigs and Services of the added or removed instances are created
+	 * or deleted, the other instances are not rolled out again. Added instances are
+	 * copies of the app's first instance, they get a Service if the first instance has
+	 * one of its own.
+	 * @param appId the app to scale
+	 * @param count the new number of instances
+	 * @throws IllegalStateException if the app is not deployed
+	 */
+	public void scale(String appId, int count) {
+		ApiCallContext.operation("scale", () -> scaleApp(appId, count));
+	}
+
+	private void scaleApp(String appId, int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException(
+					String.format("Cannot scale app '%s' to %d instances", appId, count));
+		}
+
+		boolean deployed = false;
+		Map<Integer, DeploymentConfig> instances = new TreeMap<>();
 		for (DeploymentConfig deploymentConfig : client.deploymentConfigs()
-				.withLabelIn(SPRING_APP_KEY, appId).list().getItems()) {
-			scaleDownPod(client, deploymentConfig);
-			client.deploymentConfigs().withName(deploymentConfig.getMetadata().getName())
-					.cascading(true).withGracePeriod(0).delete();
+				.withLabel(SPRING_APP_KEY, appId).list().getItems()) {
+			String name = deploymentConfig.getMetadata().getName();
+			if (name.equals(appId)) {
+				deployed = true;
+				continue;
+			}
+			// an indexed instance is named <appId>-<index>
+			int index = NumberUtils.toInt(StringUtils.substringAfterLast(name, "-"), -1);
+			if (index < 0 || !name.equals(appId + "-" + index)) {
+				logger.warn("Ignoring DeploymentConfig '{}' of app '{}', "
+						+ "it is not named after an instance index", name, appId);
+				continue;
+			}
+			instances.put(index, deploymentConfig);
 		}
 
+		if (deployed) {
+			logger.info("Scaling application '{}' to {} instances", appId, count);
+			client.deploymentConfigs().withName(appId).scale(count);
+			objectCache.evict(DeploymentConfig.class, appId);
+		}
+		else if (!instances.isEmpty()) {
+			scaleIndexed(appId, instances, count);
+		}
+		else {
+			throw new IllegalStateException(
+					String.format("App '%s' is not deployed", appId));
+		}
+	}
+
+	private void scaleIndexed(String appId, Map<Integer, DeploymentConfig> instances,
+			int count) {
+		if (count == 0) {
+			throw new IllegalArgumentException(String.format(
+					"Cannot scale indexed app '%s' to 0 instances, undeploy it instead",
+					appId));
+		}
+		logger.info("Scaling indexed application '{}' from {} to {} instances", appId,
+				instances.size(), count);
+
+		List<Future<?>> writes = new ArrayList<>();
+		DeploymentConfig template = instances.values().iterator().next();
+		Service templateService = indexedService(appId, template);
+		for (int index = 0; index < count; index++) {
+			if (!instances.containsKey(index)) {
+				String name = appId + "-" + index;
+				String instanceIndex = String.valueOf(index);
+				writes.add(submit(() -> objectCache.put(client.deploymentConfigs()
+						.create(indexedCopy(template, name, instanceIndex)))));
+				if (templateService != null) {
+					writes.add(submit(() -> objectCache.put(client.services()
+							.create(indexedCopy(templateService, name)))));
+				}
+			}
+		}
+
+		List<DeploymentConfig> removed = instances.entrySet().stream()
+				.filter(instance -> instance.getKey() >= count).map(Map.Entry::getValue)
+				.collect(Collectors.toList());
+		scaleDown(removed);
+		for (DeploymentConfig deploymentConfig : removed) {
+			String name = deploymentConfig.getMetadata().getName();
+			writes.add(submit(() -> client.services().withName(name).delete()));
+			writes.add(submit(() -> client.deploymentConfigs().withName(name)
+					.cascading(true).withGracePeriod(0).delete()));
+			objectCache.evict(DeploymentConfig.class, name);
+			objectCache.evict(Service.class, name);
+		}
+		awaitAll(writes);
+	}
+
+	/**
+	 * The Service of an indexed instance, as built by
+	 * {@link ServiceWithIndexSupportFactory}. There is none if the app was deployed
+	 * without a Service or with a service name override, which all instances share.
+	 */
+	private Service indexedService(String appId, DeploymentConfig instance) {
+		String name = instance.getMetadata().getName();
+		Optional<Service> service = client.services().withLabel(SPRING_APP_KEY, appId)
+				.list().getItems().stream()
+				.filter(candidate -> candidate.getMetadata().getName().equals(name)
+						&& name.equals(candidate.getMetadata().getLabels()
+								.get("spring-deployment-id")))
+				.findFirst();
+		if (!service.isPresent()) {
+			logger.info("App '{}' has no Service of instance '{}', "
+					+ "not creating Services for added instances", appId, name);
+		}
+		return service.orElse(null);
+	}
+
+	/**
+	 * A copy of an indexed instance's DeploymentConfig for another instance, as built by
+	 * {@link DeploymentConfigWithIndexSuppportFactory}. The containers are named after
+	 * the instance, so are the containers image change triggers refer to.
+	 */
+	private DeploymentConfig indexedCopy(DeploymentConfig template, String name,
+			String instanceIndex) {
+		String templateName = template.getMetadata().getName();
+		DeploymentConfig deploymentConfig = new DeploymentConfigBuilder(template)
+				.withNewMetadata().withName(name)
+				.withLabels(indexedLabels(template.getMetadata().getLabels(), name))
+				.endMetadata().withStatus(null).build();
+		deploymentConfig.getSpec().setSelector(
+				indexedLabels(deploymentConfig.getSpec().getSelector(), name));
+		deploymentConfig.getSpec().getTemplate().getMetadata().setLabels(indexedLabels(
+				deploymentConfig.getSpec().getTemplate().getMetadata().getLabels(),
+				name));
+		for (Container container : deploymentConfig.getSpec().getTemplate().getSpec()
+				.getContainers()) {
+			container.setName(name);
+			container.getEnv().stream()
+					.filter(envVar -> envVar.getName()
+							.equals(AppDeployer.INSTANCE_INDEX_PROPERTY_KEY)
+							|| envVar.getName().equals("SPRING_APPLICATION_INDEX"))
+					.forEach(envVar -> envVar.setValue(instanceIndex));
+		}
+		if (deploymentConfig.getSpec().getTriggers() != null) {
+			deploymentConfig.getSpec().getTriggers().stream()
+					.map(DeploymentTriggerPolicy::getImageChangeParams)
+					.filter(params -> params != null && params.getContainerNames() != null)
+					.forEach(params -> params.setContainerNames(params.getContainerNames()
+							.stream().map(containerName -> containerName
+									.equals(templateName) ? name : containerName)
+							.collect(Collectors.toList())));
+		}
+		return deploymentConfig;
+	}
+
+	private Service indexedCopy(Service template, String name) {
+		Service service = new ServiceBuilder(template).withNewMetadata().withName(name)
+				.withLabels(indexedLabels(template.getMetadata().getLabels(), name))
+				.endMetadata().withStatus(null).build();
+		service.getSpec().setSelector(indexedLabels(service.getSpec().getSelector(), name));
+		// assigned by OpenShift
+		service.getSpec().setClusterIP(null);
+		return service;
+	}
+
+	private Map<String, String> indexedLabels(Map<String, String> labels, String name) {
+		Map<String, String> indexedLabels = new HashMap<>(labels);
+		indexedLabels.replace("spring-deployment-id", name);
+		return indexedLabels;
+	}
+
+	private void tearDown(String... appIds) {
+		tearDown(client.deploymentConfigs().withLabelIn(SPRING_APP_KEY, appIds).list()
+				.getItems(), appIds);
+	}
+
+	private void tearDown(List<DeploymentConfig> deploymentConfigs, String... appIds) {
+		// don't delete BuildConfig/Builds
+		List<Future<?>> deletes = new ArrayList<>();
+		deletes.add(submit(
+				() -> client.services().withLabelIn(SPRING_APP_KEY, appIds).delete()));
+		deletes.add(submit(
+				() -> client.routes().withLabelIn(SPRING_APP_KEY, appIds).delete()));
+		scaleDown(deploymentConfigs);
+		for (DeploymentConfig deploymentConfig : deploymentConfigs) {
+			deletes.add(submit(() -> client.deploymentConfigs()
+					.withName(deploymentConfig.getMetadata().getName()).cascading(true)
+					.withGracePeriod(0).delete()));
+		}
+		awaitAll(deletes);
+
 		/**
 		 * Explicitly delete the Deployment's Pods. This is actually only relevant when
 		 * running in Travis :( The OpenShift instance started there has issues unmounting
 		 * the Pod's volumes and results in the Pod never getting out of a "Terminating"
 		 * status. It shouldn't be applicable in an actual "real" OpenShift cluster.
 		 */
-		// @formatter:off
-		this.client.pods().withLabelIn(SPRING_APP_KEY, appId).list().getItems().stream()
-			.peek(pod -> logger.debug("Deleting Pod: {}", pod.getMetadata().getName()))
-			.forEach(pod -> this.client.pods()
-				.withName(pod.getMetadata().getName())
-				.cascading(true)
-				.withGracePeriod(0)
-				.delete());
-		//@formatter:on
+		this.client.pods().withLabelIn(SPRING_APP_KEY, appIds).withGracePeriod(0)
+				.delete();
+
+		for (String appId : appIds) {
+			objectCache.evictApp(appId);
+		}
 
 		try {
 			// Give some time for resources to be deleted.
@@ -129,31 +509,60 @@ public class OpenShiftAppDeployer extends KubernetesAppDeployer
 		}
 	}
 
+	@Override
+	public AppStatus status(String appId) {
+		Span event = DeployerEvents.begin(Type.STATUS, appId, null);
+		try {
+			return ApiCallContext.operation("status",
+					() -> deployerMetrics.time(DeployerMetrics.STATUS_METER, Tags.empty(),
+							status -> Tags.of("state", status.getState().name()),
+							() -> super.status(appId)));
+		}
+		finally {
+			event.commit();
+		}
+	}
+
+	/**
+	 * Subscribe to the status changes of all deployed apps, instead of polling
+	 * {@link #status(String)}.
+	 * @param subscriber called with the status of an app whenever it changes
+	 * @return the subscription, to be closed to unsubscribe
+	 * @see AppStatusWatcher
+	 */
+	public Closeable subscribe(Consumer<AppStatus> subscriber) {
+		return statusWatcher.subscribe(subscriber);
+	}
+
 	/**
 	 * An {@link OpenShiftAppInstanceStatus} includes the Build phases in addition to the
 	 * implementation in
 	 * {@link org.springframework.cloud.deployer.spi.kubernetes.AbstractKubernetesDeployer#buildAppStatus}
+	 * An app without Pods is failed as soon as its last Build or its rollout failed, with
+	 * an instance status that has the reason of the failure.
 	 */
 	@Override
 	protected AppStatus buildAppStatus(String appId, PodList list, ServiceList services) {
 		AppStatus.Builder statusBuilder = AppStatus.of(appId);
 
-		List<Build> builds = client.builds().withLabelIn(SPRING_APP_KEY, appId).list()
-				.getItems();
-		Build build = (builds.isEmpty()) ? null : Iterables.getLast(builds);
+		Build build = latestBuild(appId);
 
 		if (list == null) {
 			statusBuilder.with(new OpenShiftAppInstanceStatus(null,
 					openShiftDeployerProperties, build));
 		}
 		else if (list.getItems().isEmpty()) {
-			this.client.replicationControllers().withLabelIn(SPRING_APP_KEY, appId).list()
-					.getItems().stream().findFirst().ifPresent(replicationController -> {
-						if (replicationController.getMetadata().getAnnotations()
-								.get("openshift.io/deployment.phase").equals("Failed")) {
-							statusBuilder.generalState(DeploymentState.failed);
-						}
-					});
+			OpenShiftAppInstanceStatus buildStatus = new OpenShiftAppInstanceStatus(null,
+					openShiftDeployerProperties, build);
+			OpenShiftAppInstanceStatus rolloutStatus = (buildStatus
+					.getState() == DeploymentState.failed) ? buildStatus
+							: rolloutStatus(appId);
+			if (rolloutStatus != null) {
+				statusBuilder.generalState(rolloutStatus.getState());
+				if (rolloutStatus.getState() == DeploymentState.failed) {
+					statusBuilder.with(rolloutStatus);
+				}
+			}
 		}
 		else {
 			for (Pod pod : list.getItems()) {
@@ -165,6 +574,162 @@ public class OpenShiftAppDeployer extends KubernetesAppDeployer
 		return statusBuilder.build();
 	}
 
+	/**
+	 * The latest Build of an app, by its build number or, without one, its creation.
+	 * Builds are listed by name, in which <code>app-10</code> comes before
+	 * <code>app-9</code>. A failed Build is ignored if the app was rolled out after the
+	 * Build ended, e.g. with the image of an earlier Build.
+	 * @param appId the app Id
+	 * @return the Build or <code>null</code> if there is none or it no longer matters
+	 */
+	protected Build latestBuild(String appId) {
+		Build build = getObjectLister().builds(appId)
+				.max(Comparator.comparingLong(OpenShiftAppDeployer::buildNumber)
+						.thenComparing(latest -> StringUtils.defaultString(
+								latest.getMetadata().getCreationTimestamp())))
+				.orElse(null);
+		if (build != null && OpenShiftAppInstanceStatus.isFailed(build)
+				&& isRolledOutAfter(appId, build)) {
+			return null;
+		}
+		return build;
+	}
+
+	private static long buildNumber(Build build) {
+		Map<String, String> annotations = build.getMetadata().getAnnotations();
+		return NumberUtils.toLong((annotations != null)
+				? annotations.get("openshift.io/build.number") : null, -1);
+	}
+
+	/**
+	 * Whether the latest ReplicationController of the app's DeploymentConfig was created
+	 * after the Build ended.
+	 */
+	private boolean isRolledOutAfter(String appId, Build build) {
+		String ended = (build.getStatus().getCompletionTimestamp() != null)
+				? build.getStatus().getCompletionTimestamp()
+				: build.getMetadata().getCreationTimestamp();
+		DeploymentConfig deploymentConfig = deploymentConfig(appId)
+				.orElseGet(() -> deploymentConfig(appId + "-0").orElse(null));
+		if (ended == null || deploymentConfig == null
+				|| deploymentConfig.getStatus() == null
+				|| deploymentConfig.getStatus().getLatestVersion() == null) {
+			return false;
+		}
+
+		ReplicationController replicationController = client.replicationControllers()
+				.withName(deploymentConfig.getMetadata().getName() + "-"
+						+ deploymentConfig.getStatus().getLatestVersion())
+				.get();
+		String rolledOut = (replicationController != null)
+				? replicationController.getMetadata().getCreationTimestamp() : null;
+		return rolledOut != null
+				&& Instant.parse(rolledOut).isAfter(Instant.parse(ended));
+	}
+
+	/**
+	 * The status of the rollout of an app without Pods, from the conditions of its
+	 * DeploymentConfig. Of an indexed app, the DeploymentConfig of the first instance is
+	 * used. If the DeploymentConfig has no conditions, the phase of the
+	 * ReplicationController of its latest version is used instead.
+	 * @param appId the app Id
+	 * @return the status, named after the DeploymentConfig, or <code>null</code> if it
+	 * can't be determined
+	 */
+	protected OpenShiftAppInstanceStatus rolloutStatus(String appId) {
+		DeploymentConfig deploymentConfig = deploymentConfig(appId)
+				.orElseGet(() -> deploymentConfig(appId + "-0").orElse(null));
+		if (deploymentConfig == null || deploymentConfig.getStatus() == null) {
+			return null;
+		}
+
+		String name = deploymentConfig.getMetadata().getName();
+		DeploymentConfigStatus status = deploymentConfig.getStatus();
+		if (status.getConditions() != null && !status.getConditions().isEmpty()) {
+			return rolloutStatus(name, status);
+		}
+
+		long latestVersion = (status.getLatestVersion() != null)
+				? status.getLatestVersion() : 0;
+		if (latestVersion == 0) {
+			// not rolled out yet, e.g. waiting for the image of a Build
+			return rolloutStatus(name, DeploymentState.deploying, null, null);
+		}
+		ReplicationController replicationController = client.replicationControllers()
+				.withName(name + "-" + latestVersion).get();
+		Map<String, String> annotations = (replicationController != null)
+				? replicationController.getMetadata().getAnnotations() : null;
+		String phase = (annotations != null)
+				? annotations.get("openshift.io/deployment.phase") : null;
+		if (phase == null) {
+			return null;
+		}
+		switch (phase) {
+		case "New":
+		case "Pending":
+		case "Running":
+			return rolloutStatus(name, DeploymentState.deploying, phase, null);
+		case "Complete":
+			return rolloutStatus(name, DeploymentState.deployed, phase, null);
+		case "Failed":
+			return rolloutStatus(name, DeploymentState.failed,
+					annotations.getOrDefault("openshift.io/deployment.status-reason",
+							"RolloutFailed"),
+					null);
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * A rollout is progressing until its ReplicationController is available, it fails
+	 * when it can't create Pods or doesn't progress within its deadline.
+	 */
+	private OpenShiftAppInstanceStatus rolloutStatus(String name,
+			DeploymentConfigStatus status) {
+		Map<String, DeploymentCondition> conditions = status.getConditions().stream()
+				.collect(Collectors.toMap(DeploymentCondition::getType,
+						condition -> condition, (first, second) -> second));
+		DeploymentCondition replicaFailure = conditions.get("ReplicaFailure");
+		if (replicaFailure != null && "True".equals(replicaFailure.getStatus())) {
+			return rolloutStatus(name, DeploymentState.failed, replicaFailure.getReason(),
+					replicaFailure.getMessage());
+		}
+
+		DeploymentCondition progressing = conditions.get("Progressing");
+		if (progressing == null) {
+			return null;
+		}
+		if ("False".equals(progressing.getStatus())) {
+			// e.g. ProgressDeadlineExceeded or RolloutCancelled
+			return rolloutStatus(name, DeploymentState.failed, progressing.getReason(),
+					progressing.getMessage());
+		}
+		if ("NewReplicationControllerAvailable".equals(progressing.getReason())) {
+			return rolloutStatus(name, DeploymentState.deployed, progressing.getReason(),
+					progressing.getMessage());
+		}
+		return rolloutStatus(name, DeploymentState.deploying, progressing.getReason(),
+				progressing.getMessage());
+	}
+
+	private OpenShiftAppInstanceStatus rolloutStatus(String name, DeploymentState state,
+			String reason, String message) {
+		Map<String, String> attributes = new LinkedHashMap<>();
+		if (reason != null) {
+			attributes.put("reason", reason);
+		}
+		if (message != null) {
+			attributes.put("message", message);
+		}
+		return new OpenShiftAppInstanceStatus(name, state, attributes);
+	}
+
+	private Optional<DeploymentConfig> deploymentConfig(String name) {
+		return getObjectCache().get(DeploymentConfig.class, name,
+				() -> client.deploymentConfigs().withName(name).get());
+	}
+
 	/**
 	 * Populate the OpenShift objects that will be created/updated and applied when
 	 * deploying an app.
@@ -177,7 +742,7 @@ public class OpenShiftAppDeployer extends KubernetesAppDeployer
 		List<ObjectFactory> factories = new ArrayList<>();
 
 		Map<String, String> labels = createIdMap(appId, request);
-		labels.putAll(toLabels(request.getDeploymentProperties()));
+		labels.putAll(OpenShiftDeploymentRequest.of(request).getLabels());
 		int externalPort = configureExternalPort(request);
 
 		Container container = getContainerFactory()
@@ -185,12 +750,12 @@ public class OpenShiftAppDeployer extends KubernetesAppDeployer
 						.withHostNetwork(false).withExternalPort(externalPort));
 
 		factories.add(getDeploymentConfigFactory(request, labels, container));
-		factories.add(
-				new ServiceWithIndexSupportFactory(getClient(), externalPort, labels));
+		factories.add(new ServiceWithIndexSupportFactory(getClient(), getObjectCache(),
+				externalPort, labels));
 
 		if (createRoute(request)) {
-			factories.add(new RouteFactory(getClient(), openShiftDeployerProperties,
-					externalPort, labels));
+			factories.add(new RouteFactory(getClient(), getObjectCache(),
+					openShiftDeployerProperties, externalPort, labels));
 		}
 
 		return factories;
@@ -200,7 +765,7 @@ public class OpenShiftAppDeployer extends KubernetesAppDeployer
 			AppDeploymentRequest request, Map<String, String> labels,
 			Container container) {
 		return new DeploymentConfigWithIndexSuppportFactory(getClient(),
-				openShiftDeployerProperties, container, labels,
+				getObjectCache(), openShiftDeployerProperties, container, labels,
 				getResourceRequirements(request), getImagePullPolicy(request));
 	}
 
@@ -216,23 +781,12 @@ public class OpenShiftAppDeployer extends KubernetesAppDeployer
 	 * @return true if the Route object should be created
 	 */
 	protected boolean createRoute(AppDeploymentRequest request) {
-		boolean createRoute = false;
-		String createRouteProperty = request.getDeploymentProperties().getOrDefault(
-				OpenShiftDeploymentPropertyKeys.KUBERNETES_CREATE_LOAD_BALANCER,
-				request.getDeploymentProperties()
-						.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_CREATE_ROUTE));
-		if (StringUtils.isEmpty(createRouteProperty)) {
-			createRoute = properties.isCreateLoadBalancer();
-		}
-		else {
-			if (Boolean.parseBoolean(createRouteProperty.toLowerCase())) {
-				createRoute = true;
-			}
-		}
+		OpenShiftDeploymentRequest deploymentRequest = OpenShiftDeploymentRequest
+				.of(request);
+		boolean createRoute = (deploymentRequest.getCreateRoute() != null)
+				? deploymentRequest.getCreateRoute() : properties.isCreateLoadBalancer();
 
-		String createNodePort = request.getDeploymentProperties()
-				.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_CREATE_NODE_PORT);
-		if (createRoute && createNodePort != null) {
+		if (createRoute && deploymentRequest.getCreateNodePort() != null) {
 			throw new IllegalArgumentException(
 					"Cannot create NodePort and LoadBalancer at the same time.");
 		}
@@ -253,6 +807,22 @@ public class OpenShiftAppDeployer extends KubernetesAppDeployer
 		return client;
 	}
 
+	protected OpenShiftObjectCache getObjectCache() {
+		return objectCache;
+	}
+
+	protected DeployerMetrics getDeployerMetrics() {
+		return deployerMetrics;
+	}
+
+	protected PagedObjectLister getObjectLister() {
+		return objectLister;
+	}
+
+	protected AsyncTaskExecutor getTaskExecutor() {
+		return taskExecutor;
+	}
+
 	protected KubernetesDeployerProperties getProperties() {
 		return properties;
 	}
@@ -261,25 +831,28 @@ public class OpenShiftAppDeployer extends KubernetesAppDeployer
 		return containerFactory;
 	}
 
-	protected AppDeploymentRequest enableKubernetesDeployerCompatibility(
+	/**
+	 * Parse the request into an {@link OpenShiftDeploymentRequest}, which includes the
+	 * Kubernetes deployer compatible copies of the OpenShift deployment properties. The
+	 * parsed request is passed to all {@link ObjectFactory}'s.
+	 * @param request
+	 * @return the parsed request
+	 */
+	protected OpenShiftDeploymentRequest enableKubernetesDeployerCompatibility(
 			AppDeploymentRequest request) {
-		Map<String, String> kubernetesCompliantDeploymentProperties = new HashMap<>();
-		request.getDeploymentProperties().forEach((key, value) -> {
-			if (key.contains("spring.cloud.deployer.openshift")) {
-				kubernetesCompliantDeploymentProperties
-						.put(key.replace("openshift", "kubernetes"), value);
-			}
-		});
-		kubernetesCompliantDeploymentProperties.putAll(request.getDeploymentProperties());
-		return new AppDeploymentRequest(request.getDefinition(), request.getResource(),
-				kubernetesCompliantDeploymentProperties,
-				request.getCommandlineArguments());
+		return OpenShiftDeploymentRequest.of(request);
 	}
 
-	private void validate(AppDeploymentRequest appDeploymentRequest) {
+	private void validate(OpenShiftDeploymentRequest appDeploymentRequest) {
+		List<String> errors = new ArrayList<>();
 		if (appDeploymentRequest.getDefinition().getName().length() > 24) {
+			errors.add("Application name cannot be more than 24 characters");
+		}
+		errors.addAll(appDeploymentRequest.getErrors());
+
+		if (!errors.isEmpty()) {
 			throw new IllegalArgumentException(
-					"Application name cannot be more than 24 characters");
+					String.join(System.lineSeparator(), errors));
 		}
 	}
 
@@ -289,20 +862,82 @@ public class OpenShiftAppDeployer extends KubernetesAppDeployer
 	 * scaled while the new build is on progress. The new build will trigger a deployment
 	 * of the new app but having the old app deployed for a period of time during the
 	 * build is not desirable.
+	 *
+	 * All DeploymentConfigs are scaled down first, then their replicas are polled until
+	 * all of them are scaled down or the configured scale down timeout expires.
 	 */
-	private void scaleDownPod(OpenShiftClient client, DeploymentConfig deploymentConfig) {
-		Future<Object> scaleDownTask = null;
-		try {
-			scaleDownTask = executorService.submit(() -> client.deploymentConfigs()
-					.withName(deploymentConfig.getMetadata().getName()).scale(0, true));
-			// TODO make this a deployer property
-			scaleDownTask.get(30, TimeUnit.SECONDS);
+	private void scaleDown(List<DeploymentConfig> deploymentConfigs) {
+		List<Future<?>> scales = new ArrayList<>();
+		Set<String> pending = new LinkedHashSet<>();
+		for (DeploymentConfig deploymentConfig : deploymentConfigs) {
+			String name = deploymentConfig.getMetadata().getName();
+			pending.add(name);
+			scales.add(submit(
+					() -> client.deploymentConfigs().withName(name).scale(0, false)));
+		}
+		awaitAll(scales);
+
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS
+				.toNanos(openShiftDeployerProperties.getScaleDownTimeout());
+		while (true) {
+			pending.removeIf(name -> isScaledDown(
+					client.deploymentConfigs().withName(name).get()));
+			long remaining = deadline - System.nanoTime();
+			if (pending.isEmpty() || remaining <= 0) {
+				break;
+			}
+			try {
+				Thread.sleep(Math.min(SCALE_DOWN_POLL_INTERVAL,
+						TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			}
 		}
-		catch (TimeoutException e) {
-			scaleDownTask.cancel(true);
+
+		if (!pending.isEmpty()) {
+			logger.warn("Timed out scaling down DeploymentConfigs {} after {}ms",
+					pending, openShiftDeployerProperties.getScaleDownTimeout());
 		}
-		catch (InterruptedException | ExecutionException e) {
-			throw new RuntimeException(e);
+	}
+
+	private boolean isScaledDown(DeploymentConfig deploymentConfig) {
+		return deploymentConfig == null || deploymentConfig.getStatus() == null
+				|| deploymentConfig.getStatus().getReplicas() == null
+				|| deploymentConfig.getStatus().getReplicas() == 0;
+	}
+
+	private Future<?> submit(Callable<?> task) {
+		return taskExecutor.submit(ApiCallContext.propagate(task));
+	}
+
+	/**
+	 * Run a task on the deployer's task executor, attributing its API calls to the
+	 * current operation.
+	 */
+	protected <T> CompletableFuture<T> supplyAsync(Callable<T> task) {
+		Callable<T> propagated = ApiCallContext.propagate(task);
+		CompletableFuture<T> future = new CompletableFuture<>();
+		taskExecutor.execute(() -> {
+			try {
+				future.complete(propagated.call());
+			}
+			catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		});
+		return future;
+	}
+
+	private void awaitAll(List<Future<?>> tasks) {
+		for (Future<?> task : tasks) {
+			try {
+				task.get();
+			}
+			catch (InterruptedException | ExecutionException e) {
+				throw new RuntimeException(e);
+			}
 		}
 	}
 
@@ -1,40 +1,204 @@
 package org.springframework.cloud.deployer.spi.openshift;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import io.fabric8.kubernetes.api.model.ContainerState;
+import io.fabric8.kubernetes.api.model.ContainerStateTerminated;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.openshift.api.model.Build;
 
+import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
 import org.springframework.cloud.deployer.spi.app.DeploymentState;
 import org.springframework.cloud.deployer.spi.kubernetes.KubernetesAppInstanceStatus;
 import org.springframework.cloud.deployer.spi.kubernetes.KubernetesDeployerProperties;
 
-public class OpenShiftAppInstanceStatus extends KubernetesAppInstanceStatus {
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * The status of an app instance, i.e. of its Pod and the app's last Build. The state and
+ * attributes are computed when the status is created and only they are kept, not the Pod
+ * and Build, because Data Flow caches the statuses of all app instances. The state of a
+ * running Pod is the one {@link KubernetesAppInstanceStatus} computes.
+ *
+ * A failed status has a <code>reason</code> attribute, e.g. the phase or reason of a
+ * failed Build or the reason the container is waiting for.
+ */
+public class OpenShiftAppInstanceStatus implements AppInstanceStatus {
+
+	private static final Set<String> FAILED_BUILD_PHASES = ImmutableSet.of("Failed",
+			"Error", "Cancelled");
+
+	/**
+	 * Waiting reasons of containers that are not resolved by waiting any longer.
+	 */
+	private static final Set<String> FAILED_WAITING_REASONS = ImmutableSet.of(
+			"ImagePullBackOff", "InvalidImageName", "ErrImageNeverPull",
+			"CreateContainerConfigError");
+
+	private final String id;
 
-	private Build build;
+	private final DeploymentState state;
+
+	private final Map<String, String> attributes;
 
 	public OpenShiftAppInstanceStatus(Pod pod, KubernetesDeployerProperties properties,
 			Build build) {
-		super(pod, null, properties);
-		this.build = build;
+		ContainerStatus containerStatus = (pod != null
+				&& pod.getStatus().getContainerStatuses().size() == 1)
+						? pod.getStatus().getContainerStatuses().get(0) : null;
+		String buildPhase = (build != null) ? build.getStatus().getPhase() : null;
+
+		this.id = (pod != null) ? pod.getMetadata().getName() : "N/A";
+		this.state = state(pod, containerStatus, properties, buildPhase);
+		this.attributes = attributes(pod, containerStatus, build, this.state);
 	}
 
 	/**
-	 * Active Builds are considered a {@link DeploymentState} of "deploying"
+	 * A status not derived from a Pod, e.g. of a failed rollout.
+	 * @param id the id of the instance
+	 * @param state the state of the instance
+	 * @param attributes the attributes of the instance
+	 */
+	public OpenShiftAppInstanceStatus(String id, DeploymentState state,
+			Map<String, String> attributes) {
+		this.id = id;
+		this.state = state;
+		this.attributes = ImmutableMap.copyOf(attributes);
+	}
+
+	@Override
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Active Builds are considered a {@link DeploymentState} of "deploying", failed,
+	 * errored and cancelled Builds "failed"
 	 * @return the state of this application instance deployed in OpenShift
 	 */
 	@Override
 	public DeploymentState getState() {
-		DeploymentState state;
+		return state;
+	}
+
+	@Override
+	public Map<String, String> getAttributes() {
+		return attributes;
+	}
 
-		if (build != null && (build.getStatus().getPhase().equals("New")
-				|| build.getStatus().getPhase().equals("Pending")
-				|| build.getStatus().getPhase().equals("Running"))) {
-			state = DeploymentState.deploying;
+	private static DeploymentState state(Pod pod, ContainerStatus containerStatus,
+			KubernetesDeployerProperties properties, String buildPhase) {
+		if ("New".equals(buildPhase) || "Pending".equals(buildPhase)
+				|| "Running".equals(buildPhase)) {
+			return DeploymentState.deploying;
+		}
+		if (FAILED_BUILD_PHASES.contains(buildPhase)) {
+			return DeploymentState.failed;
 		}
-		else {
-			state = super.getState();
+		if (pod == null || containerStatus == null) {
+			return DeploymentState.unknown;
 		}
 
-		return state;
+		switch (pod.getStatus().getPhase()) {
+		case "Pending":
+			return FAILED_WAITING_REASONS.contains(waitingReason(containerStatus))
+					? DeploymentState.failed : DeploymentState.deploying;
+		case "Running":
+			// readiness and restarts, the status is not kept and neither is the Pod
+			return new KubernetesAppInstanceStatus(pod, null, properties).getState();
+		case "Failed":
+			return DeploymentState.failed;
+		default:
+			return DeploymentState.unknown;
+		}
+	}
+
+	private static Map<String, String> attributes(Pod pod,
+			ContainerStatus containerStatus, Build build, DeploymentState state) {
+		ImmutableMap.Builder<String, String> attributes = ImmutableMap.builder();
+		if (pod != null) {
+			put(attributes, "pod.name", pod.getMetadata().getName());
+			put(attributes, "pod.startTime", pod.getStatus().getStartTime());
+			put(attributes, "pod.ip", pod.getStatus().getPodIP());
+			put(attributes, "host.ip", pod.getStatus().getHostIP());
+			put(attributes, "node", (pod.getSpec() != null)
+					? pod.getSpec().getNodeName() : null);
+			put(attributes, "phase", pod.getStatus().getPhase());
+			put(attributes, "guid", pod.getMetadata().getUid());
+		}
+		if (containerStatus != null) {
+			put(attributes, "container.ready",
+					Objects.toString(containerStatus.getReady(), null));
+			put(attributes, "container.restartCount",
+					Objects.toString(containerStatus.getRestartCount(), null));
+			ContainerStateTerminated lastTerminated = terminated(
+					containerStatus.getLastState());
+			if (lastTerminated != null) {
+				put(attributes, "container.lastState.terminated.exitCode",
+						Objects.toString(lastTerminated.getExitCode(), null));
+				put(attributes, "container.lastState.terminated.reason",
+						lastTerminated.getReason());
+			}
+		}
+		if (build != null) {
+			put(attributes, "build.phase", build.getStatus().getPhase());
+		}
+		if (state == DeploymentState.failed) {
+			put(attributes, "reason", reason(pod, containerStatus, build));
+		}
+		return attributes.build();
+	}
+
+	/**
+	 * The reason of a failure, from the most to the least specific source.
+	 */
+	private static String reason(Pod pod, ContainerStatus containerStatus, Build build) {
+		if (build != null && FAILED_BUILD_PHASES.contains(build.getStatus().getPhase())) {
+			return (build.getStatus().getReason() != null) ? build.getStatus().getReason()
+					: "Build" + build.getStatus().getPhase();
+		}
+		if (waitingReason(containerStatus) != null) {
+			return waitingReason(containerStatus);
+		}
+		ContainerStateTerminated lastTerminated = (containerStatus != null)
+				? terminated(containerStatus.getLastState()) : null;
+		if (lastTerminated != null && lastTerminated.getReason() != null) {
+			return lastTerminated.getReason();
+		}
+		if (pod != null && pod.getStatus().getReason() != null) {
+			return pod.getStatus().getReason();
+		}
+		return (pod != null) ? pod.getStatus().getPhase() : null;
+	}
+
+	/**
+	 * @param build a Build
+	 * @return whether the Build failed, errored or was cancelled
+	 */
+	static boolean isFailed(Build build) {
+		return build.getStatus() != null
+				&& FAILED_BUILD_PHASES.contains(build.getStatus().getPhase());
+	}
+
+	private static String waitingReason(ContainerStatus containerStatus) {
+		return (containerStatus != null && containerStatus.getState() != null
+				&& containerStatus.getState().getWaiting() != null)
+						? containerStatus.getState().getWaiting().getReason() : null;
+	}
+
+	private static void put(ImmutableMap.Builder<String, String> attributes, String key,
+			String value) {
+		if (value != null) {
+			attributes.put(key, value);
+		}
+	}
+
+	private static ContainerStateTerminated terminated(ContainerState state) {
+		return (state != null) ? state.getTerminated() : null;
 	}
 
 }
@@ -1,9 +1,21 @@
 package org.springframework.cloud.deployer.spi.openshift;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.utils.HttpClientUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.fabric8.openshift.client.DefaultOpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftConfig;
+import io.fabric8.openshift.client.OpenShiftConfigBuilder;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -11,9 +23,15 @@ import org.springframework.cloud.config.client.ConfigServicePropertySourceLocato
 import org.springframework.cloud.deployer.resource.maven.MavenProperties;
 import org.springframework.cloud.deployer.spi.app.AppDeployer;
 import org.springframework.cloud.deployer.spi.kubernetes.ContainerFactory;
+import org.springframework.cloud.deployer.spi.openshift.client.ApiCallCountingInterceptor;
+import org.springframework.cloud.deployer.spi.openshift.client.ApiCallsEndpoint;
+import org.springframework.cloud.deployer.spi.openshift.client.RateLimitingInterceptor;
 import org.springframework.cloud.deployer.spi.openshift.maven.MavenOpenShiftAppDeployer;
 import org.springframework.cloud.deployer.spi.openshift.maven.MavenOpenShiftTaskLauncher;
 import org.springframework.cloud.deployer.spi.openshift.maven.MavenResourceJarExtractor;
+import org.springframework.cloud.deployer.spi.openshift.resources.ConflictRetry;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
+import org.springframework.cloud.deployer.spi.openshift.resources.ResourcePruner;
 import org.springframework.cloud.deployer.spi.openshift.resources.pod.OpenShiftContainerFactory;
 import org.springframework.cloud.deployer.spi.openshift.resources.volumes.VolumeMountConfigServerFactory;
 import org.springframework.cloud.deployer.spi.openshift.resources.volumes.VolumeMountFactory;
@@ -21,6 +39,7 @@ import org.springframework.cloud.deployer.spi.task.TaskLauncher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 /**
  * Spring Bean configuration for the OpenShift deployer.
@@ -32,19 +51,41 @@ import org.springframework.core.Ordered;
 @EnableConfigurationProperties(OpenShiftDeployerProperties.class)
 public class OpenShiftAutoConfiguration {
 
+	private static final Logger logger = LoggerFactory
+			.getLogger(OpenShiftAutoConfiguration.class);
+
 	@Autowired
 	private MavenProperties mavenProperties;
 
+	@Autowired
+	private ObjectProvider<MeterRegistry> meterRegistry;
+
 	@Bean
 	public AppDeployer appDeployer(OpenShiftDeployerProperties properties,
 			KubernetesClient kubernetesClient, ContainerFactory containerFactory,
 			MavenResourceJarExtractor mavenResourceJarExtractor,
-			ResourceHash resourceHash) {
+			ResourceHash resourceHash, OpenShiftObjectCache objectCache,
+			DeployerMetrics deployerMetrics,
+			@Qualifier("deployerTaskExecutor") AsyncTaskExecutor deployerTaskExecutor) {
 		return new ResourceAwareOpenShiftAppDeployer(
-				new OpenShiftAppDeployer(properties, kubernetesClient, containerFactory),
+				new OpenShiftAppDeployer(properties, kubernetesClient, containerFactory,
+						objectCache, deployerMetrics, deployerTaskExecutor),
 				new MavenOpenShiftAppDeployer(properties, kubernetesClient,
 						containerFactory, mavenResourceJarExtractor, mavenProperties,
-						resourceHash));
+						resourceHash, objectCache, deployerMetrics,
+						deployerTaskExecutor));
+	}
+
+	@Bean
+	public AsyncTaskExecutor deployerTaskExecutor(
+			OpenShiftDeployerProperties properties) {
+		return taskExecutor("openshift-deployer", properties.getThreadPool());
+	}
+
+	@Bean
+	public AsyncTaskExecutor configServerTaskExecutor(
+			OpenShiftDeployerProperties properties) {
+		return taskExecutor("openshift-config-server", properties.getThreadPool());
 	}
 
 	@Bean
@@ -60,8 +101,44 @@ public class OpenShiftAutoConfiguration {
 	}
 
 	@Bean
-	public KubernetesClient kubernetesClient(OpenShiftDeployerProperties properties) {
-		return new DefaultOpenShiftClient().inNamespace(properties.getNamespace());
+	public KubernetesClient kubernetesClient(OpenShiftDeployerProperties properties,
+			ApiCallCountingInterceptor apiCallCountingInterceptor) {
+		OpenShiftConfig config = new OpenShiftConfigBuilder().build();
+		OkHttpClient.Builder httpClient = HttpClientUtils.createHttpClient(config)
+				.newBuilder();
+		if (properties.getApiRateLimit().isEnabled()) {
+			httpClient.addInterceptor(new RateLimitingInterceptor(
+					properties.getApiRateLimit(), meterRegistry()));
+		}
+		httpClient.addInterceptor(apiCallCountingInterceptor);
+
+		return new DefaultOpenShiftClient(httpClient.build(), config)
+				.inNamespace(properties.getNamespace());
+	}
+
+	@Bean
+	public ApiCallCountingInterceptor apiCallCountingInterceptor() {
+		return new ApiCallCountingInterceptor(meterRegistry());
+	}
+
+	@Bean(initMethod = "start", destroyMethod = "close")
+	public OpenShiftObjectCache openShiftObjectCache(KubernetesClient kubernetesClient,
+			ConflictRetry conflictRetry) {
+		return new OpenShiftObjectCache((OpenShiftClient) kubernetesClient,
+				conflictRetry);
+	}
+
+	@Bean(initMethod = "start", destroyMethod = "close")
+	public ResourcePruner resourcePruner(KubernetesClient kubernetesClient,
+			OpenShiftDeployerProperties properties) {
+		return new ResourcePruner((OpenShiftClient) kubernetesClient, properties);
+	}
+
+	@Bean
+	public ConflictRetry conflictRetry(OpenShiftDeployerProperties properties) {
+		return new ConflictRetry(properties.getConflictRetryMaxAttempts(),
+				properties.getConflictRetryBackoff(),
+				properties.getConflictRetryMaxBackoff(), meterRegistry());
 	}
 
 	@Bean
@@ -83,16 +160,61 @@ public class OpenShiftAutoConfiguration {
 	}
 
 	@Bean
-	public ResourceHash resourceHash() {
-		return new ResourceHash();
+	public ResourceHash resourceHash(DeployerMetrics deployerMetrics) {
+		return new ResourceHash(deployerMetrics);
+	}
+
+	@Bean
+	public DeployerMetrics deployerMetrics() {
+		return new DeployerMetrics(meterRegistry());
 	}
 
 	@Bean
 	public VolumeMountFactory volumeMountFactory(
 			ConfigServicePropertySourceLocator configServicePropertySourceLocator,
-			OpenShiftDeployerProperties openShiftDeployerProperties) {
+			OpenShiftDeployerProperties openShiftDeployerProperties,
+			@Qualifier("configServerTaskExecutor") AsyncTaskExecutor configServerTaskExecutor) {
 		return new VolumeMountConfigServerFactory(configServicePropertySourceLocator,
-				openShiftDeployerProperties);
+				openShiftDeployerProperties, meterRegistry(), configServerTaskExecutor);
+	}
+
+	@Configuration
+	@ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.Endpoint")
+	protected static class ApiCallsEndpointConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public ApiCallsEndpoint apiCallsEndpoint(
+				ApiCallCountingInterceptor apiCallCountingInterceptor) {
+			return new ApiCallsEndpoint(apiCallCountingInterceptor);
+		}
+
+	}
+
+	/**
+	 * Virtual threads if enabled and supported by the JVM, otherwise a bounded pool.
+	 */
+	private AsyncTaskExecutor taskExecutor(String name,
+			OpenShiftDeployerProperties.ThreadPool pool) {
+		if (pool.isVirtualThreads()) {
+			if (VirtualThreadTaskExecutor.isSupported()) {
+				return new VirtualThreadTaskExecutor(name, pool.getAwaitTermination(),
+						meterRegistry());
+			}
+			logger.warn(
+					"Virtual threads are not supported by this JVM, using a bounded pool for '{}'",
+					name);
+		}
+		return new DeployerTaskExecutor(name, pool, meterRegistry());
+	}
+
+	/**
+	 * Use the application's {@link MeterRegistry} if there is one, otherwise the global
+	 * registry.
+	 */
+	private MeterRegistry meterRegistry() {
+		MeterRegistry registry = meterRegistry.getIfAvailable();
+		return (registry != null) ? registry : Metrics.globalRegistry;
 	}
 
 }
@@ -62,6 +62,92 @@ public class OpenShiftDeployerProperties extends KubernetesDeployerProperties {
 	 */
 	private String defaultS2iImage = "fabric8/s2i-java:2.2";
 
+	/**
+	 * The maximum number of attempts, including the first, when writing a BuildConfig or
+	 * DeploymentConfig fails with a conflict (HTTP 409).
+	 */
+	private int conflictRetryMaxAttempts = 5;
+
+	/**
+	 * The backoff in milliseconds after the first conflict. The backoff doubles, with
+	 * jitter, on every subsequent conflict.
+	 */
+	private long conflictRetryBackoff = 100;
+
+	/**
+	 * The upper bound in milliseconds of the backoff between conflict retries.
+	 */
+	private long conflictRetryMaxBackoff = 2000;
+
+	/**
+	 * How long in milliseconds volume mounts fetched from the config server are used
+	 * before they are refreshed in the background.
+	 */
+	private long configServerVolumeMountsTtl = 60000;
+
+	/**
+	 * The maximum time in milliseconds to wait for the config server when fetching
+	 * volume mounts. On timeout the last known volume mounts are used.
+	 */
+	private long configServerTimeout = 5000;
+
+	/**
+	 * The maximum time in milliseconds to wait for a DeploymentConfig to be scaled down
+	 * before it is deleted when undeploying.
+	 */
+	private long scaleDownTimeout = 30000;
+
+	/**
+	 * The maximum number of Builds started at a time when deploying a batch of apps.
+	 * Further Builds are started as running Builds finish.
+	 */
+	private int maxConcurrentBuilds = 2;
+
+	/**
+	 * The maximum number of objects requested per page when listing Builds, Pods and
+	 * ReplicationControllers.
+	 */
+	private int listPageSize = 500;
+
+	/**
+	 * The number of successful Builds OpenShift keeps per BuildConfig, older Builds are
+	 * deleted.
+	 */
+	private int successfulBuildsHistoryLimit = 5;
+
+	/**
+	 * The number of failed Builds OpenShift keeps per BuildConfig, older Builds are
+	 * deleted.
+	 */
+	private int failedBuildsHistoryLimit = 5;
+
+	/**
+	 * The number of old ReplicationControllers OpenShift keeps per DeploymentConfig for
+	 * rollbacks, older ReplicationControllers are deleted.
+	 */
+	private int revisionHistoryLimit = 3;
+
+	/**
+	 * The time in milliseconds the Pod, Build and DeploymentConfig events of an app are
+	 * collected for, before its status is looked up and pushed to status subscribers.
+	 */
+	private long statusDebounce = 250;
+
+	/**
+	 * Background pruning of the Builds and ImageStream tags of undeployed apps.
+	 */
+	private Pruning pruning = new Pruning();
+
+	/**
+	 * Client side rate limits for the requests sent to the OpenShift API.
+	 */
+	private ApiRateLimit apiRateLimit = new ApiRateLimit();
+
+	/**
+	 * The thread pools used for parallel deployer work and config server lookups.
+	 */
+	private ThreadPool threadPool = new ThreadPool();
+
 	public boolean isForceBuild() {
 		return forceBuild;
 	}
@@ -130,4 +216,340 @@ public class OpenShiftDeployerProperties extends KubernetesDeployerProperties {
 		this.defaultS2iImage = defaultS2iImage;
 	}
 
+	public int getConflictRetryMaxAttempts() {
+		return conflictRetryMaxAttempts;
+	}
+
+	public void setConflictRetryMaxAttempts(int conflictRetryMaxAttempts) {
+		this.conflictRetryMaxAttempts = conflictRetryMaxAttempts;
+	}
+
+	public long getConflictRetryBackoff() {
+		return conflictRetryBackoff;
+	}
+
+	public void setConflictRetryBackoff(long conflictRetryBackoff) {
+		this.conflictRetryBackoff = conflictRetryBackoff;
+	}
+
+	public long getConflictRetryMaxBackoff() {
+		return conflictRetryMaxBackoff;
+	}
+
+	public void setConflictRetryMaxBackoff(long conflictRetryMaxBackoff) {
+		this.conflictRetryMaxBackoff = conflictRetryMaxBackoff;
+	}
+
+	public long getConfigServerVolumeMountsTtl() {
+		return configServerVolumeMountsTtl;
+	}
+
+	public void setConfigServerVolumeMountsTtl(long configServerVolumeMountsTtl) {
+		this.configServerVolumeMountsTtl = configServerVolumeMountsTtl;
+	}
+
+	public long getConfigServerTimeout() {
+		return configServerTimeout;
+	}
+
+	public void setConfigServerTimeout(long configServerTimeout) {
+		this.configServerTimeout = configServerTimeout;
+	}
+
+	public long getScaleDownTimeout() {
+		return scaleDownTimeout;
+	}
+
+	public void setScaleDownTimeout(long scaleDownTimeout) {
+		this.scaleDownTimeout = scaleDownTimeout;
+	}
+
+	public int getMaxConcurrentBuilds() {
+		return maxConcurrentBuilds;
+	}
+
+	public void setMaxConcurrentBuilds(int maxConcurrentBuilds) {
+		this.maxConcurrentBuilds = maxConcurrentBuilds;
+	}
+
+	public int getListPageSize() {
+		return listPageSize;
+	}
+
+	public void setListPageSize(int listPageSize) {
+		this.listPageSize = listPageSize;
+	}
+
+	public int getSuccessfulBuildsHistoryLimit() {
+		return successfulBuildsHistoryLimit;
+	}
+
+	public void setSuccessfulBuildsHistoryLimit(int successfulBuildsHistoryLimit) {
+		this.successfulBuildsHistoryLimit = successfulBuildsHistoryLimit;
+	}
+
+	public int getFailedBuildsHistoryLimit() {
+		return failedBuildsHistoryLimit;
+	}
+
+	public void setFailedBuildsHistoryLimit(int failedBuildsHistoryLimit) {
+		this.failedBuildsHistoryLimit = failedBuildsHistoryLimit;
+	}
+
+	public int getRevisionHistoryLimit() {
+		return revisionHistoryLimit;
+	}
+
+	public void setRevisionHistoryLimit(int revisionHistoryLimit) {
+		this.revisionHistoryLimit = revisionHistoryLimit;
+	}
+
+	public long getStatusDebounce() {
+		return statusDebounce;
+	}
+
+	public void setStatusDebounce(long statusDebounce) {
+		this.statusDebounce = statusDebounce;
+	}
+
+	public Pruning getPruning() {
+		return pruning;
+	}
+
+	public void setPruning(Pruning pruning) {
+		this.pruning = pruning;
+	}
+
+	public ThreadPool getThreadPool() {
+		return threadPool;
+	}
+
+	public void setThreadPool(ThreadPool threadPool) {
+		this.threadPool = threadPool;
+	}
+
+	public ApiRateLimit getApiRateLimit() {
+		return apiRateLimit;
+	}
+
+	public void setApiRateLimit(ApiRateLimit apiRateLimit) {
+		this.apiRateLimit = apiRateLimit;
+	}
+
+	public static class Pruning {
+
+		/**
+		 * Whether the Builds and ImageStream tags of undeployed apps are pruned in the
+		 * background.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * The time in milliseconds between two pruning runs.
+		 */
+		private long interval = 3600000;
+
+		/**
+		 * The time in milliseconds the Builds of an undeployed app are kept, so that a
+		 * redeploy can reuse the last Build.
+		 */
+		private long buildRetention = 604800000;
+
+		/**
+		 * The number of most recently updated tags kept per ImageStream, in addition to
+		 * the default image tag.
+		 */
+		private int imageTagsHistoryLimit = 3;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public long getInterval() {
+			return interval;
+		}
+
+		public void setInterval(long interval) {
+			this.interval = interval;
+		}
+
+		public long getBuildRetention() {
+			return buildRetention;
+		}
+
+		public void setBuildRetention(long buildRetention) {
+			this.buildRetention = buildRetention;
+		}
+
+		public int getImageTagsHistoryLimit() {
+			return imageTagsHistoryLimit;
+		}
+
+		public void setImageTagsHistoryLimit(int imageTagsHistoryLimit) {
+			this.imageTagsHistoryLimit = imageTagsHistoryLimit;
+		}
+
+	}
+
+	public static class ApiRateLimit {
+
+		/**
+		 * Whether requests to the OpenShift API are rate limited.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * The number of read (GET) requests allowed per second.
+		 */
+		private double readsPerSecond = 50;
+
+		/**
+		 * The number of write (POST, PUT, PATCH and DELETE) requests allowed per second.
+		 */
+		private double writesPerSecond = 20;
+
+		/**
+		 * The number of watches that may be established per second.
+		 */
+		private double watchesPerSecond = 5;
+
+		/**
+		 * The maximum time in milliseconds a request waits for its budget before it fails.
+		 */
+		private long maxQueueTime = 30000;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public double getReadsPerSecond() {
+			return readsPerSecond;
+		}
+
+		public void setReadsPerSecond(double readsPerSecond) {
+			this.readsPerSecond = readsPerSecond;
+		}
+
+		public double getWritesPerSecond() {
+			return writesPerSecond;
+		}
+
+		public void setWritesPerSecond(double writesPerSecond) {
+			this.writesPerSecond = writesPerSecond;
+		}
+
+		public double getWatchesPerSecond() {
+			return watchesPerSecond;
+		}
+
+		public void setWatchesPerSecond(double watchesPerSecond) {
+			this.watchesPerSecond = watchesPerSecond;
+		}
+
+		public long getMaxQueueTime() {
+			return maxQueueTime;
+		}
+
+		public void setMaxQueueTime(long maxQueueTime) {
+			this.maxQueueTime = maxQueueTime;
+		}
+
+	}
+
+	public static class ThreadPool {
+
+		/**
+		 * The number of threads kept in the pool, even if idle.
+		 */
+		private int corePoolSize = 4;
+
+		/**
+		 * The maximum number of threads in the pool.
+		 */
+		private int maxPoolSize = 16;
+
+		/**
+		 * The number of tasks queued when all core threads are busy. The pool only grows
+		 * beyond the core pool size once the queue is full, so with a queue at most the
+		 * core pool size tasks run in parallel until it is full. Once the queue and pool
+		 * are full tasks run on the submitting thread.
+		 */
+		private int queueCapacity = 0;
+
+		/**
+		 * The time in seconds threads above the core pool size are kept alive when idle.
+		 */
+		private int keepAlive = 60;
+
+		/**
+		 * The maximum time in milliseconds to wait for running tasks to complete on
+		 * shutdown.
+		 */
+		private long awaitTermination = 30000;
+
+		/**
+		 * Run tasks on virtual threads, one per task, instead of the bounded pool.
+		 * Requires a JVM that supports virtual threads (Java 21+), otherwise the bounded
+		 * pool is used.
+		 */
+		private boolean virtualThreads;
+
+		public int getCorePoolSize() {
+			return corePoolSize;
+		}
+
+		public void setCorePoolSize(int corePoolSize) {
+			this.corePoolSize = corePoolSize;
+		}
+
+		public int getMaxPoolSize() {
+			return maxPoolSize;
+		}
+
+		public void setMaxPoolSize(int maxPoolSize) {
+			this.maxPoolSize = maxPoolSize;
+		}
+
+		public int getQueueCapacity() {
+			return queueCapacity;
+		}
+
+		public void setQueueCapacity(int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+
+		public int getKeepAlive() {
+			return keepAlive;
+		}
+
+		public void setKeepAlive(int keepAlive) {
+			this.keepAlive = keepAlive;
+		}
+
+		public long getAwaitTermination() {
+			return awaitTermination;
+		}
+
+		public void setAwaitTermination(long awaitTermination) {
+			this.awaitTermination = awaitTermination;
+		}
+
+		public boolean isVirtualThreads() {
+			return virtualThreads;
+		}
+
+		public void setVirtualThreads(boolean virtualThreads) {
+			this.virtualThreads = virtualThreads;
+		}
+
+	}
+
 }
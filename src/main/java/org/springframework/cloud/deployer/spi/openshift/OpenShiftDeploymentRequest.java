@@ -0,0 +1,302 @@
+package org.springframework.cloud.deployer.spi.openshift;
+
+import static java.lang.String.format;
+import static org.springframework.cloud.deployer.spi.app.AppDeployer.COUNT_PROPERTY_KEY;
+import static org.springframework.cloud.deployer.spi.app.AppDeployer.INDEXED_PROPERTY_KEY;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.util.Assert;
+
+/**
+ * An immutable snapshot of an {@link AppDeploymentRequest} with its deployment
+ * properties parsed once into typed values. The snapshot is created when an app is
+ * deployed and passed as the request to all
+ * {@link org.springframework.cloud.deployer.spi.openshift.resources.ObjectFactory}'s, so
+ * they don't each re-parse the same raw properties.
+ *
+ * The deployment properties of the snapshot include the Kubernetes deployer compatible
+ * copies of all <code>spring.cloud.deployer.openshift</code> properties. Invalid
+ * properties are collected in {@link #getErrors()} rather than failing on the first
+ * one, so they can be reported together before anything is deployed.
+ */
+public class OpenShiftDeploymentRequest extends AppDeploymentRequest {
+
+	/**
+	 * Internal deployment property naming the ImageStream of another app in the same
+	 * batch that builds the same artifact, which this app rolls out instead of building
+	 * its own.
+	 */
+	public static final String SHARED_IMAGE_STREAM = "shared-image-stream";
+
+	private final int instanceCount;
+
+	private final boolean indexed;
+
+	private final Map<String, String> labels;
+
+	private final String imageTag;
+
+	private final String imageNamespace;
+
+	private final String serviceAccount;
+
+	private final String serviceName;
+
+	private final String routeHost;
+
+	private final Boolean createRoute;
+
+	private final String createNodePort;
+
+	private final Boolean forceBuild;
+
+	private final String dockerfile;
+
+	private final String s2iBuildImage;
+
+	private final String sharedImageStream;
+
+	private final List<String> errors;
+
+	protected OpenShiftDeploymentRequest(AppDeploymentRequest request) {
+		super(request.getDefinition(), request.getResource(),
+				kubernetesCompatible(request.getDeploymentProperties()),
+				request.getCommandlineArguments());
+
+		List<String> errors = new ArrayList<>();
+		Map<String, String> properties = getDeploymentProperties();
+
+		this.instanceCount = parseInstanceCount(properties.get(COUNT_PROPERTY_KEY),
+				errors);
+		this.indexed = Boolean.parseBoolean(properties.get(INDEXED_PROPERTY_KEY));
+		this.labels = parseLabels(
+				properties.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_LABELS),
+				errors);
+		this.imageTag = properties
+				.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_IMAGE_TAG);
+		this.imageNamespace = properties
+				.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_IMAGE_NAMESPACE);
+		this.serviceAccount = properties.getOrDefault(
+				OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_SERVICE_ACCOUNT,
+				StringUtils.EMPTY);
+		this.serviceName = properties
+				.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_SERVICE_NAME);
+		this.routeHost = properties
+				.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_ROUTE_HOSTNAME);
+		this.createRoute = parseBoolean(properties.getOrDefault(
+				OpenShiftDeploymentPropertyKeys.KUBERNETES_CREATE_LOAD_BALANCER,
+				properties.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_CREATE_ROUTE)));
+		this.createNodePort = parseCreateNodePort(
+				properties.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_CREATE_NODE_PORT),
+				errors);
+		this.forceBuild = parseBoolean(
+				properties.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_BUILD_FORCE));
+		this.dockerfile = properties
+				.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_DOCKERFILE);
+		this.s2iBuildImage = properties
+				.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_S2I_BUILD_IMAGE);
+		this.sharedImageStream = properties.get(SHARED_IMAGE_STREAM);
+
+		if (Boolean.TRUE.equals(createRoute) && createNodePort != null) {
+			errors.add("Cannot create NodePort and LoadBalancer at the same time.");
+		}
+		this.errors = Collections.unmodifiableList(errors);
+	}
+
+	/**
+	 * @param request a raw or already parsed request
+	 * @return the request itself if it is already a parsed snapshot, otherwise a new
+	 * snapshot of the request
+	 */
+	public static OpenShiftDeploymentRequest of(AppDeploymentRequest request) {
+		if (request instanceof OpenShiftDeploymentRequest) {
+			return (OpenShiftDeploymentRequest) request;
+		}
+
+		return new OpenShiftDeploymentRequest(request);
+	}
+
+	/**
+	 * @return a new snapshot of this request with an additional deployment property
+	 */
+	public OpenShiftDeploymentRequest withDeploymentProperty(String key, String value) {
+		Map<String, String> properties = new HashMap<>(getDeploymentProperties());
+		properties.put(key, value);
+		return new OpenShiftDeploymentRequest(new AppDeploymentRequest(getDefinition(),
+				getResource(), properties, getCommandlineArguments()));
+	}
+
+	public int getInstanceCount() {
+		return instanceCount;
+	}
+
+	public boolean isIndexed() {
+		return indexed;
+	}
+
+	/**
+	 * @return the labels from the
+	 * <code>spring.cloud.deployer.openshift.deployment.labels</code> property
+	 */
+	public Map<String, String> getLabels() {
+		return labels;
+	}
+
+	public String getImageTag(String defaultImageTag) {
+		return (imageTag != null) ? imageTag : defaultImageTag;
+	}
+
+	public String getImageNamespace(String defaultImageNamespace) {
+		return (imageNamespace != null) ? imageNamespace : defaultImageNamespace;
+	}
+
+	public String getServiceAccount() {
+		return serviceAccount;
+	}
+
+	public String getServiceName(String appId) {
+		return (serviceName != null) ? serviceName : appId;
+	}
+
+	public String getRouteHost(String defaultHost) {
+		return (routeHost != null) ? routeHost : defaultHost;
+	}
+
+	/**
+	 * @return whether a Route should be created or <code>null</code> if not specified
+	 */
+	public Boolean getCreateRoute() {
+		return createRoute;
+	}
+
+	/**
+	 * @return <code>true</code>, a node port number or <code>null</code> if no NodePort
+	 * should be created
+	 */
+	public String getCreateNodePort() {
+		return createNodePort;
+	}
+
+	/**
+	 * @return whether a Build is forced or <code>null</code> if not specified
+	 */
+	public Boolean getForceBuild() {
+		return forceBuild;
+	}
+
+	public String getDockerfile() {
+		return dockerfile;
+	}
+
+	public String getS2iBuildImage(String defaultS2iImage) {
+		return (s2iBuildImage != null) ? s2iBuildImage : defaultS2iImage;
+	}
+
+	/**
+	 * @return the ImageStream shared with another app or <code>null</code> if the app
+	 * has its own
+	 */
+	public String getSharedImageStream() {
+		return sharedImageStream;
+	}
+
+	/**
+	 * @return the validation errors of the deployment properties, empty if valid
+	 */
+	public List<String> getErrors() {
+		return errors;
+	}
+
+	/**
+	 * Add copies of all <code>spring.cloud.deployer.openshift</code> properties as
+	 * <code>spring.cloud.deployer.kubernetes</code> properties, so the Kubernetes
+	 * deployer sees them. Explicit Kubernetes properties take precedence.
+	 */
+	private static Map<String, String> kubernetesCompatible(
+			Map<String, String> deploymentProperties) {
+		Map<String, String> properties = new HashMap<>();
+		deploymentProperties.forEach((key, value) -> {
+			if (key.contains("spring.cloud.deployer.openshift")) {
+				properties.put(key.replace("openshift", "kubernetes"), value);
+			}
+		});
+		properties.putAll(deploymentProperties);
+		return properties;
+	}
+
+	private static int parseInstanceCount(String count, List<String> errors) {
+		if (count == null) {
+			return 1;
+		}
+
+		try {
+			int instanceCount = Integer.parseInt(count.trim());
+			if (instanceCount < 0) {
+				errors.add(format("Invalid instance count '%s', must not be negative",
+						count));
+			}
+			return instanceCount;
+		}
+		catch (NumberFormatException e) {
+			errors.add(format("Invalid instance count '%s', must be a number", count));
+			return 1;
+		}
+	}
+
+	/**
+	 * @throws IllegalArgumentException if a label is not a <code>key=value</code> pair
+	 */
+	static Map<String, String> parseLabels(String labelsProperty) {
+		List<String> errors = new ArrayList<>();
+		Map<String, String> labels = parseLabels(labelsProperty, errors);
+		Assert.isTrue(errors.isEmpty(), String.join(", ", errors));
+		return labels;
+	}
+
+	private static Map<String, String> parseLabels(String labelsProperty,
+			List<String> errors) {
+		if (StringUtils.isBlank(labelsProperty)) {
+			return Collections.emptyMap();
+		}
+
+		Map<String, String> labels = new LinkedHashMap<>();
+		for (String labelPair : labelsProperty.split(",")) {
+			String[] label = labelPair.split("=");
+			if (label.length == 2) {
+				labels.put(label[0].trim(), label[1].trim());
+			}
+			else {
+				errors.add(format("Invalid label value: '%s'", labelPair));
+			}
+		}
+		return Collections.unmodifiableMap(labels);
+	}
+
+	private static String parseCreateNodePort(String createNodePort,
+			List<String> errors) {
+		if (StringUtils.isBlank(createNodePort)) {
+			return null;
+		}
+
+		if (!"true".equalsIgnoreCase(createNodePort)
+				&& !StringUtils.isNumeric(createNodePort)) {
+			errors.add(format("Invalid NodePort '%s', must be 'true' or a port number",
+					createNodePort));
+		}
+		return createNodePort;
+	}
+
+	private static Boolean parseBoolean(String value) {
+		return StringUtils.isNotBlank(value) ? Boolean.valueOf(value.toLowerCase())
+				: null;
+	}
+
+}
@@ -18,30 +18,49 @@ import static java.lang.String.format;
 public interface OpenShiftSupport extends DataflowSupport {
 
 	default String getImage(AppDeploymentRequest request, String appId) {
-		return isIndexed(request) ? StringUtils.substringBeforeLast(appId, "-") : appId;
+		return getImage(OpenShiftDeploymentRequest.of(request), appId);
+	}
+
+	default String getImage(OpenShiftDeploymentRequest request, String appId) {
+		String sharedImageStream = request.getSharedImageStream();
+		if (sharedImageStream != null) {
+			return sharedImageStream;
+		}
+
+		return request.isIndexed() ? StringUtils.substringBeforeLast(appId, "-") : appId;
 	}
 
 	default String getImageTag(AppDeploymentRequest request,
 			OpenShiftDeployerProperties properties, String appId) {
+		return getImageTag(OpenShiftDeploymentRequest.of(request), properties, appId);
+	}
+
+	default String getImageTag(OpenShiftDeploymentRequest request,
+			OpenShiftDeployerProperties properties, String appId) {
 		return format("%s:%s", appId,
-				request.getDeploymentProperties().getOrDefault(
-						OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_IMAGE_TAG,
-						properties.getDefaultImageTag()));
+				request.getImageTag(properties.getDefaultImageTag()));
 	}
 
 	default String getIndexedImageTag(AppDeploymentRequest request,
 			OpenShiftDeployerProperties properties, String appId) {
+		return getIndexedImageTag(OpenShiftDeploymentRequest.of(request), properties,
+				appId);
+	}
+
+	default String getIndexedImageTag(OpenShiftDeploymentRequest request,
+			OpenShiftDeployerProperties properties, String appId) {
 		return format("%s:%s", getImage(request, appId),
-				request.getDeploymentProperties().getOrDefault(
-						OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_IMAGE_TAG,
-						properties.getDefaultImageTag()));
+				request.getImageTag(properties.getDefaultImageTag()));
 	}
 
 	default String getImageNamespace(AppDeploymentRequest request,
 			OpenShiftDeployerProperties properties) {
-		return format("%s", request.getDeploymentProperties().getOrDefault(
-				OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_IMAGE_NAMESPACE,
-				properties.getDefaultImageNamespace()));
+		return getImageNamespace(OpenShiftDeploymentRequest.of(request), properties);
+	}
+
+	default String getImageNamespace(OpenShiftDeploymentRequest request,
+			OpenShiftDeployerProperties properties) {
+		return request.getImageNamespace(properties.getDefaultImageNamespace());
 	}
 
 	default String getEnvironmentVariable(String[] properties, String name) {
@@ -81,24 +100,8 @@ public interface OpenShiftSupport extends DataflowSupport {
 	}
 
 	default Map<String, String> toLabels(Map<String, String> properties) {
-		Map<String, String> labels = new HashMap<>();
-
-		String labelsProperty = properties.getOrDefault(
-				OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_LABELS,
-				StringUtils.EMPTY);
-
-		if (StringUtils.isNotBlank(labelsProperty)) {
-			String[] labelPairs = labelsProperty.split(",");
-			for (String labelPair : labelPairs) {
-				String[] label = labelPair.split("=");
-				Assert.isTrue(label.length == 2,
-						format("Invalid label value: '{}'", labelPair));
-
-				labels.put(label[0].trim(), label[1].trim());
-			}
-		}
-
-		return labels;
+		return new HashMap<>(OpenShiftDeploymentRequest.parseLabels(properties
+				.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_LABELS)));
 	}
 
 }
@@ -1,7 +1,6 @@
 package org.springframework.cloud.deployer.spi.openshift;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.openshift.client.DefaultOpenShiftClient;
 import io.fabric8.openshift.client.OpenShiftClient;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.kubernetes.ContainerFactory;
@@ -25,8 +24,7 @@ public class OpenShiftTaskLauncher extends KubernetesTaskLauncher
 
 	public OpenShiftTaskLauncher(KubernetesDeployerProperties properties,
 			KubernetesClient client, ContainerFactory containerFactory) {
-		super(properties,
-				new DefaultOpenShiftClient().inNamespace(client.getNamespace()));
+		super(properties, client);
 
 		this.properties = properties;
 		this.client = (OpenShiftClient) client;
@@ -53,8 +51,8 @@ public class OpenShiftTaskLauncher extends KubernetesTaskLauncher
 
 	@Override
 	public void cleanup(String id) {
-		client.builds().list().getItems()
-				.forEach(build -> client.builds().withName(id).cascading(true).delete());
+		// deletes the Build named after the task, if any, without listing all Builds
+		client.builds().withName(id).cascading(true).delete();
 
 		super.cleanup(id);
 	}
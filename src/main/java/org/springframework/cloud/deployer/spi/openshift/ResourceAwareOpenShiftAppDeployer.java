@@ -1,5 +1,14 @@
 package org.springframework.cloud.deployer.spi.openshift;
 
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -8,6 +17,7 @@ import org.springframework.cloud.deployer.spi.app.AppDeployer;
 import org.springframework.cloud.deployer.spi.app.AppStatus;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.core.RuntimeEnvironmentInfo;
+import org.springframework.cloud.deployer.spi.openshift.client.ApiCallContext;
 import org.springframework.cloud.deployer.spi.openshift.maven.MavenOpenShiftAppDeployer;
 
 public class ResourceAwareOpenShiftAppDeployer implements AppDeployer {
@@ -46,16 +56,86 @@ public class ResourceAwareOpenShiftAppDeployer implements AppDeployer {
 		return appId;
 	}
 
+	/**
+	 * Deploy a batch of apps, e.g. all apps of a stream. Apps built from the same Maven
+	 * artifact share one Build and the Builds are pipelined, see
+	 * {@link MavenOpenShiftAppDeployer}. All apps are validated and checked to not be
+	 * deployed yet before any of them is deployed.
+	 * @param requests the apps to deploy
+	 * @return the handle tracking the deployment of all apps
+	 */
+	public BatchDeployment deploy(List<AppDeploymentRequest> requests) {
+		Map<Boolean, List<AppDeploymentRequest>> requestsByMaven = requests.stream()
+				.collect(Collectors.partitioningBy(
+						request -> request.getResource() instanceof MavenResource));
+
+		try {
+			return ApiCallContext.operation("deploy",
+					() -> deployBatch(requestsByMaven.get(true),
+							requestsByMaven.get(false)));
+		}
+		catch (Exception e) {
+			logger.error(String.format(
+					"Error deploying application deployment requests: %s", requests), e);
+			throw e;
+		}
+	}
+
+	private BatchDeployment deployBatch(List<AppDeploymentRequest> mavenRequests,
+			List<AppDeploymentRequest> requests) {
+		// the batch steps are protected methods of OpenShiftAppDeployer
+		OpenShiftAppDeployer mavenAppDeployer = mavenOpenShiftAppDeployer;
+		Map<String, OpenShiftDeploymentRequest> mavenDeploymentRequests = mavenAppDeployer
+				.prepareBatch(mavenRequests);
+		Map<String, OpenShiftDeploymentRequest> deploymentRequests = openShiftAppDeployer
+				.prepareBatch(requests);
+
+		Set<String> duplicates = new TreeSet<>(mavenDeploymentRequests.keySet());
+		duplicates.retainAll(deploymentRequests.keySet());
+		if (!duplicates.isEmpty()) {
+			throw new IllegalArgumentException(
+					String.format("Apps %s are requested more than once", duplicates));
+		}
+
+		BatchDeployment mavenDeployment = mavenAppDeployer
+				.deployApps(mavenDeploymentRequests);
+		return openShiftAppDeployer.deployApps(deploymentRequests).and(mavenDeployment);
+	}
+
 	@Override
 	public void undeploy(String appId) {
 		openShiftAppDeployer.undeploy(appId);
 	}
 
+	/**
+	 * Undeploy several apps, e.g. all apps of a stream, in one pass.
+	 * @see OpenShiftAppDeployer#undeploy(Collection)
+	 */
+	public void undeploy(Collection<String> appIds) {
+		openShiftAppDeployer.undeploy(appIds);
+	}
+
+	/**
+	 * Change the number of instances of a deployed app in place.
+	 * @see OpenShiftAppDeployer#scale(String, int)
+	 */
+	public void scale(String appId, int count) {
+		openShiftAppDeployer.scale(appId, count);
+	}
+
 	@Override
 	public AppStatus status(String appId) {
 		return openShiftAppDeployer.status(appId);
 	}
 
+	/**
+	 * Subscribe to the status changes of all deployed apps.
+	 * @see OpenShiftAppDeployer#subscribe(Consumer)
+	 */
+	public Closeable subscribe(Consumer<AppStatus> subscriber) {
+		return openShiftAppDeployer.subscribe(subscriber);
+	}
+
 	@Override
 	public RuntimeEnvironmentInfo environmentInfo() {
 		return openShiftAppDeployer.environmentInfo();
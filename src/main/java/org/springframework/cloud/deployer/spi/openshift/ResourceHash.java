@@ -5,26 +5,58 @@ import static com.google.common.hash.Hashing.sha1;
 import java.io.File;
 import java.io.IOException;
 
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Span;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Type;
 import org.springframework.core.io.Resource;
 
 import com.google.common.io.Files;
 
 public class ResourceHash {
 
+	private DeployerMetrics deployerMetrics;
+
+	public ResourceHash() {
+		this(new DeployerMetrics());
+	}
+
+	public ResourceHash(DeployerMetrics deployerMetrics) {
+		this.deployerMetrics = deployerMetrics;
+	}
+
 	/**
 	 * Generates a SHA-1 hash of the provided {@link Resource}
 	 * @param resource
 	 * @return a hash of the {@link Resource}
 	 */
 	public String hashResource(Resource resource) {
-		try {
-			File file = resource.getFile();
-			String hash = Files.hash(file, sha1()).toString();
+		return hashResource(resource, null);
+	}
 
-			return hash;
+	/**
+	 * Generates a SHA-1 hash of the provided {@link Resource}
+	 * @param resource
+	 * @param appId the app the resource is hashed for, recorded with the hash event
+	 * @return a hash of the {@link Resource}
+	 */
+	public String hashResource(Resource resource, String appId) {
+		Span event = DeployerEvents.begin(Type.HASH, appId, "Resource");
+		try {
+			return deployerMetrics.timePhase("hash", () -> {
+				try {
+					File file = resource.getFile();
+					event.bytes(file.length());
+					String hash = Files.hash(file, sha1()).toString();
+
+					return hash;
+				}
+				catch (IOException e) {
+					throw new RuntimeException("Could not read resource to hash", e);
+				}
+			});
 		}
-		catch (IOException e) {
-			throw new RuntimeException("Could not read resource to hash", e);
+		finally {
+			event.commit();
 		}
 	}
 
@@ -0,0 +1,159 @@
+package org.springframework.cloud.deployer.spi.openshift;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Runs every task on a new virtual thread. The blocking calls of the OpenShift client
+ * then only park the virtual thread, so many calls can be in flight without a large
+ * platform thread pool. Virtual threads are looked up reflectively, so the deployer
+ * still runs on older JVMs, see {@link #isSupported()}.
+ *
+ * The tasks are timed in the Micrometer <code>executor</code> timer and the running
+ * tasks exported as the <code>executor.active</code> gauge, tagged with the executor
+ * <code>name</code>.
+ */
+public class VirtualThreadTaskExecutor implements AsyncTaskExecutor, DisposableBean {
+
+	private static final boolean SUPPORTED = probe();
+
+	private final String name;
+
+	private final long awaitTermination;
+
+	private final ExecutorService executorService;
+
+	private final AtomicInteger active = new AtomicInteger();
+
+	/**
+	 * @param name the name of the executor and prefix of its thread names
+	 * @param awaitTermination the maximum time in milliseconds to wait for running tasks
+	 * to complete on shutdown
+	 * @param meterRegistry the registry of the executor metrics
+	 */
+	public VirtualThreadTaskExecutor(String name, long awaitTermination,
+			MeterRegistry meterRegistry) {
+		if (!SUPPORTED) {
+			throw new IllegalStateException(
+					"Virtual threads are not supported by this JVM");
+		}
+
+		this.name = name;
+		this.awaitTermination = awaitTermination;
+		this.executorService = ExecutorServiceMetrics.monitor(meterRegistry,
+				newThreadPerTaskExecutor(name + "-"), name);
+		Gauge.builder("executor.active", active, AtomicInteger::get).tag("name", name)
+				.description("The approximate number of threads that are actively "
+						+ "executing tasks")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * @return whether this JVM supports virtual threads
+	 */
+	public static boolean isSupported() {
+		return SUPPORTED;
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		executorService.execute(track(task));
+	}
+
+	@Override
+	public void execute(Runnable task, long startTimeout) {
+		execute(task);
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		return executorService.submit(track(task));
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		return executorService.submit(() -> {
+			active.incrementAndGet();
+			try {
+				return task.call();
+			}
+			finally {
+				active.decrementAndGet();
+			}
+		});
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		executorService.shutdown();
+		if (!executorService.awaitTermination(awaitTermination, TimeUnit.MILLISECONDS)) {
+			executorService.shutdownNow();
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	private Runnable track(Runnable task) {
+		return () -> {
+			active.incrementAndGet();
+			try {
+				task.run();
+			}
+			finally {
+				active.decrementAndGet();
+			}
+		};
+	}
+
+	/**
+	 * <code>Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory())</code>
+	 * without compiling against Java 21.
+	 */
+	private static ExecutorService newThreadPerTaskExecutor(String prefix) {
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+			builder = builderType.getMethod("name", String.class, long.class)
+					.invoke(builder, prefix, 0L);
+			ThreadFactory threadFactory = (ThreadFactory) builderType
+					.getMethod("factory").invoke(builder);
+			return (ExecutorService) Executors.class
+					.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+					.invoke(null, threadFactory);
+		}
+		catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(
+					"Virtual threads are not supported by this JVM", e);
+		}
+	}
+
+	/**
+	 * Virtual threads are a preview feature on Java 19 and 20 and fail unless enabled,
+	 * so try to create a virtual thread executor rather than only checking the API.
+	 */
+	private static boolean probe() {
+		try {
+			newThreadPerTaskExecutor("probe-").shutdown();
+			return true;
+		}
+		catch (RuntimeException | LinkageError e) {
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,103 @@
+package org.springframework.cloud.deployer.spi.openshift.client;
+
+import java.util.List;
+import java.util.Objects;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+/**
+ * A call to the OpenShift API, identified by the logical deployer operation it was
+ * made for, its verb (<code>get</code>, <code>list</code>, <code>watch</code>,
+ * <code>create</code>, <code>update</code>, <code>patch</code>, <code>delete</code> or
+ * <code>deletecollection</code>) and the resource, including any subresource, e.g.
+ * <code>buildconfigs/instantiatebinary</code>.
+ */
+public final class ApiCall {
+
+	private final String operation;
+
+	private final String verb;
+
+	private final String resource;
+
+	public ApiCall(String operation, String verb, String resource) {
+		this.operation = operation;
+		this.verb = verb;
+		this.resource = resource;
+	}
+
+	public static ApiCall of(String operation, Request request) {
+		List<String> segments = request.url().pathSegments();
+		// skip /api/{version}, /oapi/{version} or /apis/{group}/{version}
+		int start = "apis".equals(segments.get(0)) ? 3 : 2;
+		if (segments.size() > start + 2 && "namespaces".equals(segments.get(start))) {
+			start += 2;
+		}
+		List<String> path = (segments.size() > start)
+				? segments.subList(start, segments.size()) : segments;
+
+		String resource = path.get(0);
+		if (path.size() > 2) {
+			resource += "/" + path.get(2);
+		}
+		return new ApiCall(operation, verbOf(request.method(), request.url(),
+				path.size() > 1), resource);
+	}
+
+	private static String verbOf(String method, HttpUrl url, boolean named) {
+		switch (method) {
+		case "GET":
+			if ("true".equals(url.queryParameter("watch"))) {
+				return "watch";
+			}
+			return named ? "get" : "list";
+		case "HEAD":
+			return "get";
+		case "POST":
+			return "create";
+		case "PUT":
+			return "update";
+		case "DELETE":
+			return named ? "delete" : "deletecollection";
+		default:
+			return method.toLowerCase();
+		}
+	}
+
+	public String getOperation() {
+		return operation;
+	}
+
+	public String getVerb() {
+		return verb;
+	}
+
+	public String getResource() {
+		return resource;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		ApiCall apiCall = (ApiCall) o;
+		return operation.equals(apiCall.operation) && verb.equals(apiCall.verb)
+				&& resource.equals(apiCall.resource);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(operation, verb, resource);
+	}
+
+	@Override
+	public String toString() {
+		return operation + " " + verb + " " + resource;
+	}
+
+}
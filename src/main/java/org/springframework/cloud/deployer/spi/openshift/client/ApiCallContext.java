@@ -0,0 +1,75 @@
+package org.springframework.cloud.deployer.spi.openshift.client;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * The logical deployer operation, e.g. <code>deploy</code> or <code>status</code>, that
+ * API calls made on the current thread are attributed to. Nested operations are
+ * attributed to the outermost operation, so the status check made while deploying
+ * counts towards the deploy. Calls made outside of an operation, such as from watch
+ * callbacks, are attributed to {@link #NO_OPERATION}.
+ */
+public final class ApiCallContext {
+
+	public static final String NO_OPERATION = "none";
+
+	private static final ThreadLocal<String> currentOperation = new ThreadLocal<>();
+
+	private ApiCallContext() {
+	}
+
+	public static String currentOperation() {
+		String operation = currentOperation.get();
+		return (operation != null) ? operation : NO_OPERATION;
+	}
+
+	public static <T> T operation(String operation, Supplier<T> call) {
+		if (currentOperation.get() != null) {
+			return call.get();
+		}
+
+		currentOperation.set(operation);
+		try {
+			return call.get();
+		}
+		finally {
+			currentOperation.remove();
+		}
+	}
+
+	public static void operation(String operation, Runnable call) {
+		operation(operation, () -> {
+			call.run();
+			return null;
+		});
+	}
+
+	/**
+	 * @return the task, attributing its API calls to the current operation when run on
+	 * another thread
+	 */
+	public static <T> Callable<T> propagate(Callable<T> task) {
+		String operation = currentOperation.get();
+		if (operation == null) {
+			return task;
+		}
+
+		return () -> {
+			String previous = currentOperation.get();
+			currentOperation.set(operation);
+			try {
+				return task.call();
+			}
+			finally {
+				if (previous != null) {
+					currentOperation.set(previous);
+				}
+				else {
+					currentOperation.remove();
+				}
+			}
+		};
+	}
+
+}
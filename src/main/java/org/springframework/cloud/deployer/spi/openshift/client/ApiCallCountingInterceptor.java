@@ -0,0 +1,76 @@
+package org.springframework.cloud.deployer.spi.openshift.client;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Counts the requests the deployer sends to the OpenShift API per {@link ApiCall}: the
+ * logical operation from the {@link ApiCallContext}, the verb and the resource. The
+ * counts are kept in memory, for tests and the <code>openshiftApiCalls</code> actuator
+ * endpoint, and in the <code>openshift.deployer.api.calls</code> counter.
+ */
+public class ApiCallCountingInterceptor implements Interceptor {
+
+	public static final String CALLS_METER = "openshift.deployer.api.calls";
+
+	private final ConcurrentMap<ApiCall, LongAdder> calls = new ConcurrentHashMap<>();
+
+	private final MeterRegistry meterRegistry;
+
+	public ApiCallCountingInterceptor(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		ApiCall call = ApiCall.of(ApiCallContext.currentOperation(), request);
+
+		calls.computeIfAbsent(call, key -> new LongAdder()).increment();
+		meterRegistry.counter(CALLS_METER, "operation", call.getOperation(), "verb",
+				call.getVerb(), "resource", call.getResource()).increment();
+
+		return chain.proceed(request);
+	}
+
+	/**
+	 * @return the number of calls made per {@link ApiCall}
+	 */
+	public Map<ApiCall, Long> getCalls() {
+		Map<ApiCall, Long> snapshot = new TreeMap<>(
+				(a, b) -> a.toString().compareTo(b.toString()));
+		calls.forEach((call, count) -> snapshot.put(call, count.sum()));
+		return snapshot;
+	}
+
+	/**
+	 * @param operation the logical operation
+	 * @return the total number of calls made for the operation
+	 */
+	public long getCalls(String operation) {
+		return calls.entrySet().stream()
+				.filter(entry -> entry.getKey().getOperation().equals(operation))
+				.mapToLong(entry -> entry.getValue().sum()).sum();
+	}
+
+	/**
+	 * @return the total number of calls made
+	 */
+	public long getTotalCalls() {
+		return calls.values().stream().mapToLong(LongAdder::sum).sum();
+	}
+
+	public void reset() {
+		calls.clear();
+	}
+
+}
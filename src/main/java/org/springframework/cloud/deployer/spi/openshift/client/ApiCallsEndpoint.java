@@ -0,0 +1,36 @@
+package org.springframework.cloud.deployer.spi.openshift.client;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+
+/**
+ * Actuator endpoint exposing the OpenShift API calls counted by the
+ * {@link ApiCallCountingInterceptor}, per operation and then per verb and resource.
+ */
+public class ApiCallsEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+	private final ApiCallCountingInterceptor apiCallCounter;
+
+	public ApiCallsEndpoint(ApiCallCountingInterceptor apiCallCounter) {
+		super("openshiftApiCalls");
+		this.apiCallCounter = apiCallCounter;
+	}
+
+	@Override
+	public Map<String, Object> invoke() {
+		Map<String, Map<String, Long>> operations = new TreeMap<>();
+		apiCallCounter.getCalls()
+				.forEach((call, count) -> operations
+						.computeIfAbsent(call.getOperation(), operation -> new TreeMap<>())
+						.put(call.getVerb() + " " + call.getResource(), count));
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("total", apiCallCounter.getTotalCalls());
+		result.put("operations", operations);
+		return result;
+	}
+
+}
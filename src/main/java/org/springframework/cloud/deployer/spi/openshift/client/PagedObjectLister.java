@@ -0,0 +1,197 @@
+package org.springframework.cloud.deployer.spi.openshift.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.client.HttpClientAware;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.openshift.api.model.Build;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.ImageStream;
+import io.fabric8.openshift.client.OpenShiftClient;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Lists the objects labeled with <code>spring-app-id</code>, of the provided apps or of
+ * all apps if none are provided, page by page, using the <code>limit</code> and
+ * <code>continue</code> parameters of the OpenShift API. The
+ * returned streams are lazy: the next page is only requested once the objects of the
+ * previous page are consumed, so short-circuiting operations such as
+ * <code>anyMatch</code> stop listing early and at most one page is held in memory.
+ *
+ * Where only the metadata of the objects is needed, the objects are requested as
+ * <code>PartialObjectMetadataList</code>. Servers that don't support this projection
+ * return the full objects, of which only the metadata is kept.
+ *
+ * The requests are sent with the client's HTTP client, so they are authenticated, rate
+ * limited and counted like any other request of the client. Servers that don't support
+ * pagination return all objects in one page.
+ */
+public class PagedObjectLister {
+
+	private static final String SPRING_APP_KEY = "spring-app-id";
+
+	private static final String METADATA_ONLY = "application/json;as=PartialObjectMetadataList;v=v1beta1;g=meta.k8s.io, application/json";
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final OpenShiftClient client;
+
+	private final int pageSize;
+
+	public PagedObjectLister(OpenShiftClient client, int pageSize) {
+		this.client = client;
+		this.pageSize = Math.max(1, pageSize);
+	}
+
+	public Stream<Build> builds(String... appIds) {
+		return list(client.getOpenshiftUrl(), "builds", appIds, null,
+				item -> MAPPER.convertValue(item, Build.class));
+	}
+
+	public Stream<ObjectMeta> buildMetadata(String... appIds) {
+		return list(client.getOpenshiftUrl(), "builds", appIds, METADATA_ONLY,
+				this::metadataOf);
+	}
+
+	public Stream<ObjectMeta> buildConfigMetadata(String... appIds) {
+		return list(client.getOpenshiftUrl(), "buildconfigs", appIds, METADATA_ONLY,
+				this::metadataOf);
+	}
+
+	public Stream<DeploymentConfig> deploymentConfigs(String... appIds) {
+		return list(client.getOpenshiftUrl(), "deploymentconfigs", appIds, null,
+				item -> MAPPER.convertValue(item, DeploymentConfig.class));
+	}
+
+	/**
+	 * ImageStreams are created without labels, so all ImageStreams are listed.
+	 */
+	public Stream<ImageStream> imageStreams() {
+		return list(client.getOpenshiftUrl(), "imagestreams", null, null,
+				item -> MAPPER.convertValue(item, ImageStream.class));
+	}
+
+	public Stream<ObjectMeta> podMetadata(String... appIds) {
+		return list(kubernetesUrl(), "pods", appIds, METADATA_ONLY, this::metadataOf);
+	}
+
+	private <T> Stream<T> list(URL apiUrl, String resource, String[] appIds,
+			String accept, Function<JsonNode, T> converter) {
+		HttpUrl.Builder url = HttpUrl.get(apiUrl).newBuilder()
+				.addPathSegment("namespaces").addPathSegment(client.getNamespace())
+				.addPathSegment(resource)
+				.addQueryParameter("limit", String.valueOf(pageSize));
+		if (appIds != null) {
+			url.addQueryParameter("labelSelector",
+					(appIds.length == 0) ? SPRING_APP_KEY
+							: String.format("%s in (%s)", SPRING_APP_KEY,
+									String.join(",", appIds)));
+		}
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+				new PageIterator<>(url.build(), accept, converter), Spliterator.ORDERED),
+				false);
+	}
+
+	private ObjectMeta metadataOf(JsonNode item) {
+		return MAPPER.convertValue(item.path("metadata"), ObjectMeta.class);
+	}
+
+	/**
+	 * The OpenShift client only exposes the <code>/oapi</code> URL, the Kubernetes
+	 * resources are served from <code>/api/v1</code> of the master.
+	 */
+	private URL kubernetesUrl() {
+		return HttpUrl.get(client.getMasterUrl()).newBuilder().addPathSegment("api")
+				.addPathSegment("v1").build().url();
+	}
+
+	private JsonNode get(HttpUrl url, String accept) {
+		OkHttpClient httpClient = ((HttpClientAware) client).getHttpClient();
+		Request.Builder request = new Request.Builder().url(url).get();
+		if (accept != null) {
+			request.header("Accept", accept);
+		}
+		try (Response response = httpClient.newCall(request.build()).execute()) {
+			if (!response.isSuccessful()) {
+				throw new KubernetesClientException(
+						String.format("Failure executing: GET at: %s. Message: %s.", url,
+								response.message()),
+						response.code(), null);
+			}
+			try (InputStream body = response.body().byteStream()) {
+				return MAPPER.readTree(body);
+			}
+		}
+		catch (IOException e) {
+			throw new KubernetesClientException(
+					String.format("Failure executing: GET at: %s", url), e);
+		}
+	}
+
+	private class PageIterator<T> implements Iterator<T> {
+
+		private final HttpUrl url;
+
+		private final String accept;
+
+		private final Function<JsonNode, T> converter;
+
+		private final Deque<JsonNode> page = new ArrayDeque<>();
+
+		private String continueToken;
+
+		private boolean last;
+
+		PageIterator(HttpUrl url, String accept, Function<JsonNode, T> converter) {
+			this.url = url;
+			this.accept = accept;
+			this.converter = converter;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (page.isEmpty() && !last) {
+				fetch();
+			}
+			return !page.isEmpty();
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return converter.apply(page.poll());
+		}
+
+		private void fetch() {
+			HttpUrl pageUrl = (continueToken == null) ? url
+					: url.newBuilder().addQueryParameter("continue", continueToken)
+							.build();
+			JsonNode list = get(pageUrl, accept);
+			list.path("items").forEach(page::add);
+			continueToken = list.path("metadata").path("continue").asText(null);
+			last = continueToken == null || continueToken.isEmpty();
+		}
+
+	}
+
+}
@@ -0,0 +1,93 @@
+package org.springframework.cloud.deployer.spi.openshift.client;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Limits the rate of requests the deployer sends to the OpenShift API. Every request
+ * takes a permit from a token bucket for its kind of request: reads, writes or
+ * establishing watches. Requests that cannot get a permit queue until one is available
+ * but fail if that would take longer than the configured maximum queue time.
+ *
+ * The time requests spend waiting for a permit is recorded in the
+ * <code>openshift.deployer.api.throttled</code> timer and requests that are rejected
+ * are counted in <code>openshift.deployer.api.rejected</code>, both tagged by budget.
+ */
+public class RateLimitingInterceptor implements Interceptor {
+
+	public static final String THROTTLED_METER = "openshift.deployer.api.throttled";
+
+	public static final String REJECTED_METER = "openshift.deployer.api.rejected";
+
+	public enum Budget {
+
+		READ, WRITE, WATCH
+
+	}
+
+	private final Map<Budget, RateLimiter> rateLimiters = new EnumMap<>(Budget.class);
+
+	private final long maxQueueTime;
+
+	private final MeterRegistry meterRegistry;
+
+	public RateLimitingInterceptor(OpenShiftDeployerProperties.ApiRateLimit rateLimit,
+			MeterRegistry meterRegistry) {
+		this.rateLimiters.put(Budget.READ,
+				RateLimiter.create(rateLimit.getReadsPerSecond()));
+		this.rateLimiters.put(Budget.WRITE,
+				RateLimiter.create(rateLimit.getWritesPerSecond()));
+		this.rateLimiters.put(Budget.WATCH,
+				RateLimiter.create(rateLimit.getWatchesPerSecond()));
+		this.maxQueueTime = rateLimit.getMaxQueueTime();
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		Budget budget = budgetOf(request);
+		String budgetTag = budget.name().toLowerCase();
+
+		long start = System.nanoTime();
+		boolean acquired = rateLimiters.get(budget).tryAcquire(maxQueueTime,
+				TimeUnit.MILLISECONDS);
+		if (!acquired) {
+			meterRegistry.counter(REJECTED_METER, "budget", budgetTag).increment();
+			throw new InterruptedIOException(format(
+					"The %s request budget could not be acquired within %dms for: %s %s",
+					budgetTag, maxQueueTime, request.method(), request.url()));
+		}
+		meterRegistry.timer(THROTTLED_METER, "budget", budgetTag)
+				.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+		return chain.proceed(request);
+	}
+
+	static Budget budgetOf(Request request) {
+		switch (request.method()) {
+		case "GET":
+			return "true".equals(request.url().queryParameter("watch")) ? Budget.WATCH
+					: Budget.READ;
+		case "HEAD":
+			return Budget.READ;
+		default:
+			return Budget.WRITE;
+		}
+	}
+
+}
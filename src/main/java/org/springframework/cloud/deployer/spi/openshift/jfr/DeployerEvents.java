@@ -0,0 +1,79 @@
+package org.springframework.cloud.deployer.spi.openshift.jfr;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * Emits Java Flight Recorder events for the deployer's hot paths, so that deployer
+ * stalls can be correlated with GC and thread activity in the same recording.
+ *
+ * JFR is only available from Java 8u262 and Java 11 onwards. On JVMs without the
+ * <code>jdk.jfr</code> module the events are no-ops and the JFR event classes are never
+ * loaded. When no recording has an event enabled, the cost is a check of the event type
+ * and nothing is allocated.
+ */
+public final class DeployerEvents {
+
+	private static final boolean JFR_PRESENT = ClassUtils.isPresent("jdk.jfr.Event",
+			DeployerEvents.class.getClassLoader());
+
+	static final Span NOOP = new Span() {
+	};
+
+	public enum Type {
+
+		/**
+		 * Building the status of an app.
+		 */
+		STATUS,
+
+		/**
+		 * An {@link org.springframework.cloud.deployer.spi.openshift.resources.ObjectFactory}
+		 * writing an object.
+		 */
+		FACTORY_WRITE,
+
+		/**
+		 * Hashing a resource.
+		 */
+		HASH,
+
+		/**
+		 * Uploading a binary to an S2I build.
+		 */
+		BINARY_UPLOAD,
+
+		/**
+		 * Handling an event received from a watch.
+		 */
+		WATCH_CALLBACK
+
+	}
+
+	private DeployerEvents() {
+	}
+
+	/**
+	 * Begin timing an event. The event is recorded when {@link Span#commit()} is called.
+	 * @param type the type of event
+	 * @param appId the app the event relates to, may be <code>null</code>
+	 * @param kind the kind of object the event relates to, may be <code>null</code>
+	 * @return the started event
+	 */
+	public static Span begin(Type type, String appId, String kind) {
+		return JFR_PRESENT ? JfrDeployerEvents.begin(type, appId, kind) : NOOP;
+	}
+
+	public interface Span {
+
+		/**
+		 * @param bytes the number of bytes processed while the event was running
+		 */
+		default void bytes(long bytes) {
+		}
+
+		default void commit() {
+		}
+
+	}
+
+}
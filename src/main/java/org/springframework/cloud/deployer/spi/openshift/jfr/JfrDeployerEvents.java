@@ -0,0 +1,123 @@
+package org.springframework.cloud.deployer.spi.openshift.jfr;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Span;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Type;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The JFR backed events. This class is only loaded by {@link DeployerEvents} when
+ * <code>jdk.jfr</code> is present.
+ */
+final class JfrDeployerEvents {
+
+	private static final Map<Type, EventType> EVENT_TYPES = new EnumMap<>(Type.class);
+
+	static {
+		EVENT_TYPES.put(Type.STATUS, EventType.getEventType(StatusEvent.class));
+		EVENT_TYPES.put(Type.FACTORY_WRITE,
+				EventType.getEventType(FactoryWriteEvent.class));
+		EVENT_TYPES.put(Type.HASH, EventType.getEventType(HashEvent.class));
+		EVENT_TYPES.put(Type.BINARY_UPLOAD,
+				EventType.getEventType(BinaryUploadEvent.class));
+		EVENT_TYPES.put(Type.WATCH_CALLBACK,
+				EventType.getEventType(WatchCallbackEvent.class));
+	}
+
+	private JfrDeployerEvents() {
+	}
+
+	static Span begin(Type type, String appId, String kind) {
+		// nothing is allocated unless a recording has the event enabled
+		if (!EVENT_TYPES.get(type).isEnabled()) {
+			return DeployerEvents.NOOP;
+		}
+
+		DeployerEvent event = create(type);
+		event.appId = appId;
+		event.kind = kind;
+		event.begin();
+
+		return new Span() {
+
+			@Override
+			public void bytes(long bytes) {
+				event.bytes = bytes;
+			}
+
+			@Override
+			public void commit() {
+				event.commit();
+			}
+		};
+	}
+
+	private static DeployerEvent create(Type type) {
+		switch (type) {
+		case STATUS:
+			return new StatusEvent();
+		case FACTORY_WRITE:
+			return new FactoryWriteEvent();
+		case HASH:
+			return new HashEvent();
+		case BINARY_UPLOAD:
+			return new BinaryUploadEvent();
+		default:
+			return new WatchCallbackEvent();
+		}
+	}
+
+	@Category({ "Spring Cloud Deployer", "OpenShift" })
+	abstract static class DeployerEvent extends Event {
+
+		@Label("App Id")
+		String appId;
+
+		@Label("Kind")
+		String kind;
+
+		@Label("Bytes")
+		@DataAmount
+		long bytes;
+
+	}
+
+	@Name("org.springframework.cloud.deployer.openshift.Status")
+	@Label("App Status")
+	static class StatusEvent extends DeployerEvent {
+
+	}
+
+	@Name("org.springframework.cloud.deployer.openshift.FactoryWrite")
+	@Label("Object Factory Write")
+	static class FactoryWriteEvent extends DeployerEvent {
+
+	}
+
+	@Name("org.springframework.cloud.deployer.openshift.Hash")
+	@Label("Resource Hash")
+	static class HashEvent extends DeployerEvent {
+
+	}
+
+	@Name("org.springframework.cloud.deployer.openshift.BinaryUpload")
+	@Label("S2I Binary Upload")
+	static class BinaryUploadEvent extends DeployerEvent {
+
+	}
+
+	@Name("org.springframework.cloud.deployer.openshift.WatchCallback")
+	@Label("Watch Callback")
+	static class WatchCallbackEvent extends DeployerEvent {
+
+	}
+
+}
@@ -0,0 +1,93 @@
+package org.springframework.cloud.deployer.spi.openshift.maven;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import io.fabric8.openshift.api.model.Build;
+
+/**
+ * Runs the Builds of a batch deployment with at most a maximum number of Builds running
+ * at a time. Further Builds are queued and started, in order, as running Builds finish.
+ * Builds are tracked by their completion, so no thread waits for a running Build.
+ */
+class BuildPipeline {
+
+	private final int maxConcurrentBuilds;
+
+	private final Executor executor;
+
+	private final Queue<Runnable> queued = new ArrayDeque<>();
+
+	private int running;
+
+	/**
+	 * @param maxConcurrentBuilds the maximum number of Builds running at a time
+	 * @param executor starts the Builds
+	 */
+	BuildPipeline(int maxConcurrentBuilds, Executor executor) {
+		this.maxConcurrentBuilds = Math.max(1, maxConcurrentBuilds);
+		this.executor = executor;
+	}
+
+	/**
+	 * Queue a Build.
+	 * @param build starts the Build and returns its completion
+	 * @return the completion of the Build
+	 */
+	CompletableFuture<Build> submit(Callable<CompletableFuture<Build>> build) {
+		CompletableFuture<Build> completion = new CompletableFuture<>();
+		synchronized (this) {
+			queued.add(() -> {
+				try {
+					build.call().whenComplete((result, e) -> {
+						finished();
+						if (e != null) {
+							completion.completeExceptionally(e);
+						}
+						else {
+							completion.complete(result);
+						}
+					});
+				}
+				catch (Throwable e) {
+					finished();
+					completion.completeExceptionally(e);
+				}
+			});
+		}
+		startQueued();
+		return completion;
+	}
+
+	synchronized int getRunning() {
+		return running;
+	}
+
+	synchronized int getQueued() {
+		return queued.size();
+	}
+
+	private void finished() {
+		synchronized (this) {
+			running--;
+		}
+		startQueued();
+	}
+
+	private void startQueued() {
+		List<Runnable> builds = new ArrayList<>();
+		synchronized (this) {
+			while (running < maxConcurrentBuilds && !queued.isEmpty()) {
+				running++;
+				builds.add(queued.poll());
+			}
+		}
+		builds.forEach(executor::execute);
+	}
+
+}
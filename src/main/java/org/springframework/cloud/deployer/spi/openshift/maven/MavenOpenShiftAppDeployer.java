@@ -1,21 +1,32 @@
 package org.springframework.cloud.deployer.spi.openshift.maven;
 
-import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.EnvVar;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.openshift.api.model.Build;
+import io.fabric8.openshift.api.model.BuildConfig;
+import io.fabric8.openshift.api.model.BuildStrategy;
+import io.fabric8.openshift.client.OpenShiftClient;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.deployer.resource.maven.MavenProperties;
 import org.springframework.cloud.deployer.resource.maven.MavenResource;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.kubernetes.ContainerFactory;
+import org.springframework.cloud.deployer.spi.openshift.BatchDeployment;
+import org.springframework.cloud.deployer.spi.openshift.DeployerMetrics;
+import org.springframework.cloud.deployer.spi.openshift.DeployerTaskExecutor;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftAppDeployer;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
-import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentPropertyKeys;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentRequest;
 import org.springframework.cloud.deployer.spi.openshift.ResourceHash;
+import org.springframework.cloud.deployer.spi.openshift.client.ApiCallContext;
 import org.springframework.cloud.deployer.spi.openshift.resources.ObjectFactory;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 import org.springframework.cloud.deployer.spi.openshift.resources.buildConfig.BuildConfigStrategy;
 import org.springframework.cloud.deployer.spi.openshift.resources.buildConfig.BuildStrategies;
 import org.springframework.cloud.deployer.spi.openshift.resources.buildConfig.MavenBuildConfigFactory;
@@ -24,11 +35,16 @@ import org.springframework.cloud.deployer.spi.openshift.resources.buildConfig.Wa
 import org.springframework.cloud.deployer.spi.openshift.resources.deploymentConfig.DeploymentConfigFactory;
 import org.springframework.cloud.deployer.spi.openshift.resources.deploymentConfig.DeploymentConfigWithImageChangeTriggerWithIndexSuppportFactory;
 import org.springframework.cloud.deployer.spi.openshift.resources.imageStream.ImageStreamFactory;
-import org.springframework.util.StringUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 public class MavenOpenShiftAppDeployer extends OpenShiftAppDeployer {
 
@@ -41,6 +57,12 @@ public class MavenOpenShiftAppDeployer extends OpenShiftAppDeployer {
 
 	private MavenProperties mavenProperties;
 
+	private static final Set<String> FAILED_BUILD_PHASES = ImmutableSet.of("Failed",
+			"Error", "Cancelled");
+
+	private static final Set<String> ACTIVE_BUILD_PHASES = ImmutableSet.of("New",
+			"Pending", "Running");
+
 	private ResourceHash resourceHash;
 
 	public MavenOpenShiftAppDeployer(
@@ -48,7 +70,42 @@ public class MavenOpenShiftAppDeployer extends OpenShiftAppDeployer {
 			KubernetesClient client, ContainerFactory containerFactory,
 			MavenResourceJarExtractor mavenResourceJarExtractor,
 			MavenProperties mavenProperties, ResourceHash resourceHash) {
-		super(openShiftDeployerProperties, client, containerFactory);
+		this(openShiftDeployerProperties, client, containerFactory,
+				mavenResourceJarExtractor, mavenProperties, resourceHash,
+				new OpenShiftObjectCache((OpenShiftClient) client));
+	}
+
+	public MavenOpenShiftAppDeployer(
+			OpenShiftDeployerProperties openShiftDeployerProperties,
+			KubernetesClient client, ContainerFactory containerFactory,
+			MavenResourceJarExtractor mavenResourceJarExtractor,
+			MavenProperties mavenProperties, ResourceHash resourceHash,
+			OpenShiftObjectCache objectCache) {
+		this(openShiftDeployerProperties, client, containerFactory,
+				mavenResourceJarExtractor, mavenProperties, resourceHash, objectCache,
+				new DeployerMetrics());
+	}
+
+	public MavenOpenShiftAppDeployer(
+			OpenShiftDeployerProperties openShiftDeployerProperties,
+			KubernetesClient client, ContainerFactory containerFactory,
+			MavenResourceJarExtractor mavenResourceJarExtractor,
+			MavenProperties mavenProperties, ResourceHash resourceHash,
+			OpenShiftObjectCache objectCache, DeployerMetrics deployerMetrics) {
+		this(openShiftDeployerProperties, client, containerFactory,
+				mavenResourceJarExtractor, mavenProperties, resourceHash, objectCache,
+				deployerMetrics, DeployerTaskExecutor.shared());
+	}
+
+	public MavenOpenShiftAppDeployer(
+			OpenShiftDeployerProperties openShiftDeployerProperties,
+			KubernetesClient client, ContainerFactory containerFactory,
+			MavenResourceJarExtractor mavenResourceJarExtractor,
+			MavenProperties mavenProperties, ResourceHash resourceHash,
+			OpenShiftObjectCache objectCache, DeployerMetrics deployerMetrics,
+			AsyncTaskExecutor taskExecutor) {
+		super(openShiftDeployerProperties, client, containerFactory, objectCache,
+				deployerMetrics, taskExecutor);
 		this.openShiftDeployerProperties = openShiftDeployerProperties;
 		this.mavenResourceJarExtractor = mavenResourceJarExtractor;
 		this.mavenProperties = mavenProperties;
@@ -61,32 +118,29 @@ public class MavenOpenShiftAppDeployer extends OpenShiftAppDeployer {
 		List<ObjectFactory> factories = new ArrayList<>();
 
 		MavenResource mavenResource = (MavenResource) request.getResource();
-		if (!buildExists(request, appId, mavenResource)) {
+		String hash = resourceHash.hashResource(mavenResource, appId);
+		if (!buildExists(request, appId, hash)) {
 			logger.info("Building application '{}' with resource: {}", appId,
 					mavenResource);
+			cancelSupersededBuilds(appId, hash);
 
-			factories.add(new ImageStreamFactory(getClient()));
+			factories.add(new ImageStreamFactory(getClient(), getObjectCache()));
 
 			BuildStrategies buildStrategies = new BuildStrategies(mavenProperties,
 					openShiftDeployerProperties, mavenResourceJarExtractor, resourceHash,
-					getClient());
+					getClient(), getObjectCache(), getDeployerMetrics());
 			BuildConfigStrategy buildStrategy = buildStrategies.chooseBuildStrategy(
 					request, createIdMap(appId, request), mavenResource);
 			if (buildStrategy instanceof S2iBinaryInputBuildConfigStrategy) {
-				request = new AppDeploymentRequest(request.getDefinition(),
-						request.getResource(),
-						ImmutableMap.<String, String>builder()
-								.putAll(request.getDeploymentProperties())
-								.put("s2i-build", "true").build(),
-						request.getCommandlineArguments());
+				request = OpenShiftDeploymentRequest.of(request)
+						.withDeploymentProperty("s2i-build", "true");
 			}
 
-			AppDeploymentRequest deploymentRequest = new AppDeploymentRequest(
-					request.getDefinition(), request.getResource(),
-					request.getDeploymentProperties(), request.getCommandlineArguments());
+			AppDeploymentRequest deploymentRequest = request;
 
 			WatchingBuildConfigStrategy watchingBuildConfigStrategy = new WatchingBuildConfigStrategy(
-					buildStrategy, getClient(), createIdMap(appId, request),
+					buildStrategy, getClient(), getObjectCache(),
+					createIdMap(appId, request),
 					(build, watch) -> rolloutDeployment(build, watch, appId,
 							deploymentRequest));
 			factories.add(watchingBuildConfigStrategy);
@@ -97,44 +151,307 @@ public class MavenOpenShiftAppDeployer extends OpenShiftAppDeployer {
 		return factories;
 	}
 
+	/**
+	 * Deploy a batch of apps built from Maven artifacts. Apps that share an artifact and
+	 * the properties it is built with share one Build: the first app of such a group is
+	 * built and all apps of the group roll out the image of its ImageStream. The objects
+	 * of all apps other than the BuildConfigs are created up front, then the Builds are
+	 * run with at most <code>maxConcurrentBuilds</code> running at a time and the apps
+	 * of each group are rolled out as soon as their image is built. The apps of a group
+	 * whose image is already built are rolled out as soon as their objects are created.
+	 */
+	@Override
+	protected BatchDeployment deployApps(
+			Map<String, OpenShiftDeploymentRequest> deploymentRequests) {
+		Map<String, String> hashes = new LinkedHashMap<>();
+		Map<String, List<String>> groups = new LinkedHashMap<>();
+		deploymentRequests.forEach((appId, request) -> {
+			String hash = resourceHash.hashResource((MavenResource) request.getResource(),
+					appId);
+			hashes.put(appId, hash);
+			groups.computeIfAbsent(buildKey(hash, request), key -> new ArrayList<>())
+					.add(appId);
+		});
+
+		BuildPipeline buildPipeline = new BuildPipeline(
+				openShiftDeployerProperties.getMaxConcurrentBuilds(), getTaskExecutor());
+		Map<String, CompletableFuture<String>> deployments = new LinkedHashMap<>();
+		for (List<String> appIds : groups.values()) {
+			String builtAppId = appIds.get(0);
+			OpenShiftDeploymentRequest builtRequest = deploymentRequests.get(builtAppId);
+			MavenResource mavenResource = (MavenResource) builtRequest.getResource();
+
+			BuildConfigStrategy buildStrategy = null;
+			String hash = hashes.get(builtAppId);
+			if (!buildExists(builtRequest, builtAppId, hash)) {
+				logger.info("Building applications {} with resource: {}", appIds,
+						mavenResource);
+				buildStrategy = new BuildStrategies(mavenProperties,
+						openShiftDeployerProperties, mavenResourceJarExtractor,
+						resourceHash, getClient(), getObjectCache(), getDeployerMetrics())
+								.chooseBuildStrategy(builtRequest,
+										createIdMap(builtAppId, builtRequest),
+										mavenResource);
+			}
+
+			Map<String, OpenShiftDeploymentRequest> group = new LinkedHashMap<>();
+			for (String appId : appIds) {
+				OpenShiftDeploymentRequest request = deploymentRequests.get(appId);
+				if (buildStrategy instanceof S2iBinaryInputBuildConfigStrategy) {
+					request = request.withDeploymentProperty("s2i-build", "true");
+				}
+				if (!appId.equals(builtAppId)) {
+					request = request.withDeploymentProperty(
+							OpenShiftDeploymentRequest.SHARED_IMAGE_STREAM, builtAppId);
+				}
+				group.put(appId, request);
+			}
+
+			List<CompletableFuture<String>> objects = new ArrayList<>();
+			boolean build = buildStrategy != null;
+			group.forEach((appId, request) -> objects.add(supplyAsync(() -> {
+				List<ObjectFactory> factories = new ArrayList<>();
+				if (build && appId.equals(builtAppId)) {
+					factories.add(new ImageStreamFactory(getClient(), getObjectCache()));
+				}
+				factories.addAll(MavenOpenShiftAppDeployer.super
+						.populateOpenShiftObjectsForDeployment(request, appId));
+				applyObjects(factories, request, appId);
+				return appId;
+			})));
+			CompletableFuture<Void> created = CompletableFuture
+					.allOf(objects.toArray(new CompletableFuture<?>[0]));
+
+			CompletableFuture<Build> built;
+			if (build) {
+				BuildConfigStrategy strategy = buildStrategy;
+				Callable<CompletableFuture<Build>> startBuild = ApiCallContext
+						.propagate(() -> startBuild(builtAppId, hash,
+								group.get(builtAppId), strategy, group));
+				built = created.thenCompose(ignored -> buildPipeline.submit(startBuild));
+			}
+			else {
+				// the built app rolls out the existing image by its automatic trigger,
+				// the manual triggers of the other apps of the group need a rollout
+				Map<String, OpenShiftDeploymentRequest> consumers = new LinkedHashMap<>(
+						group);
+				consumers.remove(builtAppId);
+				built = created.thenApply(ignored -> {
+					deployLatest(consumers);
+					return null;
+				});
+			}
+
+			for (int index = 0; index < appIds.size(); index++) {
+				String appId = appIds.get(index);
+				deployments.put(appId, objects.get(index)
+						.thenCombine(built, (deployed, image) -> deployed));
+			}
+		}
+
+		// in the order of the requests
+		Map<String, CompletableFuture<String>> ordered = new LinkedHashMap<>();
+		deploymentRequests.keySet()
+				.forEach(appId -> ordered.put(appId, deployments.get(appId)));
+		return new BatchDeployment(ordered);
+	}
+
+	/**
+	 * Create the BuildConfig and start a Build of the app, rolling out all apps of the
+	 * group once the Build completes.
+	 * @return the completion of the Build
+	 */
+	private CompletableFuture<Build> startBuild(String appId, String hash,
+			OpenShiftDeploymentRequest request, BuildConfigStrategy buildStrategy,
+			Map<String, OpenShiftDeploymentRequest> group) {
+		cancelSupersededBuilds(appId, hash);
+
+		CompletableFuture<Build> completion = new CompletableFuture<>();
+		long[] lastVersion = new long[1];
+		WatchingBuildConfigStrategy watchingBuildConfigStrategy = new WatchingBuildConfigStrategy(
+				buildStrategy, getClient(), getObjectCache(), createIdMap(appId, request),
+				(build, watch) -> {
+					// ignore Builds started before this one
+					if (buildNumber(build) > lastVersion[0]) {
+						rolloutDeployments(build, watch, group, completion);
+					}
+				});
+
+		BuildConfig buildConfig = getDeployerMetrics().timeAddObject(
+				watchingBuildConfigStrategy, appId,
+				() -> watchingBuildConfigStrategy.addObject(request, appId));
+		if (buildConfig.getStatus() != null
+				&& buildConfig.getStatus().getLastVersion() != null) {
+			lastVersion[0] = buildConfig.getStatus().getLastVersion();
+		}
+		getDeployerMetrics().timeApplyObject(watchingBuildConfigStrategy, appId,
+				() -> watchingBuildConfigStrategy.applyObject(request, appId));
+		return completion;
+	}
+
+	private void rolloutDeployments(Build build, Watch watch,
+			Map<String, OpenShiftDeploymentRequest> group,
+			CompletableFuture<Build> completion) {
+		if (completion.isDone()) {
+			return;
+		}
+
+		String phase = build.getStatus().getPhase();
+		try {
+			if (phase.equals("Complete")) {
+				getDeployerMetrics().recordBuild(build);
+				logger.info(
+						String.format("Build complete: '%s'", build.getMetadata().getName()));
+
+				deployLatest(group);
+				getDeployerMetrics().recordRollout(build);
+				watch.close();
+				completion.complete(build);
+			}
+			else if (FAILED_BUILD_PHASES.contains(phase)) {
+				getDeployerMetrics().recordBuild(build);
+				watch.close();
+				completion.completeExceptionally(new IllegalStateException(String.format(
+						"Build '%s' of apps %s ended with phase '%s'",
+						build.getMetadata().getName(), group.keySet(), phase)));
+			}
+		}
+		catch (RuntimeException e) {
+			watch.close();
+			completion.completeExceptionally(e);
+		}
+	}
+
+	/**
+	 * Roll out the latest deployment of all DeploymentConfigs of the apps.
+	 */
+	private void deployLatest(Map<String, OpenShiftDeploymentRequest> apps) {
+		ApiCallContext.operation("deploy",
+				() -> apps.forEach((appId, request) -> withIndexedDeployment(appId,
+						request, (id, deploymentRequest) -> deployLatest(id))));
+	}
+
+	protected void deployLatest(String deploymentConfigName) {
+		logger.info(String.format("Rolling out latest deployment of '%s'",
+				deploymentConfigName));
+		getClient().deploymentConfigs().withName(deploymentConfigName).deployLatest();
+	}
+
+	/**
+	 * Apps can share a Build if they are built from the same artifact into the same
+	 * image.
+	 */
+	private String buildKey(String hash, OpenShiftDeploymentRequest request) {
+		return String.join("|", hash,
+				String.valueOf(request.getDockerfile()),
+				request.getS2iBuildImage(openShiftDeployerProperties.getDefaultS2iImage()),
+				request.getImageTag(openShiftDeployerProperties.getDefaultImageTag()),
+				request.getImageNamespace(
+						openShiftDeployerProperties.getDefaultImageNamespace()),
+				String.valueOf(request.getForceBuild()));
+	}
+
+	private long buildNumber(Build build) {
+		Map<String, String> annotations = build.getMetadata().getAnnotations();
+		String buildNumber = (annotations != null)
+				? annotations.get("openshift.io/build.number") : null;
+		return NumberUtils.toLong(buildNumber, Long.MAX_VALUE);
+	}
+
 	@Override
 	protected DeploymentConfigFactory getDeploymentConfigFactory(
 			AppDeploymentRequest request, Map<String, String> labels,
 			Container container) {
 		return new DeploymentConfigWithImageChangeTriggerWithIndexSuppportFactory(
-				getClient(), openShiftDeployerProperties, container, labels,
+				getClient(), getObjectCache(), openShiftDeployerProperties, container,
+				labels,
 				getResourceRequirements(request), getImagePullPolicy(request));
 	}
 
 	protected boolean buildExists(AppDeploymentRequest request, String appId,
 			MavenResource mavenResource) {
+		return buildExists(request, appId,
+				resourceHash.hashResource(mavenResource, appId));
+	}
+
+	/**
+	 * @param hash the hash of the app's resource, see {@link ResourceHash}
+	 */
+	protected boolean buildExists(AppDeploymentRequest request, String appId,
+			String hash) {
 		boolean buildExists;
 
-		String forceBuild = request.getDeploymentProperties()
-				.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_BUILD_FORCE);
-		if (StringUtils.hasText(forceBuild)) {
-			buildExists = !Boolean.parseBoolean(forceBuild.toLowerCase())
-					|| !openShiftDeployerProperties.isForceBuild();
+		Boolean forceBuild = OpenShiftDeploymentRequest.of(request).getForceBuild();
+		if (forceBuild != null) {
+			buildExists = !forceBuild || !openShiftDeployerProperties.isForceBuild();
 		}
 		else {
-			buildExists = getClient().builds().withLabelIn(SPRING_APP_KEY, appId).list()
-					.getItems().stream()
+			buildExists = getObjectLister().builds(appId)
 					.filter(build -> !build.getStatus().getPhase().equals("Failed")
 							&& build.getSpec().getStrategy().getDockerStrategy() != null)
-					.flatMap(build -> build.getSpec().getStrategy().getDockerStrategy()
+					.anyMatch(build -> build.getSpec().getStrategy().getDockerStrategy()
 							.getEnv().stream()
-							.filter(envVar -> envVar.getName().equals(
+							.anyMatch(envVar -> envVar.getName().equals(
 									MavenBuildConfigFactory.SPRING_BUILD_ID_ENV_VAR)
-									&& envVar.getValue().equals(
-											resourceHash.hashResource(mavenResource))))
-					.count() > 0;
+									&& envVar.getValue().equals(hash)));
 		}
 
 		return buildExists;
 	}
 
+	/**
+	 * Cancel the Builds of an app that are still running but build a different artifact
+	 * than the Build about to be started. Otherwise they keep the builder busy and the
+	 * ImageChange trigger would roll out their stale image once they complete.
+	 * @param appId the app Id
+	 * @param buildId the <code>spring_build_id</code> of the Build about to be started
+	 */
+	protected void cancelSupersededBuilds(String appId, String buildId) {
+		List<Build> superseded = getObjectLister().builds(appId)
+				.filter(build -> ACTIVE_BUILD_PHASES.contains(build.getStatus().getPhase())
+						&& !buildId.equals(buildId(build)))
+				.collect(Collectors.toList());
+		for (Build build : superseded) {
+			logger.info("Cancelling Build '{}' of app '{}', superseded by a new Build",
+					build.getMetadata().getName(), appId);
+			try {
+				getClient().builds().withName(build.getMetadata().getName()).edit()
+						.editStatus().withCancelled(true).endStatus().done();
+				getDeployerMetrics().recordSupersededBuild(build);
+			}
+			catch (KubernetesClientException e) {
+				// e.g. completed in the meantime
+				logger.warn("Could not cancel Build '{}': {}",
+						build.getMetadata().getName(), e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * The <code>spring_build_id</code> a Build was started with, if any. Binary S2I
+	 * Builds are started without it.
+	 */
+	private String buildId(Build build) {
+		BuildStrategy strategy = build.getSpec().getStrategy();
+		List<EnvVar> env = (strategy.getDockerStrategy() != null)
+				? strategy.getDockerStrategy().getEnv()
+				: (strategy.getSourceStrategy() != null)
+						? strategy.getSourceStrategy().getEnv() : null;
+		if (env == null) {
+			return null;
+		}
+		return env.stream()
+				.filter(envVar -> envVar.getName()
+						.equals(MavenBuildConfigFactory.SPRING_BUILD_ID_ENV_VAR))
+				.map(EnvVar::getValue).findFirst().orElse(null);
+	}
+
 	protected void rolloutDeployment(Build build, Watch watch, String appId,
 			AppDeploymentRequest request) {
+		if (build.getStatus().getCompletionTimestamp() != null) {
+			getDeployerMetrics().recordBuild(build);
+		}
+
 		if (build.getStatus().getPhase().equals("Complete")) {
 			logger.info(
 					String.format("Build complete: '%s'", build.getMetadata().getName()));
@@ -143,6 +460,15 @@ public class MavenOpenShiftAppDeployer extends OpenShiftAppDeployer {
 				logger.info(String.format("Rolling out latest deployment of '%s'", id));
 				getClient().deploymentConfigs().withName(id).deployLatest();
 			});
+			getDeployerMetrics().recordRollout(build);
+
+			watch.close();
+		}
+		else if (FAILED_BUILD_PHASES.contains(build.getStatus().getPhase())) {
+			// the app's status is failed from now on, nothing is rolled out
+			logger.warn("Build '{}' of app '{}' ended with phase '{}': {}",
+					build.getMetadata().getName(), appId, build.getStatus().getPhase(),
+					build.getStatus().getMessage());
 
 			watch.close();
 		}
@@ -4,7 +4,6 @@ import com.google.common.collect.ImmutableMap;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.openshift.api.model.Build;
-import io.fabric8.openshift.client.DefaultOpenShiftClient;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.cloud.deployer.resource.docker.DockerResource;
 import org.springframework.cloud.deployer.resource.maven.MavenProperties;
@@ -17,6 +16,7 @@ import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerPropert
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentPropertyKeys;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftTaskLauncher;
 import org.springframework.cloud.deployer.spi.openshift.ResourceHash;
+import org.springframework.cloud.deployer.spi.openshift.client.PagedObjectLister;
 import org.springframework.cloud.deployer.spi.openshift.resources.ObjectFactory;
 import org.springframework.cloud.deployer.spi.openshift.resources.buildConfig.BuildConfigStrategy;
 import org.springframework.cloud.deployer.spi.openshift.resources.buildConfig.BuildStrategies;
@@ -40,6 +40,8 @@ public class MavenOpenShiftTaskLauncher extends OpenShiftTaskLauncher {
 
 	private final ContainerFactory containerFactory;
 
+	private final PagedObjectLister objectLister;
+
 	public MavenOpenShiftTaskLauncher(KubernetesDeployerProperties properties,
 			OpenShiftDeployerProperties openShiftDeployerProperties,
 			MavenProperties mavenProperties, KubernetesClient client,
@@ -51,6 +53,8 @@ public class MavenOpenShiftTaskLauncher extends OpenShiftTaskLauncher {
 		this.mavenProperties = mavenProperties;
 		this.resourceHash = resourceHash;
 		this.containerFactory = containerFactory;
+		this.objectLister = new PagedObjectLister(getClient(),
+				openShiftDeployerProperties.getListPageSize());
 	}
 
 	@Override
@@ -106,16 +110,14 @@ public class MavenOpenShiftTaskLauncher extends OpenShiftTaskLauncher {
 					|| !openShiftDeployerProperties.isForceBuild();
 		}
 		else {
-			buildExists = getClient().builds().withLabelIn(SPRING_APP_KEY, appId).list()
-					.getItems().stream()
+			String hash = resourceHash.hashResource(mavenResource, appId);
+			buildExists = objectLister.builds(appId)
 					.filter(build -> !build.getStatus().getPhase().equals("Failed"))
-					.flatMap(build -> build.getSpec().getStrategy().getDockerStrategy()
+					.anyMatch(build -> build.getSpec().getStrategy().getDockerStrategy()
 							.getEnv().stream()
-							.filter(envVar -> envVar.getName().equals(
+							.anyMatch(envVar -> envVar.getName().equals(
 									MavenBuildConfigFactory.SPRING_BUILD_ID_ENV_VAR)
-									&& envVar.getValue().equals(
-											resourceHash.hashResource(mavenResource))))
-					.count() > 0;
+									&& envVar.getValue().equals(hash)));
 		}
 
 		return buildExists;
@@ -133,8 +135,7 @@ public class MavenOpenShiftTaskLauncher extends OpenShiftTaskLauncher {
 					request.getDefinition(), dockerResource,
 					request.getDeploymentProperties(), request.getCommandlineArguments());
 
-			new KubernetesTaskLauncher(getProperties(),
-					new DefaultOpenShiftClient().inNamespace(getClient().getNamespace()),
+			new KubernetesTaskLauncher(getProperties(), getClient(),
 					containerFactory) {
 
 				/**
@@ -0,0 +1,98 @@
+package org.springframework.cloud.deployer.spi.openshift.resources;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Retries an optimistic concurrency write when it fails with a conflict (HTTP 409).
+ * Every attempt runs the complete operation again, so the operation is expected to
+ * re-read the object and reapply its mutation. Between attempts the thread backs off
+ * exponentially, with jitter so that concurrent deploys do not retry in lock step.
+ */
+public class ConflictRetry {
+
+	private static final Logger logger = LoggerFactory.getLogger(ConflictRetry.class);
+
+	public static final String RETRIES_METER = "openshift.deployer.conflict.retries";
+
+	private final int maxAttempts;
+
+	private final long initialBackoff;
+
+	private final long maxBackoff;
+
+	private final MeterRegistry meterRegistry;
+
+	public ConflictRetry() {
+		this(5, 100, 2000, Metrics.globalRegistry);
+	}
+
+	/**
+	 * @param maxAttempts the maximum number of attempts, including the first
+	 * @param initialBackoff the backoff in milliseconds after the first conflict
+	 * @param maxBackoff the upper bound of the backoff in milliseconds
+	 * @param meterRegistry where the retries per object kind are counted
+	 */
+	public ConflictRetry(int maxAttempts, long initialBackoff, long maxBackoff,
+			MeterRegistry meterRegistry) {
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.initialBackoff = Math.max(1, initialBackoff);
+		this.maxBackoff = Math.max(this.initialBackoff, maxBackoff);
+		this.meterRegistry = meterRegistry;
+	}
+
+	public <T> T execute(Class<?> kind, String name, Supplier<T> operation) {
+		return execute(kind, name, operation, () -> {
+		});
+	}
+
+	/**
+	 * Execute the operation, retrying on conflicts.
+	 * @param kind the kind of object written, used to tag the retry count
+	 * @param name the name of the object written
+	 * @param operation the read-modify-write operation
+	 * @param onConflict called after each conflict, before backing off
+	 * @return the result of the first successful attempt
+	 */
+	public <T> T execute(Class<?> kind, String name, Supplier<T> operation,
+			Runnable onConflict) {
+		long backoff = initialBackoff;
+		for (int attempt = 1;; attempt++) {
+			try {
+				return operation.get();
+			}
+			catch (KubernetesClientException e) {
+				if (e.getCode() != HttpURLConnection.HTTP_CONFLICT
+						|| attempt >= maxAttempts) {
+					throw e;
+				}
+
+				onConflict.run();
+				meterRegistry.counter(RETRIES_METER, "kind", kind.getSimpleName())
+						.increment();
+
+				long delay = ThreadLocalRandom.current().nextLong(backoff / 2,
+						backoff + 1);
+				logger.debug("Conflict writing {} '{}' (attempt {}), retrying in {}ms",
+						kind.getSimpleName(), name, attempt, delay);
+				try {
+					Thread.sleep(delay);
+				}
+				catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					throw e;
+				}
+				backoff = Math.min(backoff * 2, maxBackoff);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,334 @@
+package org.springframework.cloud.deployer.spi.openshift.resources;
+
+import java.io.Closeable;
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Span;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Type;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.dsl.Replaceable;
+import io.fabric8.openshift.api.model.BuildConfig;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.ImageStream;
+import io.fabric8.openshift.api.model.Route;
+import io.fabric8.openshift.client.OpenShiftClient;
+
+/**
+ * A namespace scoped cache of the objects managed by the deployer. The cache is kept up
+ * to date by watching the objects labeled with <code>spring-app-id</code> (once
+ * {@link #start()} is called) and by the factories putting the results of their own
+ * writes. Until the watch for a kind has listed the existing objects, lookups for that
+ * kind fall back to the server.
+ *
+ * A watch that is closed with an error, e.g. because the server expired its resource
+ * version, is re-established after a delay and the kind is listed again. Until then,
+ * lookups for that kind fall back to the server.
+ *
+ * Replacing an object is conditional on the <code>resourceVersion</code> of the cached
+ * object, so a stale entry results in a conflict instead of overwriting a newer version
+ * of the object.
+ */
+public class OpenShiftObjectCache implements Closeable {
+
+	private static final Logger logger = LoggerFactory
+			.getLogger(OpenShiftObjectCache.class);
+
+	/**
+	 * See
+	 * {@link org.springframework.cloud.deployer.spi.kubernetes.AbstractKubernetesDeployer#SPRING_APP_KEY}
+	 */
+	private static final String SPRING_APP_KEY = "spring-app-id";
+
+	private final OpenShiftClient client;
+
+	private final ConflictRetry conflictRetry;
+
+	private final Map<Class<?>, Map<String, HasMetadata>> objects = new ConcurrentHashMap<>();
+
+	private final Map<Class<?>, Set<String>> stale = new ConcurrentHashMap<>();
+
+	private final Set<Class<?>> synced = ConcurrentHashMap.newKeySet();
+
+	private final List<Watch> watches = new CopyOnWriteArrayList<>();
+
+	private final long reconnectDelay;
+
+	private ScheduledExecutorService reconnects;
+
+	private volatile boolean closed;
+
+	public OpenShiftObjectCache(OpenShiftClient client) {
+		this(client, new ConflictRetry());
+	}
+
+	public OpenShiftObjectCache(OpenShiftClient client, ConflictRetry conflictRetry) {
+		this(client, conflictRetry, 5000);
+	}
+
+	/**
+	 * @param reconnectDelay the time in milliseconds before a failed watch is
+	 * re-established
+	 */
+	public OpenShiftObjectCache(OpenShiftClient client, ConflictRetry conflictRetry,
+			long reconnectDelay) {
+		this.client = client;
+		this.conflictRetry = conflictRetry;
+		this.reconnectDelay = reconnectDelay;
+	}
+
+	/**
+	 * Start watching the deployer managed objects in the client's namespace.
+	 */
+	public void start() {
+		closed = false;
+		//@formatter:off
+		watch(Route.class,
+			() -> client.routes().withLabel(SPRING_APP_KEY).list().getItems(),
+			watcher -> client.routes().withLabel(SPRING_APP_KEY).watch(watcher));
+		watch(Service.class,
+			() -> client.services().withLabel(SPRING_APP_KEY).list().getItems(),
+			watcher -> client.services().withLabel(SPRING_APP_KEY).watch(watcher));
+		watch(DeploymentConfig.class,
+			() -> client.deploymentConfigs().withLabel(SPRING_APP_KEY).list().getItems(),
+			watcher -> client.deploymentConfigs().withLabel(SPRING_APP_KEY).watch(watcher));
+		watch(BuildConfig.class,
+			() -> client.buildConfigs().withLabel(SPRING_APP_KEY).list().getItems(),
+			watcher -> client.buildConfigs().withLabel(SPRING_APP_KEY).watch(watcher));
+		// ImageStreams are created without labels, see ImageStreamFactory
+		watch(ImageStream.class,
+			() -> client.imageStreams().list().getItems(),
+			watcher -> client.imageStreams().watch(watcher));
+		//@formatter:on
+	}
+
+	@Override
+	public synchronized void close() {
+		closed = true;
+		if (reconnects != null) {
+			reconnects.shutdownNow();
+			reconnects = null;
+		}
+		watches.forEach(Watch::close);
+		watches.clear();
+		synced.clear();
+	}
+
+	/**
+	 * Get an object from the cache. If the object is not cached and the kind is not (yet)
+	 * watched, the object is loaded with the provided loader and cached.
+	 * @param kind the type of the object
+	 * @param name the name of the object
+	 * @param loader used to get the object from the server on a cache miss
+	 * @return the cached object, if it exists
+	 */
+	public <T extends HasMetadata> Optional<T> get(Class<T> kind, String name,
+			Supplier<T> loader) {
+		HasMetadata cached = objectsOf(kind).get(name);
+		if (cached != null) {
+			return Optional.of(kind.cast(cached));
+		}
+
+		if (synced.contains(kind) && !staleOf(kind).contains(name)) {
+			return Optional.empty();
+		}
+
+		return Optional.ofNullable(loader.get()).map(this::put);
+	}
+
+	/**
+	 * Check whether any object of a kind is labeled with the provided app Id. Once the
+	 * kind is watched, only the cache is checked. Otherwise the labeled objects are
+	 * loaded with the provided loader and cached.
+	 * @param kind the type of the objects
+	 * @param appId the value of the <code>spring-app-id</code> label
+	 * @param loader lists the labeled objects from the server
+	 * @return whether an object labeled with the app Id exists
+	 */
+	public <T extends HasMetadata> boolean contains(Class<T> kind, String appId,
+			Supplier<List<T>> loader) {
+		if (synced.contains(kind) && staleOf(kind).isEmpty()) {
+			return objectsOf(kind).values().stream()
+					.anyMatch(object -> object.getMetadata().getLabels() != null
+							&& appId.equals(
+									object.getMetadata().getLabels().get(SPRING_APP_KEY)));
+		}
+
+		List<T> loaded = loader.get();
+		loaded.forEach(this::put);
+		return !loaded.isEmpty();
+	}
+
+	/**
+	 * Put the result of a write into the cache.
+	 * @param object the object as returned by the server
+	 * @return the same object
+	 */
+	public <T extends HasMetadata> T put(T object) {
+		if (object != null && object.getMetadata() != null) {
+			objectsOf(object.getClass()).put(object.getMetadata().getName(), object);
+			staleOf(object.getClass()).remove(object.getMetadata().getName());
+		}
+
+		return object;
+	}
+
+	public void evict(Class<?> kind, String name) {
+		objectsOf(kind).remove(name);
+	}
+
+	/**
+	 * Run a read-modify-write operation, retrying it when it fails with a conflict. After a
+	 * conflict the object is evicted and the next read goes to the server, including
+	 * when the cache considered the object to not exist, i.e. when a create conflicts.
+	 * @param kind the type of the object
+	 * @param name the name of the object
+	 * @param operation reads the object from this cache, then writes it
+	 * @return the result of the operation
+	 */
+	public <T> T retryOnConflict(Class<? extends HasMetadata> kind, String name,
+			Supplier<T> operation) {
+		return conflictRetry.execute(kind, name, operation, () -> {
+			evict(kind, name);
+			staleOf(kind).add(name);
+		});
+	}
+
+	/**
+	 * Evict all objects labeled with the provided app Id. Used when the objects of an app
+	 * are deleted, so that an unwatched cache does not keep stale entries.
+	 * @param appId the value of the <code>spring-app-id</code> label
+	 */
+	public void evictApp(String appId) {
+		objects.values().forEach(cached -> cached.values()
+				.removeIf(object -> object.getMetadata().getLabels() != null && appId
+						.equals(object.getMetadata().getLabels().get(SPRING_APP_KEY))));
+	}
+
+	/**
+	 * Replace an existing object, conditional on the <code>resourceVersion</code> of the
+	 * existing (cached) object still being current. If the object was modified in the
+	 * meantime, the stale entry is evicted and the conflict is rethrown.
+	 * @param existing the existing object, usually from the cache
+	 * @param object the replacement object
+	 * @param operation the replace operation, locked to the provided resourceVersion
+	 * @return the replaced object
+	 */
+	public <T extends HasMetadata> T replace(T existing, T object,
+			Function<String, Replaceable<T, T>> operation) {
+		try {
+			return put(operation.apply(existing.getMetadata().getResourceVersion())
+					.replace(object));
+		}
+		catch (KubernetesClientException e) {
+			if (e.getCode() == HttpURLConnection.HTTP_CONFLICT
+					|| e.getCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+				logger.debug("Cached {} '{}' is stale, evicting",
+						existing.getClass().getSimpleName(),
+						existing.getMetadata().getName());
+				evict(existing.getClass(), existing.getMetadata().getName());
+			}
+			throw e;
+		}
+	}
+
+	private <T extends HasMetadata> void watch(Class<T> kind,
+			Supplier<List<T>> lister, Function<Watcher<T>, Watch> watcher) {
+		if (closed) {
+			return;
+		}
+
+		AtomicReference<Watch> watch = new AtomicReference<>();
+		try {
+			watch.set(watcher.apply(new Watcher<T>() {
+
+				@Override
+				public void eventReceived(Action action, T resource) {
+					Map<String, String> labels = resource.getMetadata().getLabels();
+					Span event = DeployerEvents.begin(Type.WATCH_CALLBACK,
+							(labels != null) ? labels.get(SPRING_APP_KEY) : null,
+							kind.getSimpleName());
+					if (action == Action.DELETED) {
+						evict(kind, resource.getMetadata().getName());
+					}
+					else if (action == Action.ADDED || action == Action.MODIFIED) {
+						put(resource);
+					}
+					event.commit();
+				}
+
+				@Override
+				public void onClose(KubernetesClientException cause) {
+					if (cause != null) {
+						logger.warn("Watch for {} closed, falling back to the server "
+								+ "and re-watching in {}ms", kind.getSimpleName(),
+								reconnectDelay, cause);
+						synced.remove(kind);
+						objectsOf(kind).clear();
+						watches.remove(watch.get());
+						reconnect(() -> watch(kind, lister, watcher));
+					}
+				}
+			}));
+			watches.add(watch.get());
+
+			// the watch is established first so that no events are missed while listing,
+			// listed objects must not replace newer versions received from the watch
+			Map<String, HasMetadata> cached = objectsOf(kind);
+			lister.get().forEach(object -> cached
+					.putIfAbsent(object.getMetadata().getName(), object));
+			synced.add(kind);
+		}
+		catch (KubernetesClientException e) {
+			logger.warn("Could not watch {}, falling back to the server and retrying in "
+					+ "{}ms", kind.getSimpleName(), reconnectDelay, e);
+			if (watch.get() != null) {
+				watches.remove(watch.get());
+				watch.get().close();
+			}
+			reconnect(() -> watch(kind, lister, watcher));
+		}
+	}
+
+	private synchronized void reconnect(Runnable watch) {
+		if (closed) {
+			return;
+		}
+		if (reconnects == null) {
+			reconnects = Executors.newSingleThreadScheduledExecutor(task -> {
+				Thread thread = new Thread(task, "openshift-object-cache");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		reconnects.schedule(watch, reconnectDelay, TimeUnit.MILLISECONDS);
+	}
+
+	private Map<String, HasMetadata> objectsOf(Class<?> kind) {
+		return objects.computeIfAbsent(kind, key -> new ConcurrentHashMap<>());
+	}
+
+	private Set<String> staleOf(Class<?> kind) {
+		return stale.computeIfAbsent(kind, key -> ConcurrentHashMap.newKeySet());
+	}
+
+}
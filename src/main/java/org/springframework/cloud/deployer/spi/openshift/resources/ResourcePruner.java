@@ -0,0 +1,197 @@
+package org.springframework.cloud.deployer.spi.openshift.resources;
+
+import java.io.Closeable;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties.Pruning;
+import org.springframework.cloud.deployer.spi.openshift.client.ApiCallContext;
+import org.springframework.cloud.deployer.spi.openshift.client.PagedObjectLister;
+
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.ObjectReference;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.DeploymentTriggerImageChangeParams;
+import io.fabric8.openshift.api.model.DeploymentTriggerPolicy;
+import io.fabric8.openshift.api.model.ImageStream;
+import io.fabric8.openshift.api.model.NamedTagEventList;
+import io.fabric8.openshift.api.model.TagEvent;
+import io.fabric8.openshift.client.OpenShiftClient;
+
+/**
+ * Prunes what the history limits of BuildConfigs and DeploymentConfigs don't cover. An
+ * undeploy keeps the BuildConfig and Builds of an app, so that a redeploy can reuse the
+ * last Build. Once an app has no DeploymentConfig and its Builds are older than the
+ * configured retention, the Builds are deleted. Of the tags of the apps' ImageStreams,
+ * the most recently updated tags, the default image tag and the tags an image change
+ * trigger of a DeploymentConfig refers to are kept.
+ *
+ * Once {@link #start()} is called, pruning runs in the background at the configured
+ * interval, if enabled.
+ */
+public class ResourcePruner implements Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(ResourcePruner.class);
+
+	/**
+	 * See
+	 * {@link org.springframework.cloud.deployer.spi.kubernetes.AbstractKubernetesDeployer#SPRING_APP_KEY}
+	 */
+	private static final String SPRING_APP_KEY = "spring-app-id";
+
+	private final OpenShiftClient client;
+
+	private final PagedObjectLister objectLister;
+
+	private final Pruning pruning;
+
+	private final String defaultImageTag;
+
+	private ScheduledExecutorService scheduler;
+
+	public ResourcePruner(OpenShiftClient client,
+			OpenShiftDeployerProperties properties) {
+		this.client = client;
+		this.objectLister = new PagedObjectLister(client, properties.getListPageSize());
+		this.pruning = properties.getPruning();
+		this.defaultImageTag = properties.getDefaultImageTag();
+	}
+
+	/**
+	 * Start pruning in the background, if enabled.
+	 */
+	public void start() {
+		if (!pruning.isEnabled()) {
+			return;
+		}
+
+		scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+			Thread thread = new Thread(task, "openshift-pruner");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(() -> {
+			try {
+				prune();
+			}
+			catch (RuntimeException e) {
+				logger.warn("Pruning failed, retrying in {}ms", pruning.getInterval(), e);
+			}
+		}, pruning.getInterval(), pruning.getInterval(), TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void close() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+
+	/**
+	 * Prune the Builds of undeployed apps and old ImageStream tags once.
+	 */
+	public void prune() {
+		ApiCallContext.operation("prune", () -> {
+			List<DeploymentConfig> deploymentConfigs = objectLister.deploymentConfigs()
+					.collect(Collectors.toList());
+			pruneBuilds(deploymentConfigs);
+			pruneImageTags(deploymentConfigs);
+		});
+	}
+
+	private void pruneBuilds(List<DeploymentConfig> deploymentConfigs) {
+		Set<String> deployed = deploymentConfigs.stream()
+				.map(deploymentConfig -> deploymentConfig.getMetadata().getLabels()
+						.get(SPRING_APP_KEY))
+				.collect(Collectors.toSet());
+		Instant expired = Instant.now().minusMillis(pruning.getBuildRetention());
+
+		List<ObjectMeta> orphaned = objectLister.buildMetadata()
+				.filter(build -> !deployed.contains(build.getLabels().get(SPRING_APP_KEY))
+						&& build.getCreationTimestamp() != null
+						&& Instant.parse(build.getCreationTimestamp()).isBefore(expired))
+				.collect(Collectors.toList());
+		for (ObjectMeta build : orphaned) {
+			logger.info("Pruning Build '{}' of undeployed app '{}'", build.getName(),
+					build.getLabels().get(SPRING_APP_KEY));
+			delete(() -> client.builds().withName(build.getName()).delete());
+		}
+	}
+
+	private void pruneImageTags(List<DeploymentConfig> deploymentConfigs) {
+		// ImageStreams are created without labels and named after their BuildConfig
+		Set<String> built = objectLister.buildConfigMetadata().map(ObjectMeta::getName)
+				.collect(Collectors.toSet());
+		Set<String> referenced = referencedImageTags(deploymentConfigs);
+
+		objectLister.imageStreams()
+				.filter(imageStream -> built.contains(imageStream.getMetadata().getName())
+						&& imageStream.getStatus() != null
+						&& imageStream.getStatus().getTags() != null)
+				.forEach(imageStream -> pruneImageTags(imageStream, referenced));
+	}
+
+	private void pruneImageTags(ImageStream imageStream, Set<String> referenced) {
+		String name = imageStream.getMetadata().getName();
+		imageStream.getStatus().getTags().stream()
+				.filter(tag -> !tag.getTag().equals(defaultImageTag)
+						&& !referenced.contains(name + ":" + tag.getTag()))
+				.sorted(Comparator.comparing(ResourcePruner::lastUpdated).reversed())
+				.skip(pruning.getImageTagsHistoryLimit()).forEach(tag -> {
+					logger.info("Pruning ImageStream tag '{}:{}'", name, tag.getTag());
+					delete(() -> client.imageStreamTags()
+							.withName(name + ":" + tag.getTag()).delete());
+				});
+	}
+
+	/**
+	 * The ImageStream tags, as <code>name:tag</code>, the image change triggers of the
+	 * DeploymentConfigs roll out. A DeploymentConfig may still roll out an older tag,
+	 * e.g. if its image tag is pinned, so these are never pruned.
+	 */
+	private Set<String> referencedImageTags(List<DeploymentConfig> deploymentConfigs) {
+		return deploymentConfigs.stream()
+				.filter(deploymentConfig -> deploymentConfig.getSpec() != null
+						&& deploymentConfig.getSpec().getTriggers() != null)
+				.map(deploymentConfig -> deploymentConfig.getSpec().getTriggers())
+				.flatMap(Collection::stream)
+				.map(DeploymentTriggerPolicy::getImageChangeParams)
+				.filter(Objects::nonNull).map(DeploymentTriggerImageChangeParams::getFrom)
+				.filter(from -> from != null && "ImageStreamTag".equals(from.getKind()))
+				.map(ObjectReference::getName).collect(Collectors.toSet());
+	}
+
+	/**
+	 * Tags are kept in order of their most recent image, the timestamps are RFC 3339
+	 * timestamps in UTC and so order lexicographically.
+	 */
+	private static String lastUpdated(NamedTagEventList tag) {
+		return tag.getItems().stream().map(TagEvent::getCreated).filter(Objects::nonNull)
+				.max(Comparator.naturalOrder()).orElse("");
+	}
+
+	/**
+	 * A failed delete, e.g. of an object deleted in the meantime, doesn't stop pruning.
+	 */
+	private void delete(Runnable delete) {
+		try {
+			delete.run();
+		}
+		catch (KubernetesClientException e) {
+			logger.warn("Could not prune: {}", e.getMessage());
+		}
+	}
+
+}
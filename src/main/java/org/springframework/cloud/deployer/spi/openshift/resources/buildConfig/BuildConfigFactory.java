@@ -6,6 +6,7 @@ import io.fabric8.openshift.api.model.BuildConfigBuilder;
 import io.fabric8.openshift.api.model.BuildRequest;
 import io.fabric8.openshift.api.model.BuildTriggerPolicyBuilder;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftSupport;
 
 import java.util.Map;
@@ -16,6 +17,24 @@ public abstract class BuildConfigFactory implements OpenShiftSupport {
 
 	public static String SPRING_BUILD_APP_NAME_ENV_VAR = "app_name";
 
+	private Integer successfulBuildsHistoryLimit;
+
+	private Integer failedBuildsHistoryLimit;
+
+	/**
+	 * Keeps Builds according to the OpenShift defaults.
+	 */
+	protected BuildConfigFactory() {
+	}
+
+	/**
+	 * Limits the Builds kept per BuildConfig to the configured history limits.
+	 */
+	protected BuildConfigFactory(OpenShiftDeployerProperties properties) {
+		this.successfulBuildsHistoryLimit = properties.getSuccessfulBuildsHistoryLimit();
+		this.failedBuildsHistoryLimit = properties.getFailedBuildsHistoryLimit();
+	}
+
 	protected BuildConfig buildBuildConfig(AppDeploymentRequest request, String appId,
 			Map<String, String> labels) {
 		//@formatter:off
@@ -31,6 +50,8 @@ public abstract class BuildConfigFactory implements OpenShiftSupport {
                             .endImageChange()
                             .build()
                 ))
+                .withSuccessfulBuildsHistoryLimit(successfulBuildsHistoryLimit)
+                .withFailedBuildsHistoryLimit(failedBuildsHistoryLimit)
             .endSpec()
             .build();
         //@formatter:on
@@ -5,6 +5,7 @@ import java.util.Optional;
 
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.openshift.resources.ObjectFactory;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 
 import io.fabric8.openshift.api.model.BuildConfig;
 import io.fabric8.openshift.client.OpenShiftClient;
@@ -13,14 +14,23 @@ public abstract class BuildConfigStrategy implements ObjectFactory<BuildConfig>
 
 	private OpenShiftClient client;
 
+	private OpenShiftObjectCache objectCache;
+
 	private BuildConfigFactory buildConfigFactory;
 
 	private Map<String, String> labels;
 
 	protected BuildConfigStrategy(BuildConfigFactory buildConfigFactory,
 			OpenShiftClient client, Map<String, String> labels) {
+		this(buildConfigFactory, client, new OpenShiftObjectCache(client), labels);
+	}
+
+	protected BuildConfigStrategy(BuildConfigFactory buildConfigFactory,
+			OpenShiftClient client, OpenShiftObjectCache objectCache,
+			Map<String, String> labels) {
 		this.buildConfigFactory = buildConfigFactory;
 		this.client = client;
+		this.objectCache = objectCache;
 		this.labels = labels;
 	}
 
@@ -28,23 +38,23 @@ public abstract class BuildConfigStrategy implements ObjectFactory<BuildConfig>
 	public BuildConfig addObject(AppDeploymentRequest request, String appId) {
 		BuildConfig buildConfig = buildBuildConfig(request, appId, labels);
 
-		// TODO test this!
-		// if (getExisting(appId).isPresent()) {
 		/**
-		 * Replacing a BuildConfig doesn't currently work because of "already modified"
-		 * issues. Need to investigate if there is a clean way around it. For now, delete
-		 * and recreate...
+		 * Replacing a BuildConfig can fail with "already modified" conflicts, because
+		 * OpenShift updates the BuildConfig when Builds are started. The replace is
+		 * conditional on the resourceVersion of the existing BuildConfig and on a conflict
+		 * the existing BuildConfig is re-read and the replace retried.
 		 */
-		buildConfig = client.buildConfigs().createOrReplace(buildConfig);
-		// client.buildConfigs().withName(appId).delete();
-		// client.builds().withLabelIn("spring-app-id", appId).delete();
-		// buildConfig = client.buildConfigs().create(buildConfig);
-		// }
-		// else {
-		// buildConfig = client.buildConfigs().create(buildConfig);
-		// }
-
-		return buildConfig;
+		return objectCache.retryOnConflict(BuildConfig.class, appId, () -> {
+			Optional<BuildConfig> existing = getExisting(appId);
+			if (existing.isPresent()) {
+				return objectCache.replace(existing.get(), buildConfig,
+						resourceVersion -> client.buildConfigs().withName(appId)
+								.lockResourceVersion(resourceVersion));
+			}
+			else {
+				return objectCache.put(client.buildConfigs().create(buildConfig));
+			}
+		});
 	}
 
 	@Override
@@ -58,12 +68,10 @@ public abstract class BuildConfigStrategy implements ObjectFactory<BuildConfig>
 
 	protected Optional<BuildConfig> getExisting(String name) {
 		//@formatter:off
-		BuildConfig value = client.buildConfigs()
+		return objectCache.get(BuildConfig.class, name, () -> client.buildConfigs()
                 .withName(name)
                 .fromServer()
-                .get();
-
-		return Optional.ofNullable(value);
+                .get());
 		//@formatter:on
 	}
 
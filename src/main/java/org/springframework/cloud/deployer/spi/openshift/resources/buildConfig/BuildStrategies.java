@@ -1,18 +1,21 @@
 package org.springframework.cloud.deployer.spi.openshift.resources.buildConfig;
 
 import io.fabric8.openshift.client.OpenShiftClient;
+import io.micrometer.core.instrument.Tags;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.deployer.resource.maven.MavenProperties;
 import org.springframework.cloud.deployer.resource.maven.MavenResource;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.openshift.DeployerMetrics;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftApplicationPropertyKeys;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
-import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentPropertyKeys;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentRequest;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftMavenDeploymentRequest;
 import org.springframework.cloud.deployer.spi.openshift.ResourceHash;
 import org.springframework.cloud.deployer.spi.openshift.maven.GitReference;
 import org.springframework.cloud.deployer.spi.openshift.maven.MavenResourceJarExtractor;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 import org.springframework.core.io.Resource;
 
 import java.io.IOException;
@@ -34,30 +37,65 @@ public class BuildStrategies {
 
 	private OpenShiftClient client;
 
+	private OpenShiftObjectCache objectCache;
+
+	private DeployerMetrics deployerMetrics;
+
 	public BuildStrategies(MavenProperties mavenProperties,
 			OpenShiftDeployerProperties deployerProperties,
 			MavenResourceJarExtractor mavenResourceJarExtractor,
 			ResourceHash resourceHash, OpenShiftClient client) {
+		this(mavenProperties, deployerProperties, mavenResourceJarExtractor,
+				resourceHash, client, new OpenShiftObjectCache(client));
+	}
+
+	public BuildStrategies(MavenProperties mavenProperties,
+			OpenShiftDeployerProperties deployerProperties,
+			MavenResourceJarExtractor mavenResourceJarExtractor,
+			ResourceHash resourceHash, OpenShiftClient client,
+			OpenShiftObjectCache objectCache) {
+		this(mavenProperties, deployerProperties, mavenResourceJarExtractor,
+				resourceHash, client, objectCache, new DeployerMetrics());
+	}
+
+	public BuildStrategies(MavenProperties mavenProperties,
+			OpenShiftDeployerProperties deployerProperties,
+			MavenResourceJarExtractor mavenResourceJarExtractor,
+			ResourceHash resourceHash, OpenShiftClient client,
+			OpenShiftObjectCache objectCache, DeployerMetrics deployerMetrics) {
 		this.mavenProperties = mavenProperties;
 		this.deployerProperties = deployerProperties;
 		this.mavenResourceJarExtractor = mavenResourceJarExtractor;
 		this.resourceHash = resourceHash;
 		this.client = client;
+		this.objectCache = objectCache;
+		this.deployerMetrics = deployerMetrics;
 	}
 
 	public BuildConfigStrategy chooseBuildStrategy(AppDeploymentRequest request,
 			Map<String, String> labels, MavenResource mavenResource) {
+		return deployerMetrics.time(DeployerMetrics.PHASE_METER,
+				Tags.of("phase", "strategy-selection"),
+				strategy -> Tags.of("strategy", strategy.getClass().getSimpleName()),
+				() -> selectBuildStrategy(request, labels, mavenResource));
+	}
+
+	private BuildConfigStrategy selectBuildStrategy(AppDeploymentRequest request,
+			Map<String, String> labels, MavenResource mavenResource) {
 		Map<String, String> applicationProperties = request.getDefinition()
 				.getProperties();
+		OpenShiftMavenDeploymentRequest openShiftRequest = deployerMetrics.timePhase(
+				"pom-extraction",
+				() -> new OpenShiftMavenDeploymentRequest(request, mavenProperties));
 
 		return Stream.of(
 				dockerfileFromProvidedGitRepoBuildConfig(applicationProperties, labels),
-				dockerfileFromRemoteGitRepoBuildConfig(
-						new OpenShiftMavenDeploymentRequest(request, mavenProperties),
-						mavenResource, request, labels),
+				dockerfileFromRemoteGitRepoBuildConfig(openShiftRequest, mavenResource,
+						request, labels),
 				dockerfileBuildConfig(request, labels)).filter(Optional::isPresent)
-				.findFirst().orElse(Optional.of(new S2iBinaryInputBuildConfigStrategy(
-						deployerProperties, client, labels, mavenResource)))
+				.findFirst()
+				.orElse(Optional.of(new S2iBinaryInputBuildConfigStrategy(
+						deployerProperties, client, objectCache, labels, mavenResource)))
 				.get();
 	}
 
@@ -77,7 +115,8 @@ public class BuildStrategies {
 					deployerProperties, resourceHash, mavenProperties);
 			buildConfigFactory = Optional
 					.of(new GitWithDockerBuildConfigStrategy(mavenBuildConfigFactory,
-							gitReference, deployerProperties, client, labels));
+							gitReference, deployerProperties, client, objectCache,
+							labels));
 		}
 
 		return buildConfigFactory;
@@ -109,7 +148,8 @@ public class BuildStrategies {
 						deployerProperties, resourceHash, mavenProperties);
 				buildConfigFactory = Optional
 						.of(new GitWithDockerBuildConfigStrategy(mavenBuildConfigFactory,
-								gitReference, deployerProperties, client, labels));
+								gitReference, deployerProperties, client, objectCache,
+								labels));
 			}
 		}
 		catch (IOException e) {
@@ -123,13 +163,13 @@ public class BuildStrategies {
 			AppDeploymentRequest request, Map<String, String> labels) {
 		Optional<BuildConfigStrategy> buildConfigFactory = Optional.empty();
 
-		if (request.getDeploymentProperties().containsKey(
-				OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_DOCKERFILE)) {
+		if (OpenShiftDeploymentRequest.of(request).getDockerfile() != null) {
 			MavenBuildConfigFactory mavenBuildConfigFactory = new MavenBuildConfigFactory(
 					deployerProperties, resourceHash, mavenProperties);
 			buildConfigFactory = Optional
 					.of(new MavenDockerfileWithDockerBuildConfigStrategy(
-							mavenBuildConfigFactory, deployerProperties, client, labels));
+							mavenBuildConfigFactory, deployerProperties, client,
+							objectCache, labels));
 		}
 
 		return buildConfigFactory;
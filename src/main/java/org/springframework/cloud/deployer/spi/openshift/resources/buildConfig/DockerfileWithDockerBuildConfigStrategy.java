@@ -4,6 +4,8 @@ import java.util.Map;
 
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentRequest;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 
 import io.fabric8.openshift.api.model.BuildConfig;
 import io.fabric8.openshift.api.model.BuildConfigBuilder;
@@ -19,7 +21,15 @@ public abstract class DockerfileWithDockerBuildConfigStrategy
 	public DockerfileWithDockerBuildConfigStrategy(BuildConfigFactory buildConfigFactory,
 			OpenShiftDeployerProperties openShiftDeployerProperties,
 			OpenShiftClient client, Map<String, String> labels) {
-		super(buildConfigFactory, client, labels);
+		this(buildConfigFactory, openShiftDeployerProperties, client,
+				new OpenShiftObjectCache(client), labels);
+	}
+
+	public DockerfileWithDockerBuildConfigStrategy(BuildConfigFactory buildConfigFactory,
+			OpenShiftDeployerProperties openShiftDeployerProperties,
+			OpenShiftClient client, OpenShiftObjectCache objectCache,
+			Map<String, String> labels) {
+		super(buildConfigFactory, client, objectCache, labels);
 		this.buildConfigFactory = buildConfigFactory;
 		this.openShiftDeployerProperties = openShiftDeployerProperties;
 	}
@@ -42,7 +52,8 @@ public abstract class DockerfileWithDockerBuildConfigStrategy
                 .withNewOutput()
                     .withNewTo()
                         .withKind("ImageStreamTag")
-                        .withName(buildConfigFactory.getImageTag(request, openShiftDeployerProperties, appId))
+                        .withName(buildConfigFactory.getImageTag(OpenShiftDeploymentRequest.of(request),
+								openShiftDeployerProperties, appId))
                     .endTo()
                 .endOutput()
             .endSpec()
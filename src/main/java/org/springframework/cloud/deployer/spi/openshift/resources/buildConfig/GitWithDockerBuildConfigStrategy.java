@@ -9,6 +9,7 @@ import org.springframework.cloud.deployer.spi.kubernetes.KubernetesDeployerPrope
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftApplicationPropertyKeys;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftSupport;
 import org.springframework.cloud.deployer.spi.openshift.maven.GitReference;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 import org.springframework.util.StringUtils;
 
 import io.fabric8.openshift.api.model.BuildConfig;
@@ -27,7 +28,15 @@ public class GitWithDockerBuildConfigStrategy extends BuildConfigStrategy
 	public GitWithDockerBuildConfigStrategy(BuildConfigFactory buildConfigFactory,
 			GitReference gitReference, KubernetesDeployerProperties properties,
 			OpenShiftClient client, Map<String, String> labels) {
-		super(buildConfigFactory, client, labels);
+		this(buildConfigFactory, gitReference, properties, client,
+				new OpenShiftObjectCache(client), labels);
+	}
+
+	public GitWithDockerBuildConfigStrategy(BuildConfigFactory buildConfigFactory,
+			GitReference gitReference, KubernetesDeployerProperties properties,
+			OpenShiftClient client, OpenShiftObjectCache objectCache,
+			Map<String, String> labels) {
+		super(buildConfigFactory, client, objectCache, labels);
 		this.buildConfigFactory = buildConfigFactory;
 		this.gitReference = gitReference;
 		this.properties = properties;
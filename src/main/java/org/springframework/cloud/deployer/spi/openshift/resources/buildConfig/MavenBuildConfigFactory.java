@@ -12,6 +12,7 @@ import org.springframework.cloud.deployer.resource.maven.MavenProperties;
 import org.springframework.cloud.deployer.resource.maven.MavenResource;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.kubernetes.KubernetesDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
 import org.springframework.cloud.deployer.spi.openshift.ResourceHash;
 import org.springframework.util.Assert;
 
@@ -48,6 +49,14 @@ public class MavenBuildConfigFactory extends BuildConfigFactory {
 		this.resourceHash = resourceHash;
 	}
 
+	public MavenBuildConfigFactory(OpenShiftDeployerProperties properties,
+			ResourceHash resourceHash, MavenProperties mavenProperties) {
+		super(properties);
+		this.properties = properties;
+		this.mavenProperties = mavenProperties;
+		this.resourceHash = resourceHash;
+	}
+
 	@Override
 	protected BuildRequest buildBuildRequest(AppDeploymentRequest request, String appId) {
 		MavenResource mavenResource = (MavenResource) request.getResource();
@@ -62,7 +71,7 @@ public class MavenBuildConfigFactory extends BuildConfigFactory {
                 .withName(appId)
 			.endMetadata()
             .withEnv(toEnvVars(properties.getEnvironmentVariables()))
-                .addToEnv(new EnvVar(SPRING_BUILD_ID_ENV_VAR, resourceHash.hashResource(request.getResource()), null))
+                .addToEnv(new EnvVar(SPRING_BUILD_ID_ENV_VAR, resourceHash.hashResource(request.getResource(), appId), null))
                 .addToEnv(new EnvVar(SPRING_BUILD_APP_NAME_ENV_VAR , appId, null))
                 .addToEnv(new EnvVar(SPRING_BUILD_APP_GROUPID_ENV_VAR , mavenResource.getGroupId(), null))
                 .addToEnv(new EnvVar(SPRING_BUILD_APP_ARTIFACTID_ENV_VAR, mavenResource.getArtifactId(), null))
@@ -4,7 +4,8 @@ import io.fabric8.openshift.client.OpenShiftClient;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
-import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentPropertyKeys;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentRequest;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.util.FileCopyUtils;
@@ -23,11 +24,19 @@ public class MavenDockerfileWithDockerBuildConfigStrategy
 		super(buildConfigFactory, openShiftDeployerProperties, client, labels);
 	}
 
+	public MavenDockerfileWithDockerBuildConfigStrategy(
+			BuildConfigFactory buildConfigFactory,
+			OpenShiftDeployerProperties openShiftDeployerProperties,
+			OpenShiftClient client, OpenShiftObjectCache objectCache,
+			Map<String, String> labels) {
+		super(buildConfigFactory, openShiftDeployerProperties, client, objectCache,
+				labels);
+	}
+
 	@Override
 	protected String getDockerfile(AppDeploymentRequest request,
 			OpenShiftDeployerProperties properties) {
-		String dockerFile = request.getDeploymentProperties()
-				.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_DOCKERFILE);
+		String dockerFile = OpenShiftDeploymentRequest.of(request).getDockerfile();
 		try {
 			if (StringUtils.isNotBlank(dockerFile)) {
 				if (new File(dockerFile).exists()) {
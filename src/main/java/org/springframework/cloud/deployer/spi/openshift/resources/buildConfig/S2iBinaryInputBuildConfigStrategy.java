@@ -9,9 +9,14 @@ import org.springframework.cloud.deployer.resource.maven.MavenResource;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftAppDeployer;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
-import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentPropertyKeys;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentRequest;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftSupport;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Span;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Type;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Map;
 
@@ -30,7 +35,15 @@ public class S2iBinaryInputBuildConfigStrategy extends BuildConfigStrategy
 			OpenShiftDeployerProperties openShiftDeployerProperties,
 			OpenShiftClient client, Map<String, String> labels,
 			MavenResource mavenResource) {
-		super(null, client, labels);
+		this(openShiftDeployerProperties, client, new OpenShiftObjectCache(client),
+				labels, mavenResource);
+	}
+
+	public S2iBinaryInputBuildConfigStrategy(
+			OpenShiftDeployerProperties openShiftDeployerProperties,
+			OpenShiftClient client, OpenShiftObjectCache objectCache,
+			Map<String, String> labels, MavenResource mavenResource) {
+		super(null, client, objectCache, labels);
 		this.client = client;
 		this.openShiftDeployerProperties = openShiftDeployerProperties;
 		this.mavenResource = mavenResource;
@@ -39,6 +52,8 @@ public class S2iBinaryInputBuildConfigStrategy extends BuildConfigStrategy
 	@Override
 	protected BuildConfig buildBuildConfig(AppDeploymentRequest request, String appId,
 			Map<String, String> labels) {
+		OpenShiftDeploymentRequest deploymentRequest = OpenShiftDeploymentRequest
+				.of(request);
 		//@formatter:off
 		return new BuildConfigBuilder()
 			.withNewMetadata()
@@ -53,8 +68,7 @@ public class S2iBinaryInputBuildConfigStrategy extends BuildConfigStrategy
 					.withNewSourceStrategy()
 						.withNewFrom()
 							.withKind("DockerImage")
-							.withName(request.getDeploymentProperties().getOrDefault(
-						OpenShiftDeploymentPropertyKeys.OPENSHIFT_S2I_BUILD_IMAGE,
+							.withName(deploymentRequest.getS2iBuildImage(
 						openShiftDeployerProperties.getDefaultS2iImage()))
 						.endFrom()
 					.endSourceStrategy()
@@ -62,9 +76,13 @@ public class S2iBinaryInputBuildConfigStrategy extends BuildConfigStrategy
 				.withNewOutput()
 					.withNewTo()
 						.withKind("ImageStreamTag")
-						.withName(getImageTag(request, openShiftDeployerProperties, appId))
+						.withName(getImageTag(deploymentRequest, openShiftDeployerProperties, appId))
 					.endTo()
 				.endOutput()
+				.withSuccessfulBuildsHistoryLimit(
+					openShiftDeployerProperties.getSuccessfulBuildsHistoryLimit())
+				.withFailedBuildsHistoryLimit(
+					openShiftDeployerProperties.getFailedBuildsHistoryLimit())
 			.endSpec()
 			.build();
 		//@formatter:on
@@ -72,15 +90,20 @@ public class S2iBinaryInputBuildConfigStrategy extends BuildConfigStrategy
 
 	@Override
 	public void applyObject(AppDeploymentRequest request, String appId) {
+		Span event = DeployerEvents.begin(Type.BINARY_UPLOAD, appId, "BuildConfig");
 		try {
+			File file = mavenResource.getFile();
+			event.bytes(file.length());
 			client.buildConfigs().withName(appId).instantiateBinary()
-					.asFile(mavenResource.getFilename())
-					.fromFile(mavenResource.getFile());
+					.asFile(mavenResource.getFilename()).fromFile(file);
 		}
 		catch (IOException e) {
 			logger.error(String.format("Could not access Maven artifact: %s",
 					mavenResource.getFilename()), e);
 		}
+		finally {
+			event.commit();
+		}
 	}
 
 }
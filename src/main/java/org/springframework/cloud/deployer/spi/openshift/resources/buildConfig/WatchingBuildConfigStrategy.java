@@ -3,10 +3,13 @@ package org.springframework.cloud.deployer.spi.openshift.resources.buildConfig;
 import java.util.Map;
 
 import io.fabric8.openshift.api.model.BuildStrategy;
-import io.fabric8.openshift.client.DefaultOpenShiftClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Span;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Type;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.Watch;
@@ -42,10 +45,16 @@ public class WatchingBuildConfigStrategy extends BuildConfigStrategy {
 	public WatchingBuildConfigStrategy(BuildConfigStrategy buildConfigStrategy,
 			OpenShiftClient client, Map<String, String> labels,
 			OnCompletedCallback<Build> callback) {
-		super(null, new DefaultOpenShiftClient().inNamespace(client.getNamespace()),
-				labels);
+		this(buildConfigStrategy, client, new OpenShiftObjectCache(client), labels,
+				callback);
+	}
+
+	public WatchingBuildConfigStrategy(BuildConfigStrategy buildConfigStrategy,
+			OpenShiftClient client, OpenShiftObjectCache objectCache,
+			Map<String, String> labels, OnCompletedCallback<Build> callback) {
+		super(null, client, objectCache, labels);
 		this.buildConfigStrategy = buildConfigStrategy;
-		this.client = new DefaultOpenShiftClient().inNamespace(client.getNamespace());
+		this.client = client;
 		this.callback = callback;
 	}
 
@@ -72,7 +81,14 @@ public class WatchingBuildConfigStrategy extends BuildConfigStrategy {
 						logger.trace("Received event '{}' for build: '{}'", action,
 								resource);
 
-						callback.callback(resource, watch);
+						Span event = DeployerEvents.begin(Type.WATCH_CALLBACK, appId,
+								"Build");
+						try {
+							callback.callback(resource, watch);
+						}
+						finally {
+							event.commit();
+						}
 					}
 
 					@Override
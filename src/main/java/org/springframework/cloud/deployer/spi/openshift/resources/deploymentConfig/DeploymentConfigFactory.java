@@ -7,13 +7,14 @@ import io.fabric8.openshift.api.model.DeploymentConfig;
 import io.fabric8.openshift.api.model.DeploymentConfigBuilder;
 import io.fabric8.openshift.api.model.DeploymentTriggerPolicyBuilder;
 import io.fabric8.openshift.client.OpenShiftClient;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.kubernetes.ImagePullPolicy;
 import org.springframework.cloud.deployer.spi.openshift.DataflowSupport;
-import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentPropertyKeys;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentRequest;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftSupport;
 import org.springframework.cloud.deployer.spi.openshift.resources.ObjectFactory;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 import org.springframework.cloud.deployer.spi.openshift.resources.volumes.VolumeFactory;
 
 import java.util.Map;
@@ -25,6 +26,8 @@ public class DeploymentConfigFactory
 
 	private OpenShiftClient client;
 
+	private OpenShiftObjectCache objectCache;
+
 	private Container container;
 
 	private Map<String, String> labels;
@@ -35,10 +38,21 @@ public class DeploymentConfigFactory
 
 	private VolumeFactory volumeFactory;
 
+	private Integer revisionHistoryLimit;
+
 	public DeploymentConfigFactory(OpenShiftClient client, Container container,
 			Map<String, String> labels, ResourceRequirements resourceRequirements,
 			ImagePullPolicy imagePullPolicy, VolumeFactory volumeFactory) {
+		this(client, new OpenShiftObjectCache(client), container, labels,
+				resourceRequirements, imagePullPolicy, volumeFactory);
+	}
+
+	public DeploymentConfigFactory(OpenShiftClient client,
+			OpenShiftObjectCache objectCache, Container container,
+			Map<String, String> labels, ResourceRequirements resourceRequirements,
+			ImagePullPolicy imagePullPolicy, VolumeFactory volumeFactory) {
 		this.client = client;
+		this.objectCache = objectCache;
 		this.container = container;
 		this.labels = labels;
 		this.resourceRequirements = resourceRequirements;
@@ -46,20 +60,38 @@ public class DeploymentConfigFactory
 		this.volumeFactory = volumeFactory;
 	}
 
+	/**
+	 * Limits the ReplicationControllers kept per DeploymentConfig to the configured
+	 * revision history limit.
+	 */
+	public DeploymentConfigFactory(OpenShiftClient client,
+			OpenShiftObjectCache objectCache,
+			OpenShiftDeployerProperties openShiftDeployerProperties, Container container,
+			Map<String, String> labels, ResourceRequirements resourceRequirements,
+			ImagePullPolicy imagePullPolicy, VolumeFactory volumeFactory) {
+		this(client, objectCache, container, labels, resourceRequirements,
+				imagePullPolicy, volumeFactory);
+		this.revisionHistoryLimit = openShiftDeployerProperties
+				.getRevisionHistoryLimit();
+	}
+
 	@Override
 	public DeploymentConfig addObject(AppDeploymentRequest request, String appId) {
 		DeploymentConfig deploymentConfig = build(request, appId, container, labels,
 				resourceRequirements, imagePullPolicy);
 
-		if (getExisting(appId).isPresent()) {
-			deploymentConfig = this.client.deploymentConfigs()
-					.createOrReplace(deploymentConfig);
-		}
-		else {
-			deploymentConfig = this.client.deploymentConfigs().create(deploymentConfig);
-		}
-
-		return deploymentConfig;
+		return objectCache.retryOnConflict(DeploymentConfig.class, appId, () -> {
+			Optional<DeploymentConfig> existing = getExisting(appId);
+			if (existing.isPresent()) {
+				return objectCache.replace(existing.get(), deploymentConfig,
+						resourceVersion -> this.client.deploymentConfigs().withName(appId)
+								.lockResourceVersion(resourceVersion));
+			}
+			else {
+				return objectCache
+						.put(this.client.deploymentConfigs().create(deploymentConfig));
+			}
+		});
 	}
 
 	@Override
@@ -67,8 +99,8 @@ public class DeploymentConfigFactory
 	}
 
 	protected Optional<DeploymentConfig> getExisting(String name) {
-		return Optional
-				.ofNullable(client.deploymentConfigs().withName(name).fromServer().get());
+		return objectCache.get(DeploymentConfig.class, name,
+				() -> client.deploymentConfigs().withName(name).fromServer().get());
 	}
 
 	protected DeploymentConfig build(AppDeploymentRequest request, String appId,
@@ -93,6 +125,7 @@ public class DeploymentConfigFactory
 					.withResources(resourceRequirements)
                 .endStrategy()
                 .withReplicas(getReplicas(request))
+                .withRevisionHistoryLimit(revisionHistoryLimit)
                 .withSelector(labels)
                 .withNewTemplate()
 					.withNewMetadata()
@@ -101,9 +134,7 @@ public class DeploymentConfigFactory
                     .withNewSpec()
                         .withContainers(container)
                         .withRestartPolicy("Always")
-                        .withServiceAccount(request.getDeploymentProperties()
-                                .getOrDefault(OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_SERVICE_ACCOUNT,
-                                        StringUtils.EMPTY))
+                        .withServiceAccount(OpenShiftDeploymentRequest.of(request).getServiceAccount())
 						// only add volumes with corresponding volume mounts
 						.withVolumes(volumeFactory.addObject(request, appId).stream()
 							.filter(volume -> container.getVolumeMounts().stream()
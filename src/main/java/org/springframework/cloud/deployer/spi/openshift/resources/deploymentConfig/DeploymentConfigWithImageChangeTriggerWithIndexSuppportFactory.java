@@ -10,6 +10,8 @@ import io.fabric8.openshift.client.OpenShiftClient;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.kubernetes.ImagePullPolicy;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentRequest;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 
 import java.util.Map;
 
@@ -18,6 +20,8 @@ public class DeploymentConfigWithImageChangeTriggerWithIndexSuppportFactory
 
 	private final OpenShiftClient client;
 
+	private final OpenShiftObjectCache objectCache;
+
 	private final OpenShiftDeployerProperties openShiftDeployerProperties;
 
 	public DeploymentConfigWithImageChangeTriggerWithIndexSuppportFactory(
@@ -25,24 +29,53 @@ public class DeploymentConfigWithImageChangeTriggerWithIndexSuppportFactory
 			OpenShiftDeployerProperties openShiftDeployerProperties, Container container,
 			Map<String, String> labels, ResourceRequirements resourceRequirements,
 			ImagePullPolicy imagePullPolicy) {
-		super(client, openShiftDeployerProperties, container, labels,
+		this(client, new OpenShiftObjectCache(client), openShiftDeployerProperties,
+				container, labels, resourceRequirements, imagePullPolicy);
+	}
+
+	public DeploymentConfigWithImageChangeTriggerWithIndexSuppportFactory(
+			OpenShiftClient client, OpenShiftObjectCache objectCache,
+			OpenShiftDeployerProperties openShiftDeployerProperties, Container container,
+			Map<String, String> labels, ResourceRequirements resourceRequirements,
+			ImagePullPolicy imagePullPolicy) {
+		super(client, objectCache, openShiftDeployerProperties, container, labels,
 				resourceRequirements, imagePullPolicy);
 		this.client = client;
+		this.objectCache = objectCache;
 		this.openShiftDeployerProperties = openShiftDeployerProperties;
 	}
 
+	/**
+	 * Enable automatic image change triggering once the DeploymentConfig exists. The
+	 * DeploymentConfig is modified by OpenShift itself (status, triggered deployments),
+	 * so the edit is a conditional replace that is re-read and reapplied on conflicts.
+	 *
+	 * Apps that share the ImageStream of another app (see
+	 * {@link OpenShiftDeploymentRequest#getSharedImageStream()}) keep a manual trigger.
+	 * They are rolled out together with the app that is built, a later Build of that app
+	 * alone must not roll them out.
+	 */
 	@Override
 	public void applyObject(AppDeploymentRequest request, String appId) {
 		withIndexedDeployment(appId, request, (id, deploymentRequest) -> {
-			// @formatter:off
-				client.deploymentConfigs()
-					.withName(id)
-					.edit()
-						.editSpec()
-							.addToTriggers(buildTriggerPolicy(deploymentRequest, id, true))
-						.endSpec()
-				.done();
+			objectCache.retryOnConflict(DeploymentConfig.class, id, () -> {
+				DeploymentConfig existing = getExisting(id)
+						.orElseThrow(() -> new IllegalStateException(String.format(
+								"DeploymentConfig '%s' does not exist", id)));
+				// @formatter:off
+				DeploymentConfig deploymentConfig = new DeploymentConfigBuilder(existing)
+					.editSpec()
+						.addToTriggers(buildTriggerPolicy(deploymentRequest, id,
+								OpenShiftDeploymentRequest.of(deploymentRequest)
+										.getSharedImageStream() == null))
+					.endSpec()
+					.build();
 				//@formatter:on
+
+				return objectCache.replace(existing, deploymentConfig,
+						resourceVersion -> client.deploymentConfigs().withName(id)
+								.lockResourceVersion(resourceVersion));
+			});
 		});
 	}
 
@@ -63,6 +96,8 @@ public class DeploymentConfigWithImageChangeTriggerWithIndexSuppportFactory
 
 	private DeploymentTriggerPolicy buildTriggerPolicy(AppDeploymentRequest request,
 			String appId, Boolean automatic) {
+		OpenShiftDeploymentRequest deploymentRequest = OpenShiftDeploymentRequest
+				.of(request);
 		//@formatter:off
 		return new DeploymentTriggerPolicyBuilder()
 			.withType("ImageChange")
@@ -71,8 +106,8 @@ public class DeploymentConfigWithImageChangeTriggerWithIndexSuppportFactory
 					.withAutomatic(automatic)
 					.withNewFrom()
 						.withKind("ImageStreamTag")
-						.withNamespace(getImageNamespace(request,openShiftDeployerProperties))
-						.withName(getIndexedImageTag(request, openShiftDeployerProperties, appId))
+						.withNamespace(getImageNamespace(deploymentRequest, openShiftDeployerProperties))
+						.withName(getIndexedImageTag(deploymentRequest, openShiftDeployerProperties, appId))
 					.endFrom()
 				.endImageChangeParams()
 			.build();
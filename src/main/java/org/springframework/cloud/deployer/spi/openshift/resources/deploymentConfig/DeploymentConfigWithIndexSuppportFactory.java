@@ -13,6 +13,7 @@ import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.kubernetes.ImagePullPolicy;
 import org.springframework.cloud.deployer.spi.openshift.DataflowSupport;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 import org.springframework.cloud.deployer.spi.openshift.resources.volumes.VolumeFactory;
 
 import java.util.Map;
@@ -25,7 +26,17 @@ public class DeploymentConfigWithIndexSuppportFactory extends DeploymentConfigFa
 			OpenShiftDeployerProperties openShiftDeployerProperties, Container container,
 			Map<String, String> labels, ResourceRequirements resourceRequirements,
 			ImagePullPolicy imagePullPolicy) {
-		super(client, container, labels, resourceRequirements, imagePullPolicy,
+		this(client, new OpenShiftObjectCache(client), openShiftDeployerProperties,
+				container, labels, resourceRequirements, imagePullPolicy);
+	}
+
+	public DeploymentConfigWithIndexSuppportFactory(OpenShiftClient client,
+			OpenShiftObjectCache objectCache,
+			OpenShiftDeployerProperties openShiftDeployerProperties, Container container,
+			Map<String, String> labels, ResourceRequirements resourceRequirements,
+			ImagePullPolicy imagePullPolicy) {
+		super(client, objectCache, openShiftDeployerProperties, container, labels,
+				resourceRequirements, imagePullPolicy,
 				new VolumeFactory(openShiftDeployerProperties));
 	}
 
@@ -7,24 +7,32 @@ import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import io.fabric8.openshift.api.model.ImageStream;
 import io.fabric8.openshift.client.OpenShiftClient;
 import org.springframework.cloud.deployer.spi.openshift.resources.AbstractObjectFactory;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 
 public class ImageStreamFactory extends AbstractObjectFactory<ImageStream> {
 
 	private OpenShiftClient client;
 
+	private OpenShiftObjectCache objectCache;
+
 	public ImageStreamFactory(OpenShiftClient client) {
+		this(client, new OpenShiftObjectCache(client));
+	}
+
+	public ImageStreamFactory(OpenShiftClient client, OpenShiftObjectCache objectCache) {
 		this.client = client;
+		this.objectCache = objectCache;
 	}
 
 	@Override
 	protected ImageStream createObject(AppDeploymentRequest request, String appId) {
 		//@formatter:off
-        return client.imageStreams()
+        return objectCache.put(client.imageStreams()
             .createNew()
                 .withNewMetadata()
                     .withName(appId)
             .endMetadata()
-            .done();
+            .done());
         //@formatter:on
 	}
 
@@ -36,7 +44,7 @@ public class ImageStreamFactory extends AbstractObjectFactory<ImageStream> {
 	@Override
 	protected Optional<ImageStream> getExisting(String name) {
 		//@formatter:off
-        return Optional.ofNullable(client.imageStreams()
+        return objectCache.get(ImageStream.class, name, () -> client.imageStreams()
                 .withName(name)
                 .fromServer()
                 .get());
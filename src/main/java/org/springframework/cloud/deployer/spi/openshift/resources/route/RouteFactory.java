@@ -7,8 +7,9 @@ import java.util.Optional;
 
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
-import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentPropertyKeys;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentRequest;
 import org.springframework.cloud.deployer.spi.openshift.resources.ObjectFactory;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 
 import io.fabric8.openshift.api.model.Route;
 import io.fabric8.openshift.api.model.RouteBuilder;
@@ -18,6 +19,8 @@ public class RouteFactory implements ObjectFactory<Route> {
 
 	private OpenShiftClient client;
 
+	private OpenShiftObjectCache objectCache;
+
 	private OpenShiftDeployerProperties openShiftDeployerProperties;
 
 	private Integer port;
@@ -27,7 +30,15 @@ public class RouteFactory implements ObjectFactory<Route> {
 	public RouteFactory(OpenShiftClient client,
 			OpenShiftDeployerProperties openShiftDeployerProperties, Integer port,
 			Map<String, String> labels) {
+		this(client, new OpenShiftObjectCache(client), openShiftDeployerProperties, port,
+				labels);
+	}
+
+	public RouteFactory(OpenShiftClient client, OpenShiftObjectCache objectCache,
+			OpenShiftDeployerProperties openShiftDeployerProperties, Integer port,
+			Map<String, String> labels) {
 		this.client = client;
+		this.objectCache = objectCache;
 		this.openShiftDeployerProperties = openShiftDeployerProperties;
 		this.port = port;
 		this.labels = labels;
@@ -36,12 +47,16 @@ public class RouteFactory implements ObjectFactory<Route> {
 	@Override
 	public Route addObject(AppDeploymentRequest request, String appId) {
 		Route route = build(request, appId, port, labels);
+		String name = route.getMetadata().getName();
 
-		if (getExisting(appId).isPresent()) {
-			route = this.client.routes().createOrReplace(route);
+		Optional<Route> existing = getExisting(name);
+		if (existing.isPresent()) {
+			route = objectCache.replace(existing.get(), route,
+					resourceVersion -> this.client.routes().withName(name)
+							.lockResourceVersion(resourceVersion));
 		}
 		else {
-			route = this.client.routes().create(route);
+			route = objectCache.put(this.client.routes().create(route));
 		}
 
 		return route;
@@ -53,13 +68,14 @@ public class RouteFactory implements ObjectFactory<Route> {
 	}
 
 	protected Optional<Route> getExisting(String name) {
-		return Optional.ofNullable(client.routes().withName(name).fromServer().get());
+		return objectCache.get(Route.class, name,
+				() -> client.routes().withName(name).fromServer().get());
 	}
 
 	protected Route build(AppDeploymentRequest request, String appId, Integer port,
 			Map<String, String> labels) {
-		String serviceNameOrAppId = request.getDeploymentProperties().getOrDefault(
-				OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_SERVICE_NAME, appId);
+		String serviceNameOrAppId = OpenShiftDeploymentRequest.of(request)
+				.getServiceName(appId);
 
 		//@formatter:off
         return new RouteBuilder()
@@ -109,9 +125,8 @@ public class RouteFactory implements ObjectFactory<Route> {
 	 * @return host value for the Route
 	 */
 	protected String buildHost(AppDeploymentRequest request, String appId) {
-		return request.getDeploymentProperties().getOrDefault(
-				OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_ROUTE_HOSTNAME,
-				format("%s-%s.%s", appId, client.getNamespace(),
+		return OpenShiftDeploymentRequest.of(request)
+				.getRouteHost(format("%s-%s.%s", appId, client.getNamespace(),
 						openShiftDeployerProperties.getDefaultRoutingSubdomain()));
 	}
 
@@ -5,8 +5,9 @@ import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
-import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentPropertyKeys;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentRequest;
 import org.springframework.cloud.deployer.spi.openshift.resources.ObjectFactory;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServiceBuilder;
@@ -18,13 +19,21 @@ public class ServiceFactory implements ObjectFactory<Service> {
 
 	private OpenShiftClient client;
 
+	private OpenShiftObjectCache objectCache;
+
 	private Integer port;
 
 	private Map<String, String> labels;
 
 	public ServiceFactory(OpenShiftClient client, Integer port,
 			Map<String, String> labels) {
+		this(client, new OpenShiftObjectCache(client), port, labels);
+	}
+
+	public ServiceFactory(OpenShiftClient client, OpenShiftObjectCache objectCache,
+			Integer port, Map<String, String> labels) {
 		this.client = client;
+		this.objectCache = objectCache;
 		this.port = port;
 		this.labels = labels;
 	}
@@ -32,15 +41,14 @@ public class ServiceFactory implements ObjectFactory<Service> {
 	@Override
 	public Service addObject(AppDeploymentRequest request, String appId) {
 		Service service = build(request, appId, port, labels);
+		String name = service.getMetadata().getName();
 
-		if (getExisting(appId).isPresent()) {
+		if (getExisting(name).isPresent()) {
 			// cannot patch a Service. Delete it, then recreate
 			this.client.services().delete(service);
-			service = this.client.services().create(service);
-		}
-		else {
-			service = this.client.services().create(service);
+			objectCache.evict(Service.class, name);
 		}
+		service = objectCache.put(this.client.services().create(service));
 
 		return service;
 	}
@@ -52,7 +60,7 @@ public class ServiceFactory implements ObjectFactory<Service> {
 
 	protected Optional<Service> getExisting(String name) {
 		//@formatter:off
-		return Optional.ofNullable(client.services()
+		return objectCache.get(Service.class, name, () -> client.services()
 			.withName(name)
 			.fromServer()
 			.get());
@@ -61,11 +69,10 @@ public class ServiceFactory implements ObjectFactory<Service> {
 
 	protected Service build(AppDeploymentRequest request, String appId, Integer port,
 			Map<String, String> labels) {
-		boolean createNodePort = StringUtils.isNotBlank(request.getDeploymentProperties()
-				.get(OpenShiftDeploymentPropertyKeys.OPENSHIFT_CREATE_NODE_PORT));
-
-		String serviceNameOrAppId = request.getDeploymentProperties().getOrDefault(
-				OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_SERVICE_NAME, appId);
+		OpenShiftDeploymentRequest deploymentRequest = OpenShiftDeploymentRequest
+				.of(request);
+		boolean createNodePort = deploymentRequest.getCreateNodePort() != null;
+		String serviceNameOrAppId = deploymentRequest.getServiceName(appId);
 
 		return new ServiceBuilder()
 		//@formatter:off
@@ -86,9 +93,8 @@ public class ServiceFactory implements ObjectFactory<Service> {
 	}
 
 	private ServicePort buildServiceNodePort(AppDeploymentRequest request) {
-		String createNodePort = request.getDeploymentProperties().getOrDefault(
-				OpenShiftDeploymentPropertyKeys.OPENSHIFT_CREATE_NODE_PORT,
-				StringUtils.EMPTY);
+		String createNodePort = OpenShiftDeploymentRequest.of(request)
+				.getCreateNodePort();
 		return new ServicePortBuilder().withPort(port)
 				.withNodePort(StringUtils.isNumeric(createNodePort)
 						? Integer.parseInt(createNodePort) : null)
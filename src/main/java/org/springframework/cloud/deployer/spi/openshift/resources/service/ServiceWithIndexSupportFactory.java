@@ -4,6 +4,7 @@ import java.util.Map;
 
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.openshift.DataflowSupport;
+import org.springframework.cloud.deployer.spi.openshift.resources.OpenShiftObjectCache;
 
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.openshift.client.OpenShiftClient;
@@ -16,6 +17,11 @@ public class ServiceWithIndexSupportFactory extends ServiceFactory
 		super(client, port, labels);
 	}
 
+	public ServiceWithIndexSupportFactory(OpenShiftClient client,
+			OpenShiftObjectCache objectCache, Integer port, Map<String, String> labels) {
+		super(client, objectCache, port, labels);
+	}
+
 	@Override
 	public Service addObject(AppDeploymentRequest request, String appId) {
 		if (isIndexed(request)) {
@@ -0,0 +1,96 @@
+package org.springframework.cloud.deployer.spi.openshift.resources.volumes;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import org.springframework.boot.bind.YamlConfigurationFactory;
+import org.springframework.cloud.deployer.spi.kubernetes.KubernetesDeployerProperties;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.VolumeMount;
+
+/**
+ * Binds the YAML volume and volume mount deployment properties. Binding runs SnakeYAML
+ * and the Spring binder, so the bound lists are memoized by the raw property value in
+ * bounded caches, shared by all deployments. The same value is bound for every indexed
+ * instance and every container of an app and is usually repeated across apps.
+ */
+final class VolumeBindings {
+
+	static final int MAXIMUM_SIZE = 256;
+
+	private static final Cache<String, List<Volume>> volumes = CacheBuilder.newBuilder()
+			.maximumSize(MAXIMUM_SIZE).build();
+
+	private static final Cache<String, List<VolumeMount>> volumeMounts = CacheBuilder
+			.newBuilder().maximumSize(MAXIMUM_SIZE).build();
+
+	private VolumeBindings() {
+	}
+
+	/**
+	 * @param yaml the YAML list of volumes
+	 * @return the bound volumes, which must not be modified
+	 */
+	static List<Volume> volumes(String yaml) {
+		return get(volumes, yaml, () -> ImmutableList.copyOf(
+				bind("{ volumes: " + yaml + " }").getVolumes()),
+				"Invalid volume '%s'");
+	}
+
+	/**
+	 * @param yaml the YAML list of volume mounts
+	 * @return the bound volume mounts, which must not be modified
+	 */
+	static List<VolumeMount> volumeMounts(String yaml) {
+		return get(volumeMounts, yaml, () -> ImmutableList.copyOf(
+				bind("{ volumeMounts: " + yaml + " }").getVolumeMounts()),
+				"Invalid volume mount '%s'");
+	}
+
+	/**
+	 * Merge the deployment defined values with the deployer defined defaults. Defaults
+	 * are only added if no value with the same name is already defined, i.e. deployment
+	 * values override deployer values.
+	 */
+	static <T> List<T> merge(List<T> values, List<T> defaults, Function<T, String> name) {
+		Map<String, T> merged = new LinkedHashMap<>();
+		values.forEach(value -> merged.putIfAbsent(name.apply(value), value));
+		defaults.forEach(value -> merged.putIfAbsent(name.apply(value), value));
+		return new ArrayList<>(merged.values());
+	}
+
+	static void clear() {
+		volumes.invalidateAll();
+		volumeMounts.invalidateAll();
+	}
+
+	private static <T> List<T> get(Cache<String, List<T>> cache, String yaml,
+			Callable<List<T>> binder, String error) {
+		try {
+			return cache.get(yaml, binder);
+		}
+		catch (ExecutionException | UncheckedExecutionException e) {
+			throw new IllegalArgumentException(String.format(error, yaml), e.getCause());
+		}
+	}
+
+	private static KubernetesDeployerProperties bind(String yaml) throws Exception {
+		YamlConfigurationFactory<KubernetesDeployerProperties> yamlConfigurationFactory = new YamlConfigurationFactory<>(
+				KubernetesDeployerProperties.class);
+		yamlConfigurationFactory.setYaml(yaml);
+		yamlConfigurationFactory.afterPropertiesSet();
+		return yamlConfigurationFactory.getObject();
+	}
+
+}
@@ -1,15 +1,13 @@
 package org.springframework.cloud.deployer.spi.openshift.resources.volumes;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.boot.bind.YamlConfigurationFactory;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
-import org.springframework.cloud.deployer.spi.kubernetes.KubernetesDeployerProperties;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentPropertyKeys;
 import org.springframework.cloud.deployer.spi.openshift.resources.ObjectFactory;
@@ -50,36 +48,15 @@ public class VolumeFactory implements ObjectFactory<List<Volume>> {
 	}
 
 	private List<Volume> getVolumes(AppDeploymentRequest request) {
-		List<Volume> volumes = new ArrayList<>();
-
 		String volumeDeploymentProperty = request.getDeploymentProperties().getOrDefault(
 				OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_VOLUMES,
 				StringUtils.EMPTY);
-		if (!org.springframework.util.StringUtils.isEmpty(volumeDeploymentProperty)) {
-			YamlConfigurationFactory<KubernetesDeployerProperties> volumeYamlConfigurationFactory = new YamlConfigurationFactory<>(
-					KubernetesDeployerProperties.class);
-			volumeYamlConfigurationFactory
-					.setYaml("{ volumes: " + volumeDeploymentProperty + " }");
-			try {
-				volumeYamlConfigurationFactory.afterPropertiesSet();
-				volumes.addAll(volumeYamlConfigurationFactory.getObject().getVolumes());
-			}
-			catch (Exception e) {
-				throw new IllegalArgumentException(
-						String.format("Invalid volume '%s'", volumeDeploymentProperty),
-						e);
-			}
-		}
-		// only add volumes that have not already been added, based on the volume's name
-		// i.e. allow provided deployment volumes to override deployer defined volumes
-		volumes.addAll(properties
-				.getVolumes().stream().filter(
-						volume -> volumes.stream()
-								.noneMatch(existingVolume -> existingVolume.getName()
-										.equals(volume.getName())))
-				.collect(Collectors.toList()));
+		List<Volume> volumes = StringUtils.isEmpty(volumeDeploymentProperty)
+				? Collections.emptyList()
+				: VolumeBindings.volumes(volumeDeploymentProperty);
 
-		return volumes;
+		// allow provided deployment volumes to override deployer defined volumes
+		return VolumeBindings.merge(volumes, properties.getVolumes(), Volume::getName);
 	}
 
 }
@@ -5,46 +5,176 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.bind.PropertiesConfigurationFactory;
 import org.springframework.cloud.config.client.ConfigServicePropertySourceLocator;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.openshift.DeployerTaskExecutor;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import io.fabric8.kubernetes.api.model.VolumeMount;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 
-public class VolumeMountConfigServerFactory extends VolumeMountFactory {
+/**
+ * Adds the volume mounts configured for an app in the config server. The volume mounts
+ * are cached per app name: after the configured TTL they are refreshed in the
+ * background while the last known volume mounts continue to be used. Concurrent
+ * lookups of the same app share one request to the config server, which is bounded
+ * by the configured timeout. If the config server fails or times out, the last known
+ * volume mounts are kept.
+ *
+ * Background refreshes run on the given task executor. The requests to the config
+ * server themselves run on a separate, unbounded pool, so that a refresh waiting for
+ * its request never waits for a thread of the same, possibly saturated, executor.
+ *
+ * Cache hits and misses are recorded in the
+ * <code>openshift.deployer.config.volume.mounts.cache</code> cache metrics and the
+ * latency of config server requests in the
+ * <code>openshift.deployer.config.volume.mounts</code> timer.
+ */
+public class VolumeMountConfigServerFactory extends VolumeMountFactory
+		implements DisposableBean {
 
 	private static final Logger logger = LoggerFactory
 			.getLogger(VolumeMountConfigServerFactory.class);
 
+	public static final String CONFIG_SERVER_METER = "openshift.deployer.config.volume.mounts";
+
+	public static final String CACHE_NAME = "openshift.deployer.config.volume.mounts.cache";
+
+	private static final int MAXIMUM_APPS = 1024;
+
 	private ConfigServicePropertySourceLocator configServicePropertySourceLocator;
 
+	private final long timeout;
+
+	private final MeterRegistry meterRegistry;
+
+	private final ExecutorService lookups;
+
+	private final LoadingCache<String, Set<VolumeMount>> volumeMounts;
+
 	public VolumeMountConfigServerFactory(
 			ConfigServicePropertySourceLocator configServicePropertySourceLocator,
 			OpenShiftDeployerProperties openShiftDeployerProperties) {
+		this(configServicePropertySourceLocator, openShiftDeployerProperties,
+				Metrics.globalRegistry);
+	}
+
+	public VolumeMountConfigServerFactory(
+			ConfigServicePropertySourceLocator configServicePropertySourceLocator,
+			OpenShiftDeployerProperties openShiftDeployerProperties,
+			MeterRegistry meterRegistry) {
+		this(configServicePropertySourceLocator, openShiftDeployerProperties,
+				meterRegistry, DeployerTaskExecutor.shared());
+	}
+
+	public VolumeMountConfigServerFactory(
+			ConfigServicePropertySourceLocator configServicePropertySourceLocator,
+			OpenShiftDeployerProperties openShiftDeployerProperties,
+			MeterRegistry meterRegistry, AsyncTaskExecutor taskExecutor) {
 		super(openShiftDeployerProperties);
 		this.configServicePropertySourceLocator = configServicePropertySourceLocator;
+		this.timeout = openShiftDeployerProperties.getConfigServerTimeout();
+		this.meterRegistry = meterRegistry;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"openshift-config-server-lookup-");
+		threadFactory.setDaemon(true);
+		this.lookups = Executors.newCachedThreadPool(threadFactory);
+		this.volumeMounts = GuavaCacheMetrics.monitor(meterRegistry,
+				CacheBuilder.newBuilder().maximumSize(MAXIMUM_APPS)
+						.refreshAfterWrite(Math.max(1,
+								openShiftDeployerProperties
+										.getConfigServerVolumeMountsTtl()),
+								TimeUnit.MILLISECONDS)
+						.recordStats()
+						.build(CacheLoader.asyncReloading(
+								CacheLoader.from(this::fetchVolumeMountsFromConfigServer),
+								taskExecutor)),
+				CACHE_NAME);
 	}
 
 	@Override
 	public List<VolumeMount> addObject(AppDeploymentRequest request, String appId) {
 		Set<VolumeMount> volumeMounts = new LinkedHashSet<>();
 		volumeMounts.addAll(super.addObject(request, appId));
-		volumeMounts.addAll(fetchVolumeMountsFromConfigServer(appId));
+		volumeMounts.addAll(getVolumeMountsFromConfigServer(appId));
 		return new ArrayList<>(volumeMounts);
 	}
 
+	@Override
+	public void destroy() {
+		lookups.shutdownNow();
+	}
+
+	private Set<VolumeMount> getVolumeMountsFromConfigServer(String appId) {
+		try {
+			return volumeMounts.get(appId);
+		}
+		catch (ExecutionException | UncheckedExecutionException e) {
+			// nothing known yet, the next deployment of the app tries again
+			logger.warn(
+					"Could not get volume mounts configuration for app '{}' from config server: '{}'",
+					appId, e.getCause().getMessage());
+			return Collections.emptySet();
+		}
+	}
+
+	/**
+	 * Fetch the volume mounts from the config server, waiting at most the configured
+	 * timeout. Failures are thrown so that the cache keeps the last known value.
+	 */
 	private Set<VolumeMount> fetchVolumeMountsFromConfigServer(String appId) {
-		Set<VolumeMount> volumeMounts = new LinkedHashSet<>();
+		Timer.Sample sample = Timer.start(meterRegistry);
+		Future<Set<VolumeMount>> lookup = lookups.submit(() -> locateVolumeMounts(appId));
+		try {
+			Set<VolumeMount> volumeMounts = lookup.get(timeout, TimeUnit.MILLISECONDS);
+			sample.stop(meterRegistry.timer(CONFIG_SERVER_METER, "outcome", "success"));
+			return volumeMounts;
+		}
+		catch (TimeoutException e) {
+			lookup.cancel(true);
+			sample.stop(meterRegistry.timer(CONFIG_SERVER_METER, "outcome", "timeout"));
+			throw new IllegalStateException(
+					String.format("Timed out after %dms", timeout), e);
+		}
+		catch (InterruptedException e) {
+			lookup.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+		catch (ExecutionException e) {
+			sample.stop(meterRegistry.timer(CONFIG_SERVER_METER, "outcome", "error"));
+			throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+		}
+	}
 
+	private Set<VolumeMount> locateVolumeMounts(String appId) throws Exception {
 		ConfigurableEnvironment appEnvironment = new StandardEnvironment();
 		appEnvironment.getPropertySources()
 				.addFirst(new MapPropertySource("deployer-openshift-override",
@@ -52,24 +182,17 @@ public class VolumeMountConfigServerFactory extends VolumeMountFactory {
 
 		PropertySource<?> propertySource = configServicePropertySourceLocator
 				.locate(appEnvironment);
+		if (propertySource == null) {
+			throw new IllegalStateException("No configuration located");
+		}
 		MutablePropertySources propertySources = new MutablePropertySources();
 		propertySources.addFirst(propertySource);
 
-		try {
-			PropertiesConfigurationFactory<VolumeMountProperties> factory = new PropertiesConfigurationFactory<>(
-					new VolumeMountProperties());
-			factory.setPropertySources(propertySources);
-			factory.afterPropertiesSet();
-			VolumeMountProperties configVolumeProperties = factory.getObject();
-			volumeMounts.addAll(configVolumeProperties.getVolumeMounts());
-		}
-		catch (Exception e) {
-			logger.warn(
-					"Could not get volume mounts configuration for app '{}' from config server: '{}'",
-					appId, e.getMessage());
-		}
-
-		return volumeMounts;
+		PropertiesConfigurationFactory<VolumeMountProperties> factory = new PropertiesConfigurationFactory<>(
+				new VolumeMountProperties());
+		factory.setPropertySources(propertySources);
+		factory.afterPropertiesSet();
+		return ImmutableSet.copyOf(factory.getObject().getVolumeMounts());
 	}
 
 }
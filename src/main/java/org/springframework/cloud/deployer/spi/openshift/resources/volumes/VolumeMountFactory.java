@@ -1,15 +1,13 @@
 package org.springframework.cloud.deployer.spi.openshift.resources.volumes;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.boot.bind.YamlConfigurationFactory;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
-import org.springframework.cloud.deployer.spi.kubernetes.KubernetesDeployerProperties;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentPropertyKeys;
 import org.springframework.cloud.deployer.spi.openshift.resources.ObjectFactory;
@@ -49,40 +47,18 @@ public class VolumeMountFactory implements ObjectFactory<List<VolumeMount>> {
 	}
 
 	private List<VolumeMount> getVolumeMounts(AppDeploymentRequest request) {
-		List<VolumeMount> volumeMounts = new ArrayList<>();
-
 		String volumeMountDeploymentProperty = request.getDeploymentProperties()
 				.getOrDefault(
 						OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_VOLUME_MOUNTS,
 						StringUtils.EMPTY);
-		if (!org.springframework.util.StringUtils
-				.isEmpty(volumeMountDeploymentProperty)) {
-			YamlConfigurationFactory<KubernetesDeployerProperties> volumeMountYamlConfigurationFactory = new YamlConfigurationFactory<>(
-					KubernetesDeployerProperties.class);
-			volumeMountYamlConfigurationFactory
-					.setYaml("{ volumeMounts: " + volumeMountDeploymentProperty + " }");
-			try {
-				volumeMountYamlConfigurationFactory.afterPropertiesSet();
-				volumeMounts.addAll(volumeMountYamlConfigurationFactory.getObject()
-						.getVolumeMounts());
-			}
-			catch (Exception e) {
-				throw new IllegalArgumentException(String.format(
-						"Invalid volume mount '%s'", volumeMountDeploymentProperty), e);
-			}
-		}
-		// only add volume mounts that have not already been added, based on the volume
-		// mount's
-		// name
-		// i.e. allow provided deployment volume mounts to override deployer defined
-		// volume mounts
-		volumeMounts.addAll(properties.getVolumeMounts().stream()
-				.filter(volumeMount -> volumeMounts.stream()
-						.noneMatch(existingVolumeMount -> existingVolumeMount.getName()
-								.equals(volumeMount.getName())))
-				.collect(Collectors.toList()));
+		List<VolumeMount> volumeMounts = StringUtils.isEmpty(volumeMountDeploymentProperty)
+				? Collections.emptyList()
+				: VolumeBindings.volumeMounts(volumeMountDeploymentProperty);
 
-		return volumeMounts;
+		// allow provided deployment volume mounts to override deployer defined volume
+		// mounts
+		return VolumeBindings.merge(volumeMounts, properties.getVolumeMounts(),
+				VolumeMount::getName);
 	}
 
 }
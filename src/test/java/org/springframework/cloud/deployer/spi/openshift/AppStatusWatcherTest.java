@@ -0,0 +1,152 @@
+package org.springframework.cloud.deployer.spi.openshift;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.WatchEvent;
+import io.fabric8.openshift.client.server.mock.OpenShiftServer;
+
+public class AppStatusWatcherTest {
+
+	@Rule
+	public OpenShiftServer server = new OpenShiftServer();
+
+	private final AtomicInteger lookups = new AtomicInteger();
+
+	private final List<AppStatus> pushed = new CopyOnWriteArrayList<>();
+
+	@Test
+	public void debounceEventsOfAnApp() throws Exception {
+		server.expect()
+				.withPath("/api/v1/namespaces/test/pods?labelSelector=spring-app-id&watch=true")
+				.andUpgradeToWebSocket().open().waitFor(50)
+				.andEmit(new WatchEvent(pod("testapp-source-1-abcde"), "ADDED"))
+				.waitFor(10)
+				.andEmit(new WatchEvent(pod("testapp-source-1-abcde"), "MODIFIED"))
+				.done().once();
+
+		try (Closeable subscription = appStatusWatcher(DeploymentState.deploying)
+				.subscribe(pushed::add)) {
+			await(() -> !pushed.isEmpty());
+		}
+
+		assertThat(lookups.get()).isEqualTo(1);
+		assertThat(pushed).extracting(AppStatus::getDeploymentId)
+				.containsExactly("testapp-source");
+	}
+
+	@Test
+	public void pushOnlyChangedStatus() throws Exception {
+		server.expect()
+				.withPath("/api/v1/namespaces/test/pods?labelSelector=spring-app-id&watch=true")
+				.andUpgradeToWebSocket().open().waitFor(50)
+				.andEmit(new WatchEvent(pod("testapp-source-1-abcde"), "ADDED"))
+				.waitFor(500)
+				.andEmit(new WatchEvent(pod("testapp-source-1-abcde"), "MODIFIED"))
+				.done().once();
+
+		try (Closeable subscription = appStatusWatcher(DeploymentState.deploying)
+				.subscribe(pushed::add)) {
+			await(() -> lookups.get() >= 2);
+		}
+
+		assertThat(lookups.get()).isEqualTo(2);
+		assertThat(pushed).hasSize(1);
+	}
+
+	@Test
+	public void forgetUndeployedApps() throws Exception {
+		server.expect()
+				.withPath("/api/v1/namespaces/test/pods?labelSelector=spring-app-id&watch=true")
+				.andUpgradeToWebSocket().open().waitFor(50)
+				.andEmit(new WatchEvent(pod("testapp-source-1-abcde"), "DELETED"))
+				.waitFor(500)
+				.andEmit(new WatchEvent(pod("testapp-source-1-fghij"), "DELETED"))
+				.done().once();
+
+		try (Closeable subscription = appStatusWatcher(DeploymentState.unknown)
+				.subscribe(pushed::add)) {
+			await(() -> pushed.size() >= 2);
+		}
+
+		assertThat(lookups.get()).isEqualTo(2);
+		assertThat(pushed).hasSize(2);
+	}
+
+	@Test
+	public void lookUpAppsConcurrently() throws Exception {
+		server.expect()
+				.withPath("/api/v1/namespaces/test/pods?labelSelector=spring-app-id&watch=true")
+				.andUpgradeToWebSocket().open().waitFor(50)
+				.andEmit(new WatchEvent(pod("slowapp-source-1-abcde", "slowapp-source"),
+						"ADDED"))
+				.andEmit(new WatchEvent(pod("testapp-source-1-abcde"), "ADDED")).done()
+				.once();
+
+		CountDownLatch slowLookup = new CountDownLatch(1);
+		ExecutorService executor = Executors.newCachedThreadPool();
+		AppStatusWatcher appStatusWatcher = new AppStatusWatcher(
+				server.getOpenshiftClient(), appId -> {
+					if (appId.equals("slowapp-source")) {
+						try {
+							slowLookup.await(5, TimeUnit.SECONDS);
+						}
+						catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					}
+					return AppStatus.of(appId).generalState(DeploymentState.deployed)
+							.build();
+				}, 100, executor);
+
+		try (Closeable subscription = appStatusWatcher.subscribe(pushed::add)) {
+			await(() -> !pushed.isEmpty());
+			assertThat(pushed).extracting(AppStatus::getDeploymentId)
+					.containsExactly("testapp-source");
+		}
+		finally {
+			slowLookup.countDown();
+			executor.shutdown();
+		}
+	}
+
+	private AppStatusWatcher appStatusWatcher(DeploymentState state) {
+		return new AppStatusWatcher(server.getOpenshiftClient(), appId -> {
+			lookups.incrementAndGet();
+			return AppStatus.of(appId).generalState(state).build();
+		}, 100, Runnable::run);
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	private Pod pod(String name) {
+		return pod(name, "testapp-source");
+	}
+
+	private Pod pod(String name, String appId) {
+		return new PodBuilder().withNewMetadata().withName(name)
+				.addToLabels("spring-app-id", appId).endMetadata().build();
+	}
+
+}
@@ -0,0 +1,122 @@
+package org.springframework.cloud.deployer.spi.openshift;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.openshift.resources.ObjectFactory;
+
+import io.fabric8.openshift.api.model.Build;
+import io.fabric8.openshift.api.model.BuildBuilder;
+import io.fabric8.openshift.api.model.Route;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class DeployerMetricsTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private DeployerMetrics deployerMetrics;
+
+	@Before
+	public void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+		deployerMetrics = new DeployerMetrics(meterRegistry);
+	}
+
+	@Test
+	public void timePhase() {
+		String hash = deployerMetrics.timePhase("hash", () -> "a1b2c3");
+
+		assertThat(hash).isEqualTo("a1b2c3");
+		assertThat(meterRegistry.get(DeployerMetrics.PHASE_METER).tag("phase", "hash")
+				.tag("outcome", "success").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void timePhaseWithError() {
+		try {
+			deployerMetrics.timePhase("hash", () -> {
+				throw new IllegalStateException("Could not read resource to hash");
+			});
+			fail("Expected the error to be rethrown");
+		}
+		catch (IllegalStateException e) {
+			assertThat(meterRegistry.get(DeployerMetrics.PHASE_METER).tag("phase", "hash")
+					.tag("outcome", "error").timer().count()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void timeFactoryTaggedWithObjectKind() {
+		ObjectFactory<Route> routeFactory = new ObjectFactory<Route>() {
+
+			@Override
+			public Route addObject(AppDeploymentRequest request, String appId) {
+				return new Route();
+			}
+
+			@Override
+			public void applyObject(AppDeploymentRequest request, String appId) {
+			}
+		};
+
+		deployerMetrics.timeAddObject(routeFactory, "testapp-source",
+				() -> routeFactory.addObject(null, "testapp-source"));
+		deployerMetrics.timeApplyObject(routeFactory, "testapp-source",
+				() -> routeFactory.applyObject(null, "testapp-source"));
+
+		assertThat(meterRegistry.get(DeployerMetrics.FACTORY_METER).tag("kind", "Route")
+				.tag("operation", "addObject").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get(DeployerMetrics.FACTORY_METER).tag("kind", "Route")
+				.tag("operation", "applyObject").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void recordBuild() {
+		//@formatter:off
+		Build build = new BuildBuilder()
+			.withNewMetadata()
+				.withName("testapp-source-1")
+				.withCreationTimestamp("2018-07-01T10:00:00Z")
+			.endMetadata()
+			.withNewSpec()
+				.withNewStrategy()
+					.withType("Docker")
+				.endStrategy()
+			.endSpec()
+			.withNewStatus()
+				.withPhase("Complete")
+				.withStartTimestamp("2018-07-01T10:00:30Z")
+				.withCompletionTimestamp("2018-07-01T10:02:30Z")
+			.endStatus()
+			.build();
+		//@formatter:on
+
+		deployerMetrics.recordBuild(build);
+
+		assertThat(meterRegistry.get(DeployerMetrics.BUILD_QUEUED_METER)
+				.tag("strategy", "Docker").tag("outcome", "Complete").timer()
+				.totalTime(TimeUnit.SECONDS)).isEqualTo(30);
+		assertThat(meterRegistry.get(DeployerMetrics.BUILD_RUN_METER)
+				.tag("strategy", "Docker").tag("outcome", "Complete").timer()
+				.totalTime(TimeUnit.SECONDS)).isEqualTo(120);
+	}
+
+	@Test
+	public void recordSupersededBuild() {
+		Build build = new BuildBuilder().withNewSpec().withNewStrategy().withType("Docker")
+				.endStrategy().endSpec().withNewStatus().withPhase("Running").endStatus()
+				.build();
+
+		deployerMetrics.recordSupersededBuild(build);
+
+		assertThat(meterRegistry.get(DeployerMetrics.BUILD_SUPERSEDED_METER)
+				.tag("strategy", "Docker").tag("phase", "Running").counter().count())
+						.isEqualTo(1);
+	}
+
+}
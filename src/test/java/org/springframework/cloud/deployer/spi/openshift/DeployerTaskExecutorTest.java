@@ -0,0 +1,117 @@
+package org.springframework.cloud.deployer.spi.openshift;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class DeployerTaskExecutorTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private DeployerTaskExecutor taskExecutor;
+
+	@Before
+	public void setup() {
+		OpenShiftDeployerProperties.ThreadPool pool = new OpenShiftDeployerProperties.ThreadPool();
+		pool.setCorePoolSize(1);
+		pool.setMaxPoolSize(1);
+		pool.setQueueCapacity(1);
+
+		meterRegistry = new SimpleMeterRegistry();
+		taskExecutor = new DeployerTaskExecutor("openshift-test", pool, meterRegistry);
+		taskExecutor.initialize();
+	}
+
+	@After
+	public void tearDown() {
+		taskExecutor.shutdown();
+	}
+
+	@Test
+	public void exportsQueueDepthAndActiveThreads() throws Exception {
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<?> blocking = taskExecutor.submit(() -> {
+			running.countDown();
+			release.await();
+			return null;
+		});
+		running.await(5, TimeUnit.SECONDS);
+		Future<?> queued = taskExecutor.submit(() -> {
+		});
+
+		assertThat(meterRegistry.get("executor.active").tag("name", "openshift-test")
+				.gauge().value()).isEqualTo(1);
+		assertThat(meterRegistry.get("executor.queued").tag("name", "openshift-test")
+				.gauge().value()).isEqualTo(1);
+
+		release.countDown();
+		blocking.get(5, TimeUnit.SECONDS);
+		queued.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void runsOnCallerWhenFull() throws Exception {
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		taskExecutor.submit(() -> {
+			running.countDown();
+			release.await();
+			return null;
+		});
+		running.await(5, TimeUnit.SECONDS);
+		taskExecutor.submit(() -> {
+		});
+
+		String thread = taskExecutor.submit(() -> Thread.currentThread().getName())
+				.get(5, TimeUnit.SECONDS);
+		release.countDown();
+
+		assertThat(thread).isEqualTo(Thread.currentThread().getName());
+	}
+
+	@Test
+	public void growsToMaxPoolSizeWithoutQueue() throws Exception {
+		OpenShiftDeployerProperties.ThreadPool pool = new OpenShiftDeployerProperties.ThreadPool();
+		pool.setCorePoolSize(1);
+		pool.setMaxPoolSize(2);
+		DeployerTaskExecutor growingExecutor = new DeployerTaskExecutor(
+				"openshift-growing", pool, meterRegistry);
+		growingExecutor.initialize();
+		try {
+			CountDownLatch running = new CountDownLatch(2);
+			CountDownLatch release = new CountDownLatch(1);
+			for (int i = 0; i < 2; i++) {
+				growingExecutor.submit(() -> {
+					running.countDown();
+					release.await();
+					return null;
+				});
+			}
+
+			assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(growingExecutor.getPoolSize()).isEqualTo(2);
+			release.countDown();
+		}
+		finally {
+			growingExecutor.shutdown();
+		}
+	}
+
+	@Test
+	public void namedThreads() throws Exception {
+		String thread = taskExecutor.submit(() -> Thread.currentThread().getName())
+				.get(5, TimeUnit.SECONDS);
+
+		assertThat(thread).startsWith("openshift-test-");
+	}
+
+}
@@ -1,18 +1,52 @@
 package org.springframework.cloud.deployer.spi.openshift;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.Rule;
 import org.junit.Test;
+import org.springframework.cloud.deployer.resource.docker.DockerResource;
+import org.springframework.cloud.deployer.resource.maven.MavenResource;
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
 import org.springframework.cloud.deployer.spi.core.AppDefinition;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.openshift.client.PagedObjectLister;
+import org.springframework.cloud.deployer.spi.openshift.maven.MavenOpenShiftAppDeployer;
+import org.springframework.cloud.deployer.spi.openshift.resources.pod.OpenShiftContainerFactory;
+import org.springframework.cloud.deployer.spi.openshift.resources.volumes.VolumeMountFactory;
 import org.springframework.core.io.Resource;
 
 import com.google.common.collect.ImmutableMap;
 
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.ReplicationController;
+import io.fabric8.kubernetes.api.model.ReplicationControllerBuilder;
+import io.fabric8.openshift.api.model.Build;
+import io.fabric8.openshift.api.model.BuildBuilder;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.DeploymentConfigBuilder;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.fabric8.openshift.client.server.mock.OpenShiftServer;
+
 public class OpenShiftAppDeployerTest {
 
+	@Rule
+	public OpenShiftServer server = new OpenShiftServer(false, true);
+
 	@Test
 	public void enableKubernetedDeployerCompatibility() {
 		AppDeploymentRequest openShiftRequest = new AppDeploymentRequest(
@@ -27,4 +61,392 @@ public class OpenShiftAppDeployerTest {
 				new ImmutablePair<>("spring.cloud.deployer.openshift.memory", "8Mi"));
 	}
 
+	@Test
+	public void undeployIndexedApp() {
+		OpenShiftClient client = server.getOpenshiftClient();
+		OpenShiftAppDeployer appDeployer = appDeployer(client);
+
+		String appId = appDeployer.deploy(new AppDeploymentRequest(
+				new AppDefinition("testapp-source", null),
+				new DockerResource("springcloud/testapp:latest"),
+				ImmutableMap.of(AppDeployer.COUNT_PROPERTY_KEY, "3",
+						AppDeployer.INDEXED_PROPERTY_KEY, "true")));
+		assertThat(client.deploymentConfigs().withLabel("spring-app-id", appId).list()
+				.getItems()).hasSize(3);
+
+		appDeployer.undeploy(appId);
+
+		assertThat(client.deploymentConfigs().withLabel("spring-app-id", appId).list()
+				.getItems()).isEmpty();
+		assertThat(client.services().withLabel("spring-app-id", appId).list()
+				.getItems()).isEmpty();
+	}
+
+	@Test
+	public void undeployStream() {
+		OpenShiftClient client = server.getOpenshiftClient();
+		OpenShiftAppDeployer appDeployer = appDeployer(client);
+
+		List<String> appIds = Stream.of("ticktock-time", "ticktock-log")
+				.map(app -> appDeployer.deploy(new AppDeploymentRequest(
+						new AppDefinition(app, null),
+						new DockerResource("springcloud/testapp:latest"))))
+				.collect(Collectors.toList());
+
+		appDeployer.undeploy(appIds);
+
+		assertThat(client.deploymentConfigs().list().getItems()).isEmpty();
+		assertThat(client.services().list().getItems()).isEmpty();
+	}
+
+	@Test
+	public void undeployStreamNotDeployed() {
+		OpenShiftClient client = server.getOpenshiftClient();
+		OpenShiftAppDeployer appDeployer = appDeployer(client);
+
+		String appId = appDeployer.deploy(
+				new AppDeploymentRequest(new AppDefinition("ticktock-time", null),
+						new DockerResource("springcloud/testapp:latest")));
+
+		assertThatThrownBy(
+				() -> appDeployer.undeploy(Arrays.asList(appId, "ticktock-log")))
+						.isInstanceOf(IllegalStateException.class)
+						.hasMessageContaining("ticktock-log");
+		assertThat(client.deploymentConfigs().withLabel("spring-app-id", appId).list()
+				.getItems()).hasSize(1);
+	}
+
+	@Test
+	public void deployBatch() throws Exception {
+		OpenShiftClient client = server.getOpenshiftClient();
+		OpenShiftAppDeployer appDeployer = appDeployer(client);
+
+		BatchDeployment deployment = appDeployer.deploy(Stream
+				.of("ticktock-time", "ticktock-log")
+				.map(app -> new AppDeploymentRequest(new AppDefinition(app, null),
+						new DockerResource("springcloud/testapp:latest")))
+				.collect(Collectors.toList()));
+
+		assertThat(deployment.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(deployment.getAppIds()).containsExactly("ticktock-time",
+				"ticktock-log");
+		assertThat(client.deploymentConfigs().list().getItems()).hasSize(2);
+		assertThat(client.services().list().getItems()).hasSize(2);
+	}
+
+	@Test
+	public void deployBatchAlreadyDeployed() {
+		OpenShiftClient client = server.getOpenshiftClient();
+		OpenShiftAppDeployer appDeployer = appDeployer(client);
+		appDeployer.deploy(new AppDeploymentRequest(new AppDefinition("ticktock-log", null),
+				new DockerResource("springcloud/testapp:latest")));
+
+		assertThatThrownBy(() -> appDeployer.deploy(Stream
+				.of("ticktock-time", "ticktock-log")
+				.map(app -> new AppDeploymentRequest(new AppDefinition(app, null),
+						new DockerResource("springcloud/testapp:latest")))
+				.collect(Collectors.toList()))).isInstanceOf(IllegalStateException.class)
+						.hasMessageContaining("ticktock-log");
+		assertThat(client.deploymentConfigs().list().getItems()).hasSize(1);
+	}
+
+	@Test
+	public void deployMixedBatchAlreadyDeployed() {
+		OpenShiftClient client = server.getOpenshiftClient();
+		OpenShiftAppDeployer appDeployer = appDeployer(client);
+		ResourceAwareOpenShiftAppDeployer batchDeployer = resourceAwareAppDeployer(
+				appDeployer, client);
+		appDeployer.deploy(new AppDeploymentRequest(new AppDefinition("ticktock-log", null),
+				new DockerResource("springcloud/testapp:latest")));
+
+		assertThatThrownBy(() -> batchDeployer.deploy(Arrays.asList(
+				new AppDeploymentRequest(new AppDefinition("ticktock-time", null),
+						MavenResource.parse("org.test:ticktock-time:1.0.0")),
+				new AppDeploymentRequest(new AppDefinition("ticktock-log", null),
+						new DockerResource("springcloud/testapp:latest")))))
+								.isInstanceOf(IllegalStateException.class)
+								.hasMessageContaining("ticktock-log");
+		assertThat(client.deploymentConfigs().list().getItems()).hasSize(1);
+	}
+
+	@Test
+	public void deployMixedBatchDuplicateApp() {
+		OpenShiftClient client = server.getOpenshiftClient();
+		ResourceAwareOpenShiftAppDeployer batchDeployer = resourceAwareAppDeployer(
+				appDeployer(client), client);
+
+		assertThatThrownBy(() -> batchDeployer.deploy(Arrays.asList(
+				new AppDeploymentRequest(new AppDefinition("ticktock-time", null),
+						MavenResource.parse("org.test:ticktock-time:1.0.0")),
+				new AppDeploymentRequest(new AppDefinition("ticktock-time", null),
+						new DockerResource("springcloud/testapp:latest")))))
+								.isInstanceOf(IllegalArgumentException.class)
+								.hasMessageContaining("ticktock-time");
+		assertThat(client.deploymentConfigs().list().getItems()).isEmpty();
+	}
+
+	@Test
+	public void deployAlreadyDeployed() {
+		OpenShiftClient client = server.getOpenshiftClient();
+		OpenShiftAppDeployer appDeployer = appDeployer(client);
+		AppDeploymentRequest request = new AppDeploymentRequest(
+				new AppDefinition("testapp-source", null),
+				new DockerResource("springcloud/testapp:latest"));
+
+		// not rolled out by the mock server, the DeploymentConfig marks the app deployed
+		appDeployer.deploy(request);
+
+		assertThatThrownBy(() -> appDeployer.deploy(request))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("App 'testapp-source' is already deployed");
+	}
+
+	@Test
+	public void scaleApp() {
+		OpenShiftClient client = server.getOpenshiftClient();
+		OpenShiftAppDeployer appDeployer = appDeployer(client);
+		String appId = appDeployer.deploy(
+				new AppDeploymentRequest(new AppDefinition("testapp-source", null),
+						new DockerResource("springcloud/testapp:latest")));
+
+		appDeployer.scale(appId, 3);
+
+		assertThat(client.deploymentConfigs().withName(appId).get().getSpec()
+				.getReplicas()).isEqualTo(3);
+	}
+
+	@Test
+	public void scaleIndexedApp() {
+		OpenShiftClient client = server.getOpenshiftClient();
+		OpenShiftAppDeployer appDeployer = appDeployer(client);
+		String appId = appDeployer.deploy(new AppDeploymentRequest(
+				new AppDefinition("testapp-source", null),
+				new DockerResource("springcloud/testapp:latest"),
+				ImmutableMap.of(AppDeployer.COUNT_PROPERTY_KEY, "2",
+						AppDeployer.INDEXED_PROPERTY_KEY, "true")));
+		String resourceVersion = client.deploymentConfigs().withName(appId + "-0").get()
+				.getMetadata().getResourceVersion();
+
+		appDeployer.scale(appId, 3);
+
+		assertThat(client.deploymentConfigs().withLabel("spring-app-id", appId).list()
+				.getItems()).extracting(deploymentConfig -> deploymentConfig
+						.getMetadata().getName())
+						.containsOnly(appId + "-0", appId + "-1", appId + "-2");
+		assertThat(client.services().withName(appId + "-2").get().getSpec()
+				.getSelector()).containsEntry("spring-deployment-id", appId + "-2");
+		assertThat(client.deploymentConfigs().withName(appId + "-2").get().getSpec()
+				.getTemplate().getSpec().getContainers().get(0).getEnv())
+						.contains(new EnvVar(AppDeployer.INSTANCE_INDEX_PROPERTY_KEY,
+								"2", null));
+		// the existing instances are not touched
+		assertThat(client.deploymentConfigs().withName(appId + "-0").get()
+				.getMetadata().getResourceVersion()).isEqualTo(resourceVersion);
+
+		appDeployer.scale(appId, 1);
+
+		assertThat(client.deploymentConfigs().withLabel("spring-app-id", appId).list()
+				.getItems()).extracting(deploymentConfig -> deploymentConfig
+						.getMetadata().getName()).containsOnly(appId + "-0");
+		assertThat(client.services().withLabel("spring-app-id", appId).list()
+				.getItems()).hasSize(1);
+	}
+
+	@Test
+	public void scaleIndexedAppWithServiceName() {
+		OpenShiftClient client = server.getOpenshiftClient();
+		OpenShiftAppDeployer appDeployer = appDeployer(client);
+		String appId = appDeployer.deploy(new AppDeploymentRequest(
+				new AppDefinition("testapp-source", null),
+				new DockerResource("springcloud/testapp:latest"),
+				ImmutableMap.of(AppDeployer.COUNT_PROPERTY_KEY, "2",
+						AppDeployer.INDEXED_PROPERTY_KEY, "true",
+						OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_SERVICE_NAME,
+						"testapp")));
+
+		appDeployer.scale(appId, 3);
+
+		assertThat(client.deploymentConfigs().withName(appId + "-2").get()).isNotNull();
+		assertThat(client.services().withLabel("spring-app-id", appId).list()
+				.getItems()).extracting(service -> service.getMetadata().getName())
+						.containsExactly("testapp");
+	}
+
+	@Test
+	public void scaleIndexedAppWithImageChangeTrigger() {
+		OpenShiftClient client = server.getOpenshiftClient();
+		client.deploymentConfigs().create(indexedDeploymentConfig("testapp-source-0"));
+		// not an instance of the app
+		client.deploymentConfigs()
+				.create(indexedDeploymentConfig("testapp-source-canary"));
+
+		appDeployer(client).scale("testapp-source", 2);
+
+		DeploymentConfig added = client.deploymentConfigs().withName("testapp-source-1")
+				.get();
+		assertThat(added.getSpec().getTemplate().getSpec().getContainers())
+				.extracting(Container::getName).containsExactly("testapp-source-1");
+		assertThat(added.getSpec().getTriggers().get(0).getImageChangeParams()
+				.getContainerNames()).containsExactly("testapp-source-1");
+		assertThat(client.services().list().getItems()).isEmpty();
+		assertThat(client.deploymentConfigs().withName("testapp-source-canary").get())
+				.isNotNull();
+	}
+
+	@Test
+	public void scaleNotDeployed() {
+		assertThatThrownBy(() -> appDeployer(server.getOpenshiftClient())
+				.scale("testapp-source", 2)).isInstanceOf(IllegalStateException.class)
+						.hasMessage("App 'testapp-source' is not deployed");
+	}
+
+	@Test
+	public void statusFromDeploymentConfigConditions() {
+		OpenShiftClient client = server.getOpenshiftClient();
+		client.deploymentConfigs().create(new DeploymentConfigBuilder().withNewMetadata()
+				.withName("testapp-source").addToLabels("spring-app-id", "testapp-source")
+				.endMetadata().withNewStatus().withLatestVersion(2L)
+				.addNewCondition().withType("Progressing").withStatus("False")
+				.withReason("ProgressDeadlineExceeded").endCondition().endStatus()
+				.build());
+
+		AppStatus status = appDeployer(client).status("testapp-source");
+
+		assertThat(status.getState()).isEqualTo(DeploymentState.failed);
+		assertThat(status.getInstances().get("testapp-source").getAttributes())
+				.containsEntry("reason", "ProgressDeadlineExceeded");
+	}
+
+	@Test
+	public void statusFromLatestReplicationController() {
+		OpenShiftClient client = server.getOpenshiftClient();
+		client.deploymentConfigs().create(new DeploymentConfigBuilder().withNewMetadata()
+				.withName("testapp-source").addToLabels("spring-app-id", "testapp-source")
+				.endMetadata().withNewStatus().withLatestVersion(2L).endStatus().build());
+		client.replicationControllers().create(replicationController("testapp-source-1",
+				"Failed"));
+		client.replicationControllers().create(replicationController("testapp-source-2",
+				"Running"));
+
+		assertThat(appDeployer(client).status("testapp-source").getState())
+				.isEqualTo(DeploymentState.deploying);
+	}
+
+	@Test
+	public void statusOfLatestFailedBuild() {
+		OpenShiftClient client = server.getOpenshiftClient();
+		client.deploymentConfigs().create(new DeploymentConfigBuilder().withNewMetadata()
+				.withName("testapp-source").addToLabels("spring-app-id", "testapp-source")
+				.endMetadata().withNewStatus().withLatestVersion(1L).endStatus().build());
+		client.replicationControllers().create(new ReplicationControllerBuilder(
+				replicationController("testapp-source-1", "Complete")).editMetadata()
+						.withCreationTimestamp("2018-02-10T10:00:00Z").endMetadata()
+						.build());
+
+		AppStatus status = appDeployer(client, builds(10, "Failed"))
+				.status("testapp-source");
+
+		assertThat(status.getState()).isEqualTo(DeploymentState.failed);
+		assertThat(status.getInstances().get("N/A").getAttributes())
+				.containsEntry("build.phase", "Failed");
+	}
+
+	@Test
+	public void statusOfFailedBuildRolledOutSince() {
+		OpenShiftClient client = server.getOpenshiftClient();
+		client.deploymentConfigs().create(new DeploymentConfigBuilder().withNewMetadata()
+				.withName("testapp-source").addToLabels("spring-app-id", "testapp-source")
+				.endMetadata().withNewStatus().withLatestVersion(2L).endStatus().build());
+		client.replicationControllers().create(new ReplicationControllerBuilder(
+				replicationController("testapp-source-2", "Complete")).editMetadata()
+						.withCreationTimestamp("2018-02-10T12:00:00Z").endMetadata()
+						.build());
+
+		assertThat(appDeployer(client, builds(10, "Failed")).status("testapp-source")
+				.getState()).isEqualTo(DeploymentState.deployed);
+	}
+
+	/**
+	 * Complete Builds 1 to count - 1, listed by name as the server does, followed by the
+	 * last Build in the provided phase, which ended at 11:00.
+	 */
+	private List<Build> builds(int count, String phase) {
+		List<Build> builds = new ArrayList<>();
+		for (int number = 1; number <= count; number++) {
+			builds.add(new BuildBuilder().withNewMetadata()
+					.withName("testapp-source-" + number)
+					.addToLabels("spring-app-id", "testapp-source")
+					.addToAnnotations("openshift.io/build.number", String.valueOf(number))
+					.withCreationTimestamp(String.format("2018-02-10T%02d:00:00Z", number))
+					.endMetadata().withNewStatus()
+					.withPhase((number == count) ? phase : "Complete")
+					.withCompletionTimestamp(
+							String.format("2018-02-10T%02d:00:00Z", number + 1))
+					.endStatus().build());
+		}
+		builds.sort((first, second) -> first.getMetadata().getName()
+				.compareTo(second.getMetadata().getName()));
+		return builds;
+	}
+
+	private OpenShiftAppDeployer appDeployer(OpenShiftClient client, List<Build> builds) {
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		PagedObjectLister objectLister = mock(PagedObjectLister.class);
+		when(objectLister.builds("testapp-source"))
+				.thenAnswer(invocation -> builds.stream());
+		return new OpenShiftAppDeployer(properties, client, new OpenShiftContainerFactory(
+				properties, new VolumeMountFactory(properties))) {
+
+			@Override
+			protected PagedObjectLister getObjectLister() {
+				return objectLister;
+			}
+		};
+	}
+
+	private OpenShiftAppDeployer appDeployer(OpenShiftClient client) {
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		properties.setUndeployDelay(0);
+		// nothing scales the mock server's DeploymentConfigs down
+		properties.setScaleDownTimeout(100);
+		return new OpenShiftAppDeployer(properties, client, new OpenShiftContainerFactory(
+				properties, new VolumeMountFactory(properties)));
+	}
+
+	private ResourceAwareOpenShiftAppDeployer resourceAwareAppDeployer(
+			OpenShiftAppDeployer appDeployer, OpenShiftClient client) {
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		return new ResourceAwareOpenShiftAppDeployer(appDeployer,
+				new MavenOpenShiftAppDeployer(properties, client,
+						new OpenShiftContainerFactory(properties,
+								new VolumeMountFactory(properties)),
+						null, null, new ResourceHash()));
+	}
+
+	/**
+	 * An instance of an indexed app built from a Maven artifact, rolled out by an image
+	 * change trigger.
+	 */
+	private DeploymentConfig indexedDeploymentConfig(String name) {
+		Map<String, String> labels = ImmutableMap.of("spring-app-id", "testapp-source",
+				"spring-deployment-id", name);
+		return new DeploymentConfigBuilder().withNewMetadata().withName(name)
+				.withLabels(labels).endMetadata().withNewSpec().withReplicas(1)
+				.withSelector(labels).withNewTemplate().withNewMetadata()
+				.withLabels(labels).endMetadata().withNewSpec()
+				.addNewContainer().withName(name).withImage("testapp-source:latest")
+				.endContainer().endSpec().endTemplate()
+				.addNewTrigger().withType("ImageChange").withNewImageChangeParams()
+				.withContainerNames(name).withAutomatic(true).withNewFrom()
+				.withKind("ImageStreamTag").withName("testapp-source:latest").endFrom()
+				.endImageChangeParams().endTrigger().endSpec().build();
+	}
+
+	private ReplicationController replicationController(String name, String phase) {
+		return new ReplicationControllerBuilder().withNewMetadata().withName(name)
+				.addToLabels("spring-app-id", "testapp-source")
+				.addToAnnotations("openshift.io/deployment.phase", phase).endMetadata()
+				.build();
+	}
+
 }
@@ -39,4 +39,78 @@ public class OpenShiftAppInstanceStatusTest {
 		assertThat(state).isEqualTo(DeploymentState.deploying);
 	}
 
+	@Test
+	public void getAttributes() {
+		appInstanceStatus = new OpenShiftAppInstanceStatus(
+				new PodBuilder().withNewMetadata().withName("test-pod").endMetadata()
+						.withNewSpec().withNodeName("node-1").endSpec().withNewStatus()
+						.withContainerStatuses(new ContainerStatusBuilder()
+								.withReady(false).withRestartCount(2).build())
+						.withPodIP("10.1.0.2").withPhase("Running").endStatus().build(),
+				new OpenShiftDeployerProperties(), new BuildBuilder().withNewStatus()
+						.withPhase("Complete").endStatus().build());
+
+		assertThat(appInstanceStatus.getId()).isEqualTo("test-pod");
+		assertThat(appInstanceStatus.getState()).isEqualTo(DeploymentState.deploying);
+		assertThat(appInstanceStatus.getAttributes()).containsEntry("pod.ip", "10.1.0.2")
+				.containsEntry("node", "node-1").containsEntry("phase", "Running")
+				.containsEntry("container.restartCount", "2")
+				.containsEntry("build.phase", "Complete")
+				.doesNotContainKey("host.ip");
+	}
+
+	@Test
+	public void getAttributesWithoutContainerReadiness() {
+		appInstanceStatus = new OpenShiftAppInstanceStatus(
+				new PodBuilder().withNewMetadata().withName("test-pod").endMetadata()
+						.withNewStatus()
+						.withContainerStatuses(new ContainerStatusBuilder().build())
+						.withPhase("Pending").endStatus().build(),
+				new OpenShiftDeployerProperties(), null);
+
+		assertThat(appInstanceStatus.getAttributes())
+				.doesNotContainKeys("container.ready", "container.restartCount");
+	}
+
+	@Test
+	public void getStateWithCrashLoopBackOff() {
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		properties.setMaxCrashLoopBackOffRestarts(1);
+		appInstanceStatus = new OpenShiftAppInstanceStatus(new PodBuilder()
+				.withNewMetadata().withName("test-pod").endMetadata().withNewStatus()
+				.withContainerStatuses(new ContainerStatusBuilder().withReady(false)
+						.withRestartCount(2).withNewState().withNewWaiting()
+						.withReason("CrashLoopBackOff").endWaiting().endState().build())
+				.withPhase("Running").endStatus().build(), properties, null);
+
+		assertThat(appInstanceStatus.getState()).isEqualTo(DeploymentState.failed);
+	}
+
+	@Test
+	public void getStateWithFailedBuild() {
+		appInstanceStatus = new OpenShiftAppInstanceStatus(null, null,
+				new BuildBuilder().withNewStatus().withPhase("Failed")
+						.withReason("DockerBuildFailed").endStatus().build());
+
+		assertThat(appInstanceStatus.getState()).isEqualTo(DeploymentState.failed);
+		assertThat(appInstanceStatus.getAttributes())
+				.containsEntry("reason", "DockerBuildFailed")
+				.containsEntry("build.phase", "Failed");
+	}
+
+	@Test
+	public void getStateWithImagePullBackOff() {
+		appInstanceStatus = new OpenShiftAppInstanceStatus(new PodBuilder()
+				.withNewMetadata().withName("test-pod").endMetadata().withNewStatus()
+				.withContainerStatuses(new ContainerStatusBuilder().withReady(false)
+						.withRestartCount(0).withNewState().withNewWaiting()
+						.withReason("ImagePullBackOff").endWaiting().endState().build())
+				.withPhase("Pending").endStatus().build(),
+				new OpenShiftDeployerProperties(), null);
+
+		assertThat(appInstanceStatus.getState()).isEqualTo(DeploymentState.failed);
+		assertThat(appInstanceStatus.getAttributes()).containsEntry("reason",
+				"ImagePullBackOff");
+	}
+
 }
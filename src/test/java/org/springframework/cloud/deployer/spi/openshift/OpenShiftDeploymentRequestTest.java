@@ -0,0 +1,88 @@
+package org.springframework.cloud.deployer.spi.openshift;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.Map;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.Test;
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.core.io.Resource;
+
+import com.google.common.collect.ImmutableMap;
+
+public class OpenShiftDeploymentRequestTest {
+
+	@Test
+	public void parseDeploymentProperties() {
+		OpenShiftDeploymentRequest request = OpenShiftDeploymentRequest
+				.of(request(ImmutableMap.<String, String>builder()
+						.put(AppDeployer.COUNT_PROPERTY_KEY, "3")
+						.put(AppDeployer.INDEXED_PROPERTY_KEY, "true")
+						.put(OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_LABELS,
+								"group=test, tier = backend")
+						.put(OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_SERVICE_NAME,
+								"testservice")
+						.put(OpenShiftDeploymentPropertyKeys.OPENSHIFT_CREATE_NODE_PORT,
+								"30001")
+						.put(OpenShiftDeploymentPropertyKeys.OPENSHIFT_BUILD_FORCE, "TRUE")
+						.build()));
+
+		assertThat(request.getErrors()).isEmpty();
+		assertThat(request.getInstanceCount()).isEqualTo(3);
+		assertThat(request.isIndexed()).isTrue();
+		assertThat(request.getLabels()).containsEntry("group", "test")
+				.containsEntry("tier", "backend");
+		assertThat(request.getServiceName("testapp")).isEqualTo("testservice");
+		assertThat(request.getCreateNodePort()).isEqualTo("30001");
+		assertThat(request.getCreateRoute()).isNull();
+		assertThat(request.getForceBuild()).isTrue();
+		assertThat(request.getImageTag("latest")).isEqualTo("latest");
+	}
+
+	@Test
+	public void kubernetesDeployerCompatibility() {
+		OpenShiftDeploymentRequest request = OpenShiftDeploymentRequest.of(request(
+				ImmutableMap.of("spring.cloud.deployer.openshift.memory", "8Mi")));
+
+		assertThat(request.getDeploymentProperties()).contains(
+				new ImmutablePair<>("spring.cloud.deployer.kubernetes.memory", "8Mi"),
+				new ImmutablePair<>("spring.cloud.deployer.openshift.memory", "8Mi"));
+	}
+
+	@Test
+	public void parsedOnlyOnce() {
+		OpenShiftDeploymentRequest request = OpenShiftDeploymentRequest
+				.of(request(ImmutableMap.of()));
+
+		assertThat(OpenShiftDeploymentRequest.of(request)).isSameAs(request);
+		assertThat(request.getInstanceCount()).isEqualTo(1);
+		assertThat(request.isIndexed()).isFalse();
+		assertThat(request.getLabels()).isEmpty();
+	}
+
+	@Test
+	public void errorsAreCollected() {
+		OpenShiftDeploymentRequest request = OpenShiftDeploymentRequest
+				.of(request(ImmutableMap.of(AppDeployer.COUNT_PROPERTY_KEY, "two",
+						OpenShiftDeploymentPropertyKeys.OPENSHIFT_DEPLOYMENT_LABELS,
+						"group=test,invalid",
+						OpenShiftDeploymentPropertyKeys.OPENSHIFT_CREATE_ROUTE, "true",
+						OpenShiftDeploymentPropertyKeys.OPENSHIFT_CREATE_NODE_PORT,
+						"true")));
+
+		assertThat(request.getErrors()).containsExactly(
+				"Invalid instance count 'two', must be a number",
+				"Invalid label value: 'invalid'",
+				"Cannot create NodePort and LoadBalancer at the same time.");
+	}
+
+	private AppDeploymentRequest request(Map<String, String> deploymentProperties) {
+		return new AppDeploymentRequest(new AppDefinition("testapp", null),
+				mock(Resource.class), deploymentProperties);
+	}
+
+}
@@ -0,0 +1,58 @@
+package org.springframework.cloud.deployer.spi.openshift;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class VirtualThreadTaskExecutorTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	public void runsOnNamedVirtualThreads() throws Exception {
+		assumeTrue(VirtualThreadTaskExecutor.isSupported());
+
+		VirtualThreadTaskExecutor taskExecutor = new VirtualThreadTaskExecutor(
+				"openshift-test", 1000, meterRegistry);
+		try {
+			CountDownLatch running = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			Future<String> thread = taskExecutor.submit(() -> {
+				running.countDown();
+				release.await();
+				return Thread.currentThread().getName();
+			});
+			running.await(5, TimeUnit.SECONDS);
+
+			assertThat(meterRegistry.get("executor.active").tag("name", "openshift-test")
+					.gauge().value()).isEqualTo(1);
+
+			release.countDown();
+			assertThat(thread.get(5, TimeUnit.SECONDS)).startsWith("openshift-test-");
+			assertThat(meterRegistry.get("executor").tag("name", "openshift-test")
+					.timer().count()).isEqualTo(1);
+		}
+		finally {
+			taskExecutor.destroy();
+		}
+	}
+
+	@Test
+	public void notSupported() {
+		assumeFalse(VirtualThreadTaskExecutor.isSupported());
+
+		assertThatThrownBy(
+				() -> new VirtualThreadTaskExecutor("openshift-test", 1000, meterRegistry))
+						.isInstanceOf(IllegalStateException.class);
+	}
+
+}
@@ -0,0 +1,90 @@
+package org.springframework.cloud.deployer.spi.openshift.client;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.assertj.core.api.AbstractAssert;
+
+/**
+ * Assertions on the OpenShift API calls counted by an
+ * {@link ApiCallCountingInterceptor}, to keep operations within a call budget. E.g.
+ *
+ * <pre>
+ * ApiCallAssert.assertThat(apiCallCounter).operation("deploy").hasAtMostCalls(12)
+ * 		.hasAtMostCalls("list", "pods", 1);
+ * </pre>
+ */
+public class ApiCallAssert extends AbstractAssert<ApiCallAssert, ApiCallCountingInterceptor> {
+
+	private String operation;
+
+	public ApiCallAssert(ApiCallCountingInterceptor actual) {
+		super(actual, ApiCallAssert.class);
+	}
+
+	public static ApiCallAssert assertThat(ApiCallCountingInterceptor actual) {
+		return new ApiCallAssert(actual);
+	}
+
+	/**
+	 * Restrict the following assertions to the calls made for the logical operation.
+	 */
+	public ApiCallAssert operation(String operation) {
+		this.operation = operation;
+		return this;
+	}
+
+	public ApiCallAssert hasAtMostCalls(long budget) {
+		return hasAtMostCalls(budget, 1);
+	}
+
+	/**
+	 * Verify the calls made for the operation, on average over the given number of
+	 * invocations, stay within the budget.
+	 * @param budget the maximum number of calls per invocation
+	 * @param invocations the number of times the operation was invoked
+	 */
+	public ApiCallAssert hasAtMostCalls(long budget, int invocations) {
+		isNotNull();
+		Map<ApiCall, Long> calls = calls(null, null);
+		long total = calls.values().stream().mapToLong(Long::longValue).sum();
+		if (total > budget * invocations) {
+			failWithMessage("Expected <%s> to make at most <%s> API calls per invocation "
+					+ "but made <%s> over <%s> invocations:%n%s", operation(), budget,
+					total, invocations, format(calls));
+		}
+		return this;
+	}
+
+	public ApiCallAssert hasAtMostCalls(String verb, String resource, long budget) {
+		isNotNull();
+		Map<ApiCall, Long> calls = calls(verb, resource);
+		long total = calls.values().stream().mapToLong(Long::longValue).sum();
+		if (total > budget) {
+			failWithMessage("Expected <%s> to make at most <%s> '%s %s' API calls but made <%s>",
+					operation(), budget, verb, resource, total);
+		}
+		return this;
+	}
+
+	private Map<ApiCall, Long> calls(String verb, String resource) {
+		return actual.getCalls().entrySet().stream()
+				.filter(entry -> operation == null
+						|| entry.getKey().getOperation().equals(operation))
+				.filter(entry -> verb == null || entry.getKey().getVerb().equals(verb))
+				.filter(entry -> resource == null
+						|| entry.getKey().getResource().equals(resource))
+				.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+	}
+
+	private String operation() {
+		return (operation != null) ? operation : "all operations";
+	}
+
+	private String format(Map<ApiCall, Long> calls) {
+		return calls.entrySet().stream()
+				.map(entry -> "  " + entry.getKey() + ": " + entry.getValue())
+				.sorted().collect(Collectors.joining(System.lineSeparator()));
+	}
+
+}
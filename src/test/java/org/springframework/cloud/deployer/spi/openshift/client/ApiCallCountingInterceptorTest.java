@@ -0,0 +1,153 @@
+package org.springframework.cloud.deployer.spi.openshift.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+public class ApiCallCountingInterceptorTest {
+
+	@Rule
+	public MockWebServer server = new MockWebServer();
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private ApiCallCountingInterceptor apiCallCounter;
+
+	private OkHttpClient httpClient;
+
+	@Before
+	public void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+		apiCallCounter = new ApiCallCountingInterceptor(meterRegistry);
+		httpClient = new OkHttpClient.Builder().addInterceptor(apiCallCounter).build();
+	}
+
+	@Test
+	public void apiCallOfRequest() {
+		assertThat(ApiCall.of("deploy", request("GET", "/api/v1/namespaces/test/pods")))
+				.isEqualTo(new ApiCall("deploy", "list", "pods"));
+		assertThat(ApiCall.of("deploy",
+				request("GET", "/oapi/v1/namespaces/test/routes/testapp-source")))
+						.isEqualTo(new ApiCall("deploy", "get", "routes"));
+		assertThat(ApiCall.of("deploy",
+				request("GET", "/oapi/v1/namespaces/test/builds?watch=true")))
+						.isEqualTo(new ApiCall("deploy", "watch", "builds"));
+		assertThat(ApiCall.of("deploy", request("POST",
+				"/oapi/v1/namespaces/test/buildconfigs/testapp-source/instantiatebinary")))
+						.isEqualTo(new ApiCall("deploy", "create",
+								"buildconfigs/instantiatebinary"));
+		assertThat(ApiCall.of("undeploy",
+				request("DELETE", "/apis/apps.openshift.io/v1/namespaces/test/"
+						+ "deploymentconfigs/testapp-source")))
+								.isEqualTo(new ApiCall("undeploy", "delete",
+										"deploymentconfigs"));
+		assertThat(ApiCall.of("undeploy",
+				request("DELETE", "/api/v1/namespaces/test/services")))
+						.isEqualTo(new ApiCall("undeploy", "deletecollection",
+								"services"));
+		assertThat(ApiCall.of("status", request("GET", "/api/v1/namespaces/test")))
+				.isEqualTo(new ApiCall("status", "get", "namespaces"));
+	}
+
+	@Test
+	public void countPerOperation() throws IOException {
+		server.enqueue(new MockResponse().setResponseCode(200));
+		server.enqueue(new MockResponse().setResponseCode(201));
+		server.enqueue(new MockResponse().setResponseCode(200));
+
+		ApiCallContext.operation("deploy", () -> {
+			execute("GET", "/api/v1/namespaces/test/pods");
+			// nested operations are attributed to the outermost operation
+			ApiCallContext.operation("status",
+					() -> execute("POST", "/api/v1/namespaces/test/services"));
+		});
+		execute("GET", "/api/v1/namespaces/test/pods");
+
+		assertThat(apiCallCounter.getCalls("deploy")).isEqualTo(2);
+		assertThat(apiCallCounter.getCalls("status")).isZero();
+		assertThat(apiCallCounter.getCalls(ApiCallContext.NO_OPERATION)).isEqualTo(1);
+		assertThat(apiCallCounter.getTotalCalls()).isEqualTo(3);
+		assertThat(meterRegistry.get(ApiCallCountingInterceptor.CALLS_METER)
+				.tag("operation", "deploy").tag("verb", "create")
+				.tag("resource", "services").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void countPropagatedOperation() throws Exception {
+		server.enqueue(new MockResponse().setResponseCode(200));
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> call = ApiCallContext.operation("undeploy",
+					() -> executorService.submit(ApiCallContext.propagate(() -> {
+						execute("DELETE", "/api/v1/namespaces/test/pods");
+						return null;
+					})));
+			call.get(5, TimeUnit.SECONDS);
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+
+		assertThat(apiCallCounter.getCalls("undeploy")).isEqualTo(1);
+		assertThat(apiCallCounter.getCalls(ApiCallContext.NO_OPERATION)).isZero();
+	}
+
+	@Test
+	public void assertCallBudget() {
+		server.enqueue(new MockResponse().setResponseCode(200));
+		server.enqueue(new MockResponse().setResponseCode(200));
+
+		ApiCallContext.operation("status", () -> {
+			execute("GET", "/api/v1/namespaces/test/pods");
+			execute("GET", "/api/v1/namespaces/test/pods");
+		});
+
+		ApiCallAssert.assertThat(apiCallCounter).operation("status").hasAtMostCalls(2)
+				.hasAtMostCalls("list", "pods", 2).hasAtMostCalls("list", "services", 0);
+		try {
+			ApiCallAssert.assertThat(apiCallCounter).operation("status")
+					.hasAtMostCalls(1);
+			fail("Expected the call budget to be exceeded");
+		}
+		catch (AssertionError e) {
+			assertThat(e.getMessage()).contains("status list pods: 2");
+		}
+	}
+
+	private void execute(String method, String path) {
+		try {
+			httpClient.newCall(request(method, path)).execute().close();
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private Request request(String method, String path) {
+		return new Request.Builder().url(server.url(path))
+				.method(method,
+						"GET".equals(method) || "DELETE".equals(method) ? null
+								: RequestBody.create(MediaType.parse("application/json"),
+										"{}"))
+				.build();
+	}
+
+}
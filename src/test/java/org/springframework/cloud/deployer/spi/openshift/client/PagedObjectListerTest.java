@@ -0,0 +1,73 @@
+package org.springframework.cloud.deployer.spi.openshift.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.openshift.client.DefaultOpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftConfigBuilder;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class PagedObjectListerTest {
+
+	@Rule
+	public MockWebServer server = new MockWebServer();
+
+	private PagedObjectLister objectLister;
+
+	@Before
+	public void setup() {
+		objectLister = new PagedObjectLister(
+				new DefaultOpenShiftClient(new OpenShiftConfigBuilder()
+						.withMasterUrl(server.url("/").toString()).withNamespace("test")
+						.build()),
+				1);
+	}
+
+	@Test
+	public void listsAllPages() throws Exception {
+		server.enqueue(page("continue-1", "testapp-source-1"));
+		server.enqueue(page("", "testapp-source-2"));
+
+		List<String> names = objectLister.podMetadata("testapp-source")
+				.map(ObjectMeta::getName).collect(Collectors.toList());
+
+		assertThat(names).containsExactly("testapp-source-1", "testapp-source-2");
+		RecordedRequest first = server.takeRequest();
+		assertThat(first.getRequestUrl().encodedPath())
+				.isEqualTo("/api/v1/namespaces/test/pods");
+		assertThat(first.getRequestUrl().queryParameter("labelSelector"))
+				.isEqualTo("spring-app-id in (testapp-source)");
+		assertThat(first.getRequestUrl().queryParameter("limit")).isEqualTo("1");
+		assertThat(first.getHeader("Accept")).contains("PartialObjectMetadataList");
+		assertThat(server.takeRequest().getRequestUrl().queryParameter("continue"))
+				.isEqualTo("continue-1");
+	}
+
+	@Test
+	public void stopsListingWhenShortCircuited() {
+		server.enqueue(page("continue-1", "testapp-source-1"));
+		server.enqueue(page("", "testapp-source-2"));
+
+		boolean found = objectLister.buildMetadata("testapp-source")
+				.anyMatch(build -> build.getName().equals("testapp-source-1"));
+
+		assertThat(found).isTrue();
+		assertThat(server.getRequestCount()).isEqualTo(1);
+	}
+
+	private MockResponse page(String continueToken, String name) {
+		return new MockResponse().setBody(String.format(
+				"{\"metadata\":{\"continue\":\"%s\"},\"items\":[{\"metadata\":{\"name\":\"%s\"}}]}",
+				continueToken, name));
+	}
+
+}
@@ -0,0 +1,99 @@
+package org.springframework.cloud.deployer.spi.openshift.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.client.RateLimitingInterceptor.Budget;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+public class RateLimitingInterceptorTest {
+
+	@Rule
+	public MockWebServer server = new MockWebServer();
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private OkHttpClient httpClient;
+
+	@Before
+	public void setup() {
+		OpenShiftDeployerProperties.ApiRateLimit rateLimit = new OpenShiftDeployerProperties.ApiRateLimit();
+		rateLimit.setWritesPerSecond(1);
+		rateLimit.setMaxQueueTime(0);
+
+		meterRegistry = new SimpleMeterRegistry();
+		httpClient = new OkHttpClient.Builder()
+				.addInterceptor(new RateLimitingInterceptor(rateLimit, meterRegistry))
+				.build();
+	}
+
+	@Test
+	public void budgetOfRequest() {
+		assertThat(RateLimitingInterceptor.budgetOf(request("GET", "/oapi/v1/routes")))
+				.isEqualTo(Budget.READ);
+		assertThat(RateLimitingInterceptor
+				.budgetOf(request("GET", "/oapi/v1/builds?watch=true")))
+						.isEqualTo(Budget.WATCH);
+		assertThat(RateLimitingInterceptor.budgetOf(request("POST", "/oapi/v1/routes")))
+				.isEqualTo(Budget.WRITE);
+		assertThat(RateLimitingInterceptor
+				.budgetOf(request("DELETE", "/oapi/v1/routes/testapp-source")))
+						.isEqualTo(Budget.WRITE);
+	}
+
+	@Test
+	public void rejectWhenBudgetIsExhausted() throws IOException {
+		server.enqueue(new MockResponse().setResponseCode(201));
+		server.enqueue(new MockResponse().setResponseCode(201));
+
+		httpClient.newCall(request("POST", "/oapi/v1/routes")).execute().close();
+		try {
+			httpClient.newCall(request("POST", "/oapi/v1/routes")).execute().close();
+			fail("Expected the write budget to be exhausted");
+		}
+		catch (InterruptedIOException e) {
+			assertThat(e.getMessage()).contains("write request budget");
+		}
+
+		assertThat(server.getRequestCount()).isEqualTo(1);
+		assertThat(meterRegistry.get(RateLimitingInterceptor.REJECTED_METER)
+				.tag("budget", "write").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get(RateLimitingInterceptor.THROTTLED_METER)
+				.tag("budget", "write").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void budgetsAreSeparate() throws IOException {
+		server.enqueue(new MockResponse().setResponseCode(201));
+		server.enqueue(new MockResponse().setResponseCode(200));
+
+		httpClient.newCall(request("POST", "/oapi/v1/routes")).execute().close();
+		httpClient.newCall(request("GET", "/oapi/v1/routes")).execute().close();
+
+		assertThat(server.getRequestCount()).isEqualTo(2);
+	}
+
+	private Request request(String method, String path) {
+		return new Request.Builder().url(server.url(path))
+				.method(method,
+						"GET".equals(method) ? null
+								: RequestBody.create(MediaType.parse("application/json"),
+										"{}"))
+				.build();
+	}
+
+}
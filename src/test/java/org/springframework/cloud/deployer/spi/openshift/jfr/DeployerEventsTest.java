@@ -0,0 +1,67 @@
+package org.springframework.cloud.deployer.spi.openshift.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Span;
+import org.springframework.cloud.deployer.spi.openshift.jfr.DeployerEvents.Type;
+import org.springframework.util.ClassUtils;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class DeployerEventsTest {
+
+	@Before
+	public void assumeFlightRecorder() {
+		assumeTrue(ClassUtils.isPresent("jdk.jfr.FlightRecorder", null)
+				&& jdk.jfr.FlightRecorder.isAvailable());
+	}
+
+	@Test
+	public void binaryUploadEvent() throws IOException {
+		Path dump = Files.createTempFile("deployer-events", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("org.springframework.cloud.deployer.openshift.BinaryUpload");
+			recording.start();
+
+			Span event = DeployerEvents.begin(Type.BINARY_UPLOAD, "testapp-source",
+					"BuildConfig");
+			event.bytes(1024);
+			event.commit();
+
+			recording.stop();
+			recording.dump(dump);
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+			assertThat(events).hasSize(1);
+			assertThat(events.get(0).getString("appId")).isEqualTo("testapp-source");
+			assertThat(events.get(0).getString("kind")).isEqualTo("BuildConfig");
+			assertThat(events.get(0).getLong("bytes")).isEqualTo(1024);
+		}
+		finally {
+			Files.deleteIfExists(dump);
+		}
+	}
+
+	@Test
+	public void noEventWhenNotEnabled() {
+		try (Recording recording = new Recording()) {
+			recording.enable("org.springframework.cloud.deployer.openshift.BinaryUpload");
+			recording.disable("org.springframework.cloud.deployer.openshift.Hash");
+			recording.start();
+
+			assertThat(DeployerEvents.begin(Type.HASH, "testapp-source", "Resource"))
+					.isSameAs(DeployerEvents.NOOP);
+		}
+	}
+
+}
@@ -0,0 +1,192 @@
+package org.springframework.cloud.deployer.spi.openshift.load;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.ExecutorServiceAdapter;
+
+/**
+ * Runs an operation for a number of apps concurrently and records the latency of every
+ * operation, the errors and the number of API calls made. Operations are run in phases,
+ * e.g. all deploys, then all status calls, then all undeploys, so that the API calls
+ * made during a phase can be attributed to that operation.
+ */
+public class DeployerLoadHarness {
+
+	private static final Logger logger = LoggerFactory
+			.getLogger(DeployerLoadHarness.class);
+
+	private final int concurrency;
+
+	private final AsyncTaskExecutor taskExecutor;
+
+	private final LongSupplier apiCalls;
+
+	private final Map<String, OperationStats> results = new LinkedHashMap<>();
+
+	/**
+	 * @param concurrency the number of operations run in parallel
+	 * @param apiCalls the total number of API calls made so far
+	 */
+	public DeployerLoadHarness(int concurrency, LongSupplier apiCalls) {
+		this.concurrency = concurrency;
+		this.taskExecutor = null;
+		this.apiCalls = apiCalls;
+	}
+
+	/**
+	 * @param taskExecutor runs the operations, all are submitted at once
+	 * @param apiCalls the total number of API calls made so far
+	 */
+	public DeployerLoadHarness(AsyncTaskExecutor taskExecutor, LongSupplier apiCalls) {
+		this.concurrency = 0;
+		this.taskExecutor = taskExecutor;
+		this.apiCalls = apiCalls;
+	}
+
+	/**
+	 * Run the operation once for every app, with the configured concurrency or on the
+	 * configured executor.
+	 * @param operation the name the results are reported under
+	 * @param appIds the apps to run the operation for
+	 * @param action the operation
+	 * @return the results of this phase
+	 */
+	public OperationStats run(String operation, List<String> appIds,
+			Consumer<String> action) {
+		ExecutorService executorService = (taskExecutor != null)
+				? new ExecutorServiceAdapter(taskExecutor)
+				: Executors.newFixedThreadPool(concurrency);
+		long[] latencies = new long[appIds.size()];
+		AtomicInteger errors = new AtomicInteger();
+		long callsBefore = apiCalls.getAsLong();
+		long start = System.nanoTime();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < appIds.size(); i++) {
+				int index = i;
+				futures.add(executorService.submit(() -> {
+					long operationStart = System.nanoTime();
+					try {
+						action.accept(appIds.get(index));
+					}
+					catch (RuntimeException e) {
+						errors.incrementAndGet();
+						logger.warn("{} of '{}' failed", operation, appIds.get(index),
+								e);
+					}
+					finally {
+						latencies[index] = System.nanoTime() - operationStart;
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		catch (InterruptedException | ExecutionException e) {
+			throw new IllegalStateException(format("%s phase failed", operation), e);
+		}
+		finally {
+			if (taskExecutor == null) {
+				executorService.shutdownNow();
+			}
+		}
+
+		OperationStats stats = new OperationStats(operation, latencies,
+				System.nanoTime() - start, apiCalls.getAsLong() - callsBefore,
+				errors.get());
+		results.put(operation, stats);
+		return stats;
+	}
+
+	public Map<String, OperationStats> getResults() {
+		return results;
+	}
+
+	public String report() {
+		return results.values().stream().map(OperationStats::toString)
+				.collect(Collectors.joining("\n",
+						format("%-24s %8s %8s %12s %10s %10s %12s%n", "operation", "ops",
+								"errors", "ops/s", "p50 ms", "p99 ms", "calls/op"),
+						""));
+	}
+
+	public static class OperationStats {
+
+		private final String operation;
+
+		private final long[] latencies;
+
+		private final long elapsed;
+
+		private final long apiCalls;
+
+		private final int errors;
+
+		OperationStats(String operation, long[] latencies, long elapsed, long apiCalls,
+				int errors) {
+			this.operation = operation;
+			this.latencies = latencies.clone();
+			Arrays.sort(this.latencies);
+			this.elapsed = elapsed;
+			this.apiCalls = apiCalls;
+			this.errors = errors;
+		}
+
+		public int getOperations() {
+			return latencies.length;
+		}
+
+		public int getErrors() {
+			return errors;
+		}
+
+		public double getThroughput() {
+			return latencies.length / (elapsed / (double) TimeUnit.SECONDS.toNanos(1));
+		}
+
+		/**
+		 * @param percentile between 0 and 1
+		 * @return the latency in milliseconds, nearest rank
+		 */
+		public double getLatency(double percentile) {
+			if (latencies.length == 0) {
+				return 0;
+			}
+			int rank = (int) Math.ceil(percentile * latencies.length);
+			return latencies[Math.max(0, rank - 1)]
+					/ (double) TimeUnit.MILLISECONDS.toNanos(1);
+		}
+
+		public double getApiCallsPerOperation() {
+			return latencies.length == 0 ? 0 : apiCalls / (double) latencies.length;
+		}
+
+		@Override
+		public String toString() {
+			return format("%-24s %8d %8d %12.1f %10.1f %10.1f %12.1f", operation,
+					getOperations(), errors, getThroughput(), getLatency(0.5),
+					getLatency(0.99), getApiCallsPerOperation());
+		}
+
+	}
+
+}
@@ -0,0 +1,143 @@
+package org.springframework.cloud.deployer.spi.openshift.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.deployer.resource.docker.DockerResource;
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.openshift.DeployerTaskExecutor;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftAppDeployer;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.VirtualThreadTaskExecutor;
+import org.springframework.cloud.deployer.spi.openshift.client.ApiCallCountingInterceptor;
+import org.springframework.cloud.deployer.spi.openshift.load.DeployerLoadHarness.OperationStats;
+import org.springframework.cloud.deployer.spi.openshift.resources.pod.OpenShiftContainerFactory;
+import org.springframework.cloud.deployer.spi.openshift.resources.volumes.VolumeMountFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import io.fabric8.kubernetes.client.utils.HttpClientUtils;
+import io.fabric8.openshift.client.DefaultOpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftConfig;
+import io.fabric8.openshift.client.server.mock.OpenShiftServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Compares the execution modes of the deployer's task executor: submits a burst of
+ * concurrent status calls against the OpenShift mock server, with injected API
+ * latency, once to the bounded pool and once to virtual threads, and reports
+ * throughput, p50/p99 latency and the peak number of platform threads. The virtual
+ * thread run is skipped on JVMs without virtual threads.
+ *
+ * Disabled by default, run with:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=ExecutionModeLoadTest -Dopenshift.load.enabled=true \
+ *   -Dopenshift.load.statusCalls=1000 -Dopenshift.load.latency=20
+ * </pre>
+ */
+public class ExecutionModeLoadTest {
+
+	private static final Logger logger = LoggerFactory
+			.getLogger(ExecutionModeLoadTest.class);
+
+	@Rule
+	public OpenShiftServer server = new OpenShiftServer(false, true);
+
+	private final int apps = Integer.getInteger("openshift.load.apps", 16);
+
+	private final int statusCalls = Integer.getInteger("openshift.load.statusCalls",
+			1000);
+
+	private final long latency = Long.getLong("openshift.load.latency", 10L);
+
+	private final long jitter = Long.getLong("openshift.load.jitter", 5L);
+
+	private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+	private ApiCallCountingInterceptor apiCallCounter;
+
+	private OpenShiftDeployerProperties properties;
+
+	private OpenShiftAppDeployer appDeployer;
+
+	private List<String> appIds;
+
+	@Before
+	public void setup() {
+		assumeTrue(Boolean.getBoolean("openshift.load.enabled"));
+
+		OpenShiftConfig config = (OpenShiftConfig) server.getOpenshiftClient()
+				.getConfiguration();
+		apiCallCounter = new ApiCallCountingInterceptor(new SimpleMeterRegistry());
+		OpenShiftClient client = new DefaultOpenShiftClient(
+				HttpClientUtils.createHttpClient(config).newBuilder()
+						.addInterceptor(apiCallCounter)
+						.addInterceptor(new LatencyInjectingInterceptor(latency, jitter))
+						.build(),
+				config);
+
+		properties = new OpenShiftDeployerProperties();
+		appDeployer = new OpenShiftAppDeployer(properties, client,
+				new OpenShiftContainerFactory(properties,
+						new VolumeMountFactory(properties)));
+		appIds = IntStream.range(0, apps)
+				.mapToObj(index -> appDeployer.deploy(new AppDeploymentRequest(
+						new AppDefinition("app" + index, null),
+						new DockerResource("springcloud/testapp:latest"))))
+				.collect(Collectors.toList());
+	}
+
+	@Test
+	public void boundedPool() throws Exception {
+		run(new DeployerTaskExecutor("load-pool", properties.getThreadPool(),
+				new SimpleMeterRegistry()));
+	}
+
+	@Test
+	public void virtualThreads() throws Exception {
+		assumeTrue(VirtualThreadTaskExecutor.isSupported());
+
+		run(new VirtualThreadTaskExecutor("load-virtual",
+				properties.getThreadPool().getAwaitTermination(),
+				new SimpleMeterRegistry()));
+	}
+
+	private void run(AsyncTaskExecutor taskExecutor) throws Exception {
+		if (taskExecutor instanceof DeployerTaskExecutor) {
+			((DeployerTaskExecutor) taskExecutor).initialize();
+		}
+		List<String> calls = IntStream.range(0, statusCalls)
+				.mapToObj(index -> appIds.get(index % appIds.size()))
+				.collect(Collectors.toList());
+
+		try {
+			threads.resetPeakThreadCount();
+			DeployerLoadHarness harness = new DeployerLoadHarness(taskExecutor,
+					apiCallCounter::getTotalCalls);
+			OperationStats stats = harness.run("status", calls, appDeployer::status);
+
+			logger.info("{} status calls of {} apps, latency {}+{}ms, {} peak threads\n{}",
+					statusCalls, apps, latency, jitter, threads.getPeakThreadCount(),
+					harness.report());
+			assertThat(stats.getErrors()).as(stats.toString()).isZero();
+		}
+		finally {
+			((DisposableBean) taskExecutor).destroy();
+		}
+	}
+
+}
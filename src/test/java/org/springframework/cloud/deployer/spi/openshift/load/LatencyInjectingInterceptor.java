@@ -0,0 +1,46 @@
+package org.springframework.cloud.deployer.spi.openshift.load;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Delays every request by a fixed latency plus a random jitter, to simulate the round
+ * trip to a real OpenShift API server.
+ */
+public class LatencyInjectingInterceptor implements Interceptor {
+
+	private final long latency;
+
+	private final long jitter;
+
+	/**
+	 * @param latency the minimum latency in milliseconds added to every request
+	 * @param jitter the maximum random latency in milliseconds added on top
+	 */
+	public LatencyInjectingInterceptor(long latency, long jitter) {
+		this.latency = latency;
+		this.jitter = jitter;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		long delay = latency
+				+ (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0);
+		if (delay > 0) {
+			try {
+				Thread.sleep(delay);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while injecting latency");
+			}
+		}
+
+		return chain.proceed(chain.request());
+	}
+
+}
@@ -0,0 +1,158 @@
+package org.springframework.cloud.deployer.spi.openshift.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.deployer.resource.docker.DockerResource;
+import org.springframework.cloud.deployer.resource.maven.MavenProperties;
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftAppDeployer;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.ResourceAwareOpenShiftAppDeployer;
+import org.springframework.cloud.deployer.spi.openshift.ResourceHash;
+import org.springframework.cloud.deployer.spi.openshift.client.ApiCallAssert;
+import org.springframework.cloud.deployer.spi.openshift.client.ApiCallCountingInterceptor;
+import org.springframework.cloud.deployer.spi.openshift.load.DeployerLoadHarness.OperationStats;
+import org.springframework.cloud.deployer.spi.openshift.maven.MavenOpenShiftAppDeployer;
+import org.springframework.cloud.deployer.spi.openshift.maven.MavenResourceJarExtractor;
+import org.springframework.cloud.deployer.spi.openshift.resources.pod.OpenShiftContainerFactory;
+import org.springframework.cloud.deployer.spi.openshift.resources.volumes.VolumeMountFactory;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.fabric8.kubernetes.client.utils.HttpClientUtils;
+import io.fabric8.openshift.client.DefaultOpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftConfig;
+import io.fabric8.openshift.client.server.mock.OpenShiftServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Deploy throughput load harness. Drives concurrent deploys, status calls and undeploys
+ * of indexed and non-indexed apps through {@link ResourceAwareOpenShiftAppDeployer}
+ * against the OpenShift mock server in CRUD mode, with injected API latency, and
+ * reports throughput, p50/p99 latency and API calls per operation. Deploys and status
+ * calls are asserted to stay within their API call budgets.
+ *
+ * Disabled by default, run with:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=OpenShiftAppDeployerLoadTest -Dopenshift.load.enabled=true \
+ *   -Dopenshift.load.apps=32 -Dopenshift.load.concurrency=8 -Dopenshift.load.latency=20
+ * </pre>
+ */
+public class OpenShiftAppDeployerLoadTest {
+
+	private static final Logger logger = LoggerFactory
+			.getLogger(OpenShiftAppDeployerLoadTest.class);
+
+	@Rule
+	public OpenShiftServer server = new OpenShiftServer(false, true);
+
+	private final int apps = Integer.getInteger("openshift.load.apps", 16);
+
+	private final int concurrency = Integer.getInteger("openshift.load.concurrency", 4);
+
+	private final int instances = Integer.getInteger("openshift.load.instances", 2);
+
+	private final long latency = Long.getLong("openshift.load.latency", 10L);
+
+	private final long jitter = Long.getLong("openshift.load.jitter", 5L);
+
+	/**
+	 * API call budget of a deploy per app instance, on top of the existence check.
+	 */
+	private final long deployBudget = Long.getLong("openshift.load.budget.deploy", 4L);
+
+	private final long statusBudget = Long.getLong("openshift.load.budget.status", 4L);
+
+	private ApiCallCountingInterceptor apiCallCounter;
+
+	private AppDeployer appDeployer;
+
+	@Before
+	public void setup() {
+		assumeTrue(Boolean.getBoolean("openshift.load.enabled"));
+
+		OpenShiftConfig config = (OpenShiftConfig) server.getOpenshiftClient()
+				.getConfiguration();
+		apiCallCounter = new ApiCallCountingInterceptor(new SimpleMeterRegistry());
+		OpenShiftClient client = new DefaultOpenShiftClient(
+				HttpClientUtils.createHttpClient(config).newBuilder()
+						.addInterceptor(apiCallCounter)
+						.addInterceptor(new LatencyInjectingInterceptor(latency, jitter))
+						.build(),
+				config);
+
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		properties.setUndeployDelay(0);
+		// nothing scales the mock server's DeploymentConfigs down
+		properties.setScaleDownTimeout(
+				Long.getLong("openshift.load.scaleDownTimeout", 1000L));
+		OpenShiftContainerFactory containerFactory = new OpenShiftContainerFactory(
+				properties, new VolumeMountFactory(properties));
+		appDeployer = new ResourceAwareOpenShiftAppDeployer(
+				new OpenShiftAppDeployer(properties, client, containerFactory),
+				new MavenOpenShiftAppDeployer(properties, client, containerFactory,
+						new MavenResourceJarExtractor(), new MavenProperties(),
+						new ResourceHash()));
+	}
+
+	@Test
+	public void nonIndexedApps() {
+		run("app", ImmutableMap.of(AppDeployer.COUNT_PROPERTY_KEY,
+				String.valueOf(instances)));
+	}
+
+	@Test
+	public void indexedApps() {
+		run("indexed", ImmutableMap.of(AppDeployer.COUNT_PROPERTY_KEY,
+				String.valueOf(instances), AppDeployer.INDEXED_PROPERTY_KEY, "true"));
+	}
+
+	private void run(String prefix, Map<String, String> deploymentProperties) {
+		List<AppDeploymentRequest> requests = IntStream.range(0, apps)
+				.mapToObj(index -> new AppDeploymentRequest(
+						new AppDefinition(prefix + index, null),
+						new DockerResource("springcloud/testapp:latest"),
+						deploymentProperties))
+				.collect(Collectors.toList());
+		List<String> names = requests.stream()
+				.map(request -> request.getDefinition().getName())
+				.collect(Collectors.toList());
+		Map<String, AppDeploymentRequest> requestsByName = requests.stream()
+				.collect(Collectors.toMap(request -> request.getDefinition().getName(),
+						request -> request));
+
+		DeployerLoadHarness harness = new DeployerLoadHarness(concurrency,
+				apiCallCounter::getTotalCalls);
+		harness.run("deploy", names,
+				name -> appDeployer.deploy(requestsByName.get(name)));
+		harness.run("status", names, appDeployer::status);
+		harness.run("undeploy", names, appDeployer::undeploy);
+
+		logger.info("{} apps ({}), {} instances, concurrency {}, latency {}+{}ms\n{}",
+				apps, prefix, instances, concurrency, latency, jitter, harness.report());
+
+		for (OperationStats stats : harness.getResults().values()) {
+			assertThat(stats.getErrors()).as(stats.toString()).isZero();
+		}
+		ApiCallAssert.assertThat(apiCallCounter).operation("deploy")
+				.hasAtMostCalls(statusBudget + deployBudget * instances, apps);
+		ApiCallAssert.assertThat(apiCallCounter).operation("status")
+				.hasAtMostCalls(statusBudget, apps);
+	}
+
+}
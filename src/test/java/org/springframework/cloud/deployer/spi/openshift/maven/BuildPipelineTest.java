@@ -0,0 +1,56 @@
+package org.springframework.cloud.deployer.spi.openshift.maven;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import io.fabric8.openshift.api.model.Build;
+import io.fabric8.openshift.api.model.BuildBuilder;
+
+public class BuildPipelineTest {
+
+	private final BuildPipeline buildPipeline = new BuildPipeline(2, Runnable::run);
+
+	@Test
+	public void startQueuedBuildsAsBuildsFinish() {
+		List<CompletableFuture<Build>> builds = new ArrayList<>();
+		List<CompletableFuture<Build>> completions = new ArrayList<>();
+		for (int index = 0; index < 3; index++) {
+			completions.add(buildPipeline.submit(() -> {
+				CompletableFuture<Build> build = new CompletableFuture<>();
+				builds.add(build);
+				return build;
+			}));
+		}
+
+		assertThat(builds).hasSize(2);
+		assertThat(buildPipeline.getRunning()).isEqualTo(2);
+		assertThat(buildPipeline.getQueued()).isEqualTo(1);
+
+		Build build = new BuildBuilder().withNewMetadata().withName("testapp-1")
+				.endMetadata().build();
+		builds.get(0).complete(build);
+
+		assertThat(completions.get(0).getNow(null)).isEqualTo(build);
+		assertThat(builds).hasSize(3);
+		assertThat(buildPipeline.getQueued()).isZero();
+	}
+
+	@Test
+	public void failedStartFreesSlot() {
+		CompletableFuture<Build> failed = buildPipeline.submit(() -> {
+			throw new IllegalStateException("BuildConfig could not be created");
+		});
+		buildPipeline.submit(CompletableFuture::new);
+		buildPipeline.submit(CompletableFuture::new);
+
+		assertThat(failed.isCompletedExceptionally()).isTrue();
+		assertThat(buildPipeline.getRunning()).isEqualTo(2);
+		assertThat(buildPipeline.getQueued()).isZero();
+	}
+
+}
@@ -0,0 +1,82 @@
+package org.springframework.cloud.deployer.spi.openshift.maven;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.cloud.deployer.resource.maven.MavenResource;
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.openshift.BatchDeployment;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.ResourceHash;
+import org.springframework.cloud.deployer.spi.openshift.resources.buildConfig.MavenBuildConfigFactory;
+import org.springframework.cloud.deployer.spi.openshift.resources.pod.OpenShiftContainerFactory;
+import org.springframework.cloud.deployer.spi.openshift.resources.volumes.VolumeMountFactory;
+import org.springframework.core.io.Resource;
+
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.openshift.api.model.BuildBuilder;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.fabric8.openshift.client.server.mock.OpenShiftServer;
+
+public class MavenOpenShiftAppDeployerBatchTest {
+
+	@Rule
+	public OpenShiftServer server = new OpenShiftServer(false, true);
+
+	private final List<String> rolledOut = new CopyOnWriteArrayList<>();
+
+	@Test
+	public void deployBatchWithExistingBuild() throws InterruptedException {
+		OpenShiftClient client = server.getOpenshiftClient();
+		client.builds().create(new BuildBuilder().withNewMetadata()
+				.withName("ticktock-time-1").addToLabels("spring-app-id", "ticktock-time")
+				.endMetadata().withNewSpec().withNewStrategy().withType("Docker")
+				.withNewDockerStrategy()
+				.withEnv(new EnvVar(MavenBuildConfigFactory.SPRING_BUILD_ID_ENV_VAR,
+						"hash", null))
+				.endDockerStrategy().endStrategy().endSpec().withNewStatus()
+				.withPhase("Complete").endStatus().build());
+		MavenOpenShiftAppDeployer appDeployer = appDeployer(client);
+
+		BatchDeployment deployment = appDeployer.deploy(Stream
+				.of("ticktock-time", "ticktock-log")
+				.map(app -> new AppDeploymentRequest(new AppDefinition(app, null),
+						MavenResource.parse("org.test:ticktock:1.0.0")))
+				.collect(Collectors.toList()));
+
+		assertThat(deployment.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(deployment.getFailures()).isEmpty();
+		assertThat(client.buildConfigs().list().getItems()).isEmpty();
+		// the existing image is rolled out by the automatic trigger of ticktock-time
+		assertThat(rolledOut).containsExactly("ticktock-log");
+	}
+
+	private MavenOpenShiftAppDeployer appDeployer(OpenShiftClient client) {
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		return new MavenOpenShiftAppDeployer(properties, client,
+				new OpenShiftContainerFactory(properties,
+						new VolumeMountFactory(properties)),
+				null, null, new ResourceHash() {
+
+					@Override
+					public String hashResource(Resource resource, String appId) {
+						return "hash";
+					}
+				}) {
+
+			@Override
+			protected void deployLatest(String deploymentConfigName) {
+				rolledOut.add(deploymentConfigName);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,114 @@
+package org.springframework.cloud.deployer.spi.openshift.maven;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.resources.buildConfig.MavenBuildConfigFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.openshift.api.model.Build;
+import io.fabric8.openshift.api.model.BuildBuilder;
+import io.fabric8.openshift.client.DefaultOpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftConfigBuilder;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class MavenOpenShiftAppDeployerTest {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	@Rule
+	public MockWebServer server = new MockWebServer();
+
+	private final List<String> edited = new CopyOnWriteArrayList<>();
+
+	private final Map<String, Build> builds = Arrays
+			.asList(build("testapp-source-1", "Running", "old"),
+					build("testapp-source-2", "Complete", "old"),
+					build("testapp-source-3", "Running", "current"))
+			.stream().collect(Collectors.toMap(build -> build.getMetadata().getName(),
+					Function.identity()));
+
+	private MavenOpenShiftAppDeployer appDeployer;
+
+	@Before
+	public void setup() {
+		server.setDispatcher(new Dispatcher() {
+
+			@Override
+			public MockResponse dispatch(RecordedRequest request) {
+				List<String> segments = request.getRequestUrl().pathSegments();
+				String name = segments.get(segments.size() - 1);
+				if (name.equals("builds")) {
+					String items = builds.values().stream()
+							.map(MavenOpenShiftAppDeployerTest::json)
+							.collect(Collectors.joining(","));
+					return response(
+							String.format("{\"metadata\":{},\"items\":[%s]}", items));
+				}
+				if (!builds.containsKey(name)) {
+					return new MockResponse().setResponseCode(404);
+				}
+				if (!request.getMethod().equals("GET")) {
+					edited.add(name);
+				}
+				return response(json(builds.get(name)));
+			}
+		});
+
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		appDeployer = new MavenOpenShiftAppDeployer(properties,
+				new DefaultOpenShiftClient(new OpenShiftConfigBuilder()
+						.withMasterUrl(server.url("/").toString()).withNamespace("test")
+						.build()),
+				null, null, null, null);
+	}
+
+	@Test
+	public void cancelSupersededBuilds() {
+		appDeployer.cancelSupersededBuilds("testapp-source", "current");
+
+		assertThat(edited).containsExactly("testapp-source-1");
+	}
+
+	private static Build build(String name, String phase, String buildId) {
+		return new BuildBuilder().withNewMetadata().withName(name)
+				.addToLabels("spring-app-id", "testapp-source").endMetadata()
+				.withNewSpec().withNewStrategy().withType("Docker")
+				.withNewDockerStrategy()
+				.withEnv(new EnvVar(MavenBuildConfigFactory.SPRING_BUILD_ID_ENV_VAR,
+						buildId, null))
+				.endDockerStrategy().endStrategy().endSpec().withNewStatus()
+				.withPhase(phase).endStatus().build();
+	}
+
+	private static MockResponse response(String body) {
+		return new MockResponse().setHeader("Content-Type", "application/json")
+				.setBody(body);
+	}
+
+	private static String json(Build build) {
+		try {
+			return MAPPER.writeValueAsString(build);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
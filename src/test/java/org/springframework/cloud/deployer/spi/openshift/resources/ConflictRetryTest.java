@@ -0,0 +1,82 @@
+package org.springframework.cloud.deployer.spi.openshift.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.openshift.api.model.BuildConfig;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ConflictRetryTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private ConflictRetry conflictRetry;
+
+	@Before
+	public void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+		conflictRetry = new ConflictRetry(3, 1, 2, meterRegistry);
+	}
+
+	@Test
+	public void retryOnConflict() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		String result = conflictRetry.execute(DeploymentConfig.class, "testapp-source",
+				() -> {
+					if (attempts.incrementAndGet() < 3) {
+						throw new KubernetesClientException("conflict", 409, null);
+					}
+					return "replaced";
+				});
+
+		assertThat(result).isEqualTo("replaced");
+		assertThat(attempts.get()).isEqualTo(3);
+		assertThat(meterRegistry.get(ConflictRetry.RETRIES_METER)
+				.tag("kind", "DeploymentConfig").counter().count()).isEqualTo(2);
+	}
+
+	@Test
+	public void giveUpAfterMaxAttempts() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		try {
+			conflictRetry.execute(BuildConfig.class, "testapp-source", () -> {
+				attempts.incrementAndGet();
+				throw new KubernetesClientException("conflict", 409, null);
+			});
+			fail("Expected a conflict");
+		}
+		catch (KubernetesClientException e) {
+			assertThat(e.getCode()).isEqualTo(409);
+		}
+
+		assertThat(attempts.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void noRetryOnOtherErrors() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		try {
+			conflictRetry.execute(BuildConfig.class, "testapp-source", () -> {
+				attempts.incrementAndGet();
+				throw new KubernetesClientException("forbidden", 403, null);
+			});
+			fail("Expected an error");
+		}
+		catch (KubernetesClientException e) {
+			assertThat(e.getCode()).isEqualTo(403);
+		}
+
+		assertThat(attempts.get()).isEqualTo(1);
+	}
+
+}
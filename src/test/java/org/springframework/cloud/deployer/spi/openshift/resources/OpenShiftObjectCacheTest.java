@@ -0,0 +1,182 @@
+package org.springframework.cloud.deployer.spi.openshift.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.fabric8.kubernetes.api.model.StatusBuilder;
+import io.fabric8.kubernetes.api.model.WatchEvent;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.openshift.api.model.Route;
+import io.fabric8.openshift.api.model.RouteBuilder;
+import io.fabric8.openshift.api.model.RouteListBuilder;
+import io.fabric8.openshift.client.server.mock.OpenShiftServer;
+
+public class OpenShiftObjectCacheTest {
+
+	@Rule
+	public OpenShiftServer server = new OpenShiftServer();
+
+	private OpenShiftObjectCache objectCache;
+
+	@Before
+	public void setup() {
+		objectCache = new OpenShiftObjectCache(null);
+	}
+
+	@Test
+	public void getLoadsOnlyOnCacheMiss() {
+		AtomicInteger loads = new AtomicInteger();
+
+		Optional<Route> first = objectCache.get(Route.class, "testapp-source", () -> {
+			loads.incrementAndGet();
+			return route("testapp-source", "1");
+		});
+		Optional<Route> second = objectCache.get(Route.class, "testapp-source", () -> {
+			loads.incrementAndGet();
+			return route("testapp-source", "1");
+		});
+
+		assertThat(first).isPresent();
+		assertThat(second).isPresent();
+		assertThat(loads.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void getDoesNotCacheMissingObjects() {
+		AtomicInteger loads = new AtomicInteger();
+
+		objectCache.get(Route.class, "testapp-source", () -> {
+			loads.incrementAndGet();
+			return null;
+		});
+		Optional<Route> route = objectCache.get(Route.class, "testapp-source", () -> {
+			loads.incrementAndGet();
+			return null;
+		});
+
+		assertThat(route).isNotPresent();
+		assertThat(loads.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void replaceIsConditionalOnCachedResourceVersion() {
+		Route existing = objectCache.put(route("testapp-source", "1"));
+
+		Route replaced = objectCache.replace(existing, route("testapp-source", null),
+				resourceVersion -> {
+					assertThat(resourceVersion).isEqualTo("1");
+					return item -> route("testapp-source", "2");
+				});
+
+		assertThat(replaced.getMetadata().getResourceVersion()).isEqualTo("2");
+		assertThat(objectCache.get(Route.class, "testapp-source", () -> null).get()
+				.getMetadata().getResourceVersion()).isEqualTo("2");
+	}
+
+	@Test
+	public void replaceEvictsStaleObjectOnConflict() {
+		Route existing = objectCache.put(route("testapp-source", "1"));
+
+		try {
+			objectCache.replace(existing, route("testapp-source", null),
+					resourceVersion -> item -> {
+						throw new KubernetesClientException("the object has been modified",
+								409, null);
+					});
+			fail("Expected a conflict");
+		}
+		catch (KubernetesClientException e) {
+			assertThat(e.getCode()).isEqualTo(409);
+		}
+
+		assertThat(objectCache.get(Route.class, "testapp-source", () -> null))
+				.isNotPresent();
+	}
+
+	@Test
+	public void evictApp() {
+		objectCache.put(route("testapp-source", "1"));
+		objectCache.put(route("otherapp-source", "1"));
+
+		objectCache.evictApp("testapp-source");
+
+		assertThat(objectCache.get(Route.class, "testapp-source", () -> null))
+				.isNotPresent();
+		assertThat(objectCache.get(Route.class, "otherapp-source", () -> null))
+				.isPresent();
+	}
+
+	@Test
+	public void containsLoadsLabeledObjectsUntilWatched() {
+		AtomicInteger loads = new AtomicInteger();
+
+		boolean deployed = objectCache.contains(Route.class, "testapp-source", () -> {
+			loads.incrementAndGet();
+			return Collections.singletonList(route("testapp-source", "1"));
+		});
+		boolean otherDeployed = objectCache.contains(Route.class, "otherapp-source",
+				() -> {
+					loads.incrementAndGet();
+					return Collections.emptyList();
+				});
+
+		assertThat(deployed).isTrue();
+		assertThat(otherDeployed).isFalse();
+		assertThat(loads.get()).isEqualTo(2);
+		assertThat(objectCache.get(Route.class, "testapp-source", () -> null))
+				.isPresent();
+	}
+
+	@Test
+	public void rewatchAndRelistAfterWatchError() throws Exception {
+		String path = "/oapi/v1/namespaces/test/routes?labelSelector=spring-app-id";
+		server.expect().withPath(path)
+				.andReturn(200, new RouteListBuilder()
+						.addToItems(route("testapp-source", "1")).build())
+				.once();
+		server.expect().withPath(path)
+				.andReturn(200, new RouteListBuilder()
+						.addToItems(route("otherapp-source", "2")).build())
+				.once();
+		server.expect().withPath(path + "&watch=true").andUpgradeToWebSocket().open()
+				.waitFor(100)
+				.andEmit(new WatchEvent(new StatusBuilder().withCode(410).build(),
+						"ERROR"))
+				.done().once();
+		server.expect().withPath(path + "&watch=true").andUpgradeToWebSocket().open()
+				.done().once();
+
+		OpenShiftObjectCache watchingCache = new OpenShiftObjectCache(
+				server.getOpenshiftClient(), new ConflictRetry(), 100);
+		try {
+			watchingCache.start();
+			Thread.sleep(1000);
+
+			assertThat(watchingCache.get(Route.class, "otherapp-source", () -> null))
+					.isPresent();
+			assertThat(watchingCache.get(Route.class, "testapp-source", () -> null))
+					.isNotPresent();
+		}
+		finally {
+			watchingCache.close();
+		}
+	}
+
+	private Route route(String name, String resourceVersion) {
+		return new RouteBuilder().withNewMetadata().withName(name)
+				.withResourceVersion(resourceVersion)
+				.withLabels(ImmutableMap.of("spring-app-id", name)).endMetadata()
+				.build();
+	}
+
+}
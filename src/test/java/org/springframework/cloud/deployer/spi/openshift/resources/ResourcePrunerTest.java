@@ -0,0 +1,131 @@
+package org.springframework.cloud.deployer.spi.openshift.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+
+import io.fabric8.openshift.client.DefaultOpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftConfigBuilder;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class ResourcePrunerTest {
+
+	private static final String OLD = Instant.now().minus(30, ChronoUnit.DAYS)
+			.truncatedTo(ChronoUnit.SECONDS).toString();
+
+	private static final String RECENT = Instant.now().truncatedTo(ChronoUnit.SECONDS)
+			.toString();
+
+	@Rule
+	public MockWebServer server = new MockWebServer();
+
+	private final List<String> deleted = new CopyOnWriteArrayList<>();
+
+	private volatile String deploymentConfig = object("testapp-source", "testapp-source",
+			OLD);
+
+	private ResourcePruner resourcePruner;
+
+	@Before
+	public void setup() {
+		server.setDispatcher(new Dispatcher() {
+
+			@Override
+			public MockResponse dispatch(RecordedRequest request) {
+				List<String> segments = request.getRequestUrl().pathSegments();
+				if (request.getMethod().equals("DELETE")) {
+					deleted.add(segments.get(segments.size() - 1));
+					return new MockResponse().setBody("{}");
+				}
+				String path = request.getRequestUrl().encodedPath();
+				switch (path) {
+				case "/oapi/v1/namespaces/test/deploymentconfigs":
+					return list(deploymentConfig);
+				case "/oapi/v1/namespaces/test/builds":
+					return list(object("testapp-source-1", "testapp-source", OLD),
+							object("otherapp-source-1", "otherapp-source", OLD),
+							object("otherapp-source-2", "otherapp-source", RECENT));
+				case "/oapi/v1/namespaces/test/buildconfigs":
+					return list(object("testapp-source", "testapp-source", OLD));
+				case "/oapi/v1/namespaces/test/imagestreams":
+					return list("{\"metadata\":{\"name\":\"testapp-source\"},"
+							+ "\"status\":{\"tags\":["
+							+ tag("latest", "2018-01-01T00:00:00Z") + ","
+							+ tag("1.0.0", "2018-01-02T00:00:00Z") + ","
+							+ tag("1.0.1", "2018-01-03T00:00:00Z") + "]}}");
+				default:
+					return new MockResponse().setResponseCode(404);
+				}
+			}
+		});
+
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		properties.getPruning().setBuildRetention(86400000);
+		properties.getPruning().setImageTagsHistoryLimit(1);
+		resourcePruner = new ResourcePruner(
+				new DefaultOpenShiftClient(new OpenShiftConfigBuilder()
+						.withMasterUrl(server.url("/").toString()).withNamespace("test")
+						.build()),
+				properties);
+	}
+
+	@Test
+	public void pruneBuildsOfUndeployedApps() {
+		resourcePruner.prune();
+
+		assertThat(deleted).contains("otherapp-source-1")
+				.doesNotContain("testapp-source-1", "otherapp-source-2");
+	}
+
+	@Test
+	public void pruneOldImageTags() {
+		resourcePruner.prune();
+
+		assertThat(deleted).contains("testapp-source:1.0.0")
+				.doesNotContain("testapp-source:1.0.1", "testapp-source:latest");
+	}
+
+	@Test
+	public void keepImageTagsOfImageChangeTriggers() {
+		deploymentConfig = "{\"metadata\":{\"name\":\"testapp-source\","
+				+ "\"labels\":{\"spring-app-id\":\"testapp-source\"}},"
+				+ "\"spec\":{\"triggers\":[{\"type\":\"ConfigChange\"},"
+				+ "{\"type\":\"ImageChange\",\"imageChangeParams\":{"
+				+ "\"containerNames\":[\"testapp-source\"],"
+				+ "\"from\":{\"kind\":\"ImageStreamTag\","
+				+ "\"name\":\"testapp-source:1.0.0\"}}}]}}";
+
+		resourcePruner.prune();
+
+		assertThat(deleted).doesNotContain("testapp-source:1.0.0",
+				"testapp-source:1.0.1", "testapp-source:latest");
+	}
+
+	private MockResponse list(String... items) {
+		return new MockResponse().setBody(
+				String.format("{\"metadata\":{},\"items\":[%s]}", String.join(",", items)));
+	}
+
+	private String object(String name, String appId, String creationTimestamp) {
+		return String.format(
+				"{\"metadata\":{\"name\":\"%s\",\"labels\":{\"spring-app-id\":\"%s\"},\"creationTimestamp\":\"%s\"}}",
+				name, appId, creationTimestamp);
+	}
+
+	private String tag(String tag, String created) {
+		return String.format("{\"tag\":\"%s\",\"items\":[{\"created\":\"%s\"}]}", tag,
+				created);
+	}
+
+}
@@ -11,6 +11,7 @@ import org.junit.Test;
 
 import org.springframework.cloud.deployer.spi.core.AppDefinition;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
 import org.springframework.core.io.Resource;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -51,4 +52,27 @@ public class BuildConfigFactoryTest {
 						.endImageChange().build());
 	}
 
+	@Test
+	public void buildBuildConfigWithHistoryLimits() {
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		properties.setSuccessfulBuildsHistoryLimit(2);
+		properties.setFailedBuildsHistoryLimit(1);
+		buildConfigFactory = new BuildConfigFactory(properties) {
+
+			@Override
+			protected BuildRequest buildBuildRequest(final AppDeploymentRequest request,
+					final String appId) {
+				return null;
+			}
+		};
+
+		BuildConfig buildConfig = buildConfigFactory.buildBuildConfig(
+				new AppDeploymentRequest(new AppDefinition("testapp", null),
+						mock(Resource.class)),
+				"testapp-source", ImmutableMap.of("spring-app-id", "testapp-source"));
+
+		assertThat(buildConfig.getSpec().getSuccessfulBuildsHistoryLimit()).isEqualTo(2);
+		assertThat(buildConfig.getSpec().getFailedBuildsHistoryLimit()).isEqualTo(1);
+	}
+
 }
@@ -35,7 +35,7 @@ public class MavenBuildConfigFactoryTest {
 
 	@Test
 	public void buildBuildRequestWithoutAuthenticatedRemoteRepository() {
-		when(resourceHash.hashResource(any())).thenReturn("1");
+		when(resourceHash.hashResource(any(), any())).thenReturn("1");
 
 		MavenProperties mavenProperties = new MavenProperties();
 		mavenProperties.getRemoteRepositories().put("repo1",
@@ -67,7 +67,7 @@ public class MavenBuildConfigFactoryTest {
 
 	@Test
 	public void buildBuildRequestWithAuthenticatedRemoteRepository() {
-		when(resourceHash.hashResource(any())).thenReturn("1");
+		when(resourceHash.hashResource(any(), any())).thenReturn("1");
 
 		MavenProperties mavenProperties = new MavenProperties();
 		MavenProperties.Authentication authentication = new MavenProperties.Authentication();
@@ -99,7 +99,7 @@ public class MavenBuildConfigFactoryTest {
 
 	@Test
 	public void buildBuildRequestWithNexusRemoteRepository() {
-		when(resourceHash.hashResource(any())).thenReturn("1");
+		when(resourceHash.hashResource(any(), any())).thenReturn("1");
 
 		MavenProperties mavenProperties = new MavenProperties();
 		mavenProperties.getRemoteRepositories().put("repo1",
@@ -52,6 +52,23 @@ public class DeploymentConfigFactoryTest {
 				.isEmpty();
 	}
 
+	@Test
+	public void buildDeploymentConfigWithRevisionHistoryLimit() {
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		properties.setRevisionHistoryLimit(2);
+		deploymentConfigFactory = new DeploymentConfigFactory(server.getOpenshiftClient(),
+				null, properties, null, null, null, ImagePullPolicy.Always,
+				new VolumeFactory(properties));
+
+		AppDeploymentRequest request = new AppDeploymentRequest(
+				new AppDefinition("testapp-source", null), mock(Resource.class));
+
+		DeploymentConfig deploymentConfig = deploymentConfigFactory.build(request,
+				"testapp-source", new Container(), null, null, ImagePullPolicy.Always);
+
+		assertThat(deploymentConfig.getSpec().getRevisionHistoryLimit()).isEqualTo(2);
+	}
+
 	@Test
 	public void buildDeploymentConfigWithServiceAccount() {
 		deploymentConfigFactory = new DeploymentConfigFactory(server.getOpenshiftClient(),
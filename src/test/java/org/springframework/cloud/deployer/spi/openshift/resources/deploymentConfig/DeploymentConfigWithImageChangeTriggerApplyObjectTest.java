@@ -0,0 +1,59 @@
+package org.springframework.cloud.deployer.spi.openshift.resources.deploymentConfig;
+
+import com.google.common.collect.ImmutableMap;
+import io.fabric8.openshift.api.model.DeploymentConfigBuilder;
+import io.fabric8.openshift.api.model.DeploymentTriggerPolicy;
+import io.fabric8.openshift.client.server.mock.OpenShiftServer;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.kubernetes.ImagePullPolicy;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
+import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeploymentRequest;
+import org.springframework.core.io.Resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class DeploymentConfigWithImageChangeTriggerApplyObjectTest {
+
+	@Rule
+	public OpenShiftServer server = new OpenShiftServer(false, true);
+
+	@Test
+	public void applyObject() {
+		assertThat(applyObject("testapp-source", ImmutableMap.of())
+				.getImageChangeParams().getAutomatic()).isTrue();
+	}
+
+	@Test
+	public void applyObjectWithSharedImageStream() {
+		DeploymentTriggerPolicy trigger = applyObject("ticktock-log", ImmutableMap
+				.of(OpenShiftDeploymentRequest.SHARED_IMAGE_STREAM, "ticktock-time"));
+
+		assertThat(trigger.getImageChangeParams().getAutomatic()).isFalse();
+		assertThat(trigger.getImageChangeParams().getFrom().getName())
+				.isEqualTo("ticktock-time:latest");
+	}
+
+	private DeploymentTriggerPolicy applyObject(String appId,
+			ImmutableMap<String, String> deploymentProperties) {
+		DeploymentConfigFactory deploymentConfigFactory = new DeploymentConfigWithImageChangeTriggerWithIndexSuppportFactory(
+				server.getOpenshiftClient(), new OpenShiftDeployerProperties(), null,
+				null, null, ImagePullPolicy.Always);
+		server.getOpenshiftClient().deploymentConfigs()
+				.create(new DeploymentConfigBuilder().withNewMetadata().withName(appId)
+						.addToLabels("spring-app-id", appId).endMetadata().withNewSpec()
+						.endSpec().build());
+
+		deploymentConfigFactory.applyObject(new AppDeploymentRequest(
+				new AppDefinition(appId, null), mock(Resource.class),
+				deploymentProperties), appId);
+
+		return server.getOpenshiftClient().deploymentConfigs().withName(appId).get()
+				.getSpec().getTriggers().get(0);
+	}
+
+}
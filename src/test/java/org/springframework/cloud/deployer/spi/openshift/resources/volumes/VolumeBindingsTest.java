@@ -0,0 +1,72 @@
+package org.springframework.cloud.deployer.spi.openshift.resources.volumes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.VolumeBuilder;
+import io.fabric8.kubernetes.api.model.VolumeMount;
+import io.fabric8.kubernetes.api.model.VolumeMountBuilder;
+
+public class VolumeBindingsTest {
+
+	@Before
+	public void setup() {
+		VolumeBindings.clear();
+	}
+
+	@Test
+	public void volumesAreMemoized() {
+		String yaml = "[{name: testhostpath, hostPath: { path: '/test/hostPath' }}]";
+
+		List<Volume> volumes = VolumeBindings.volumes(yaml);
+
+		assertThat(volumes).containsExactly(new VolumeBuilder().withName("testhostpath")
+				.withNewHostPath("/test/hostPath").build());
+		assertThat(VolumeBindings.volumes(yaml)).isSameAs(volumes);
+	}
+
+	@Test
+	public void volumeMountsAreMemoized() {
+		String yaml = "[{name: 'testpvc', mountPath: '/test/pvc'}]";
+
+		List<VolumeMount> volumeMounts = VolumeBindings.volumeMounts(yaml);
+
+		assertThat(volumeMounts).containsExactly(new VolumeMountBuilder()
+				.withName("testpvc").withMountPath("/test/pvc").build());
+		assertThat(VolumeBindings.volumeMounts(yaml)).isSameAs(volumeMounts);
+	}
+
+	@Test
+	public void invalidVolumeMount() {
+		try {
+			VolumeBindings.volumeMounts("[{name: 'testpvc', mountPath: ");
+			fail("Expected the volume mount to be invalid");
+		}
+		catch (IllegalArgumentException e) {
+			assertThat(e.getMessage()).startsWith("Invalid volume mount");
+		}
+	}
+
+	@Test
+	public void mergeByName() {
+		VolumeMount override = new VolumeMountBuilder().withName("testpvc")
+				.withMountPath("/test/override/pvc").build();
+		VolumeMount defaultMount = new VolumeMountBuilder().withName("testpvc")
+				.withMountPath("/test/pvc").build();
+		VolumeMount otherDefault = new VolumeMountBuilder().withName("testnfs")
+				.withMountPath("/test/nfs").build();
+
+		assertThat(VolumeBindings.merge(ImmutableList.of(override),
+				ImmutableList.of(defaultMount, otherDefault), VolumeMount::getName))
+						.containsExactly(override, otherDefault);
+	}
+
+}
@@ -4,24 +4,44 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.springframework.cloud.config.client.ConfigClientProperties;
 import org.springframework.cloud.config.client.ConfigServicePropertySourceLocator;
 import org.springframework.cloud.deployer.spi.core.AppDefinition;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.openshift.DeployerTaskExecutor;
 import org.springframework.cloud.deployer.spi.openshift.OpenShiftDeployerProperties;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.Resource;
 import org.springframework.mock.env.MockPropertySource;
 
 import com.google.common.collect.ImmutableMap;
 
 import io.fabric8.kubernetes.api.model.VolumeMount;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
 
 public class VolumeMountConfigServerFactoryTest {
 
+	private static final String CONFIG_SERVER_RESPONSE = "{\"name\": \"testapp-source\", "
+			+ "\"profiles\": [\"default\"], \"propertySources\": [{\"name\": \"stub\", "
+			+ "\"source\": {\"volumeMounts[0].name\": \"testVolume\", "
+			+ "\"volumeMounts[0].mountPath\": \"/mnt/test\"}}]}";
+
+	/**
+	 * Stub config server
+	 */
+	@Rule
+	public MockWebServer configServer = new MockWebServer();
+
 	private VolumeMountFactory volumeMountFactory;
 
 	private ConfigServicePropertySourceLocator configServicePropertySourceLocator;
@@ -89,4 +109,135 @@ public class VolumeMountConfigServerFactoryTest {
 				new VolumeMount("/mnt/test/deployer", "testVolume", null, null));
 	}
 
+	@Test
+	public void volumeMountsCachedPerApp() {
+		configServer.enqueue(configServerResponse());
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		volumeMountFactory = new VolumeMountConfigServerFactory(
+				stubConfigServerLocator(), new OpenShiftDeployerProperties(),
+				meterRegistry);
+
+		List<VolumeMount> volumeMounts = volumeMountFactory.addObject(request(), "1");
+		List<VolumeMount> cachedVolumeMounts = volumeMountFactory.addObject(request(),
+				"1");
+
+		assertThat(volumeMounts).containsExactly(
+				new VolumeMount("/mnt/test", "testVolume", null, null));
+		assertThat(cachedVolumeMounts).isEqualTo(volumeMounts);
+		assertThat(configServer.getRequestCount()).isEqualTo(1);
+		assertThat(meterRegistry.get("cache.gets")
+				.tag("cache", VolumeMountConfigServerFactory.CACHE_NAME)
+				.tag("result", "hit").functionCounter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get(VolumeMountConfigServerFactory.CONFIG_SERVER_METER)
+				.tag("outcome", "success").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void timeoutWithoutKnownVolumeMounts() {
+		configServer.enqueue(
+				configServerResponse().setBodyDelay(2, TimeUnit.SECONDS));
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		properties.setConfigServerTimeout(100);
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		volumeMountFactory = new VolumeMountConfigServerFactory(
+				stubConfigServerLocator(), properties, meterRegistry);
+
+		long start = System.currentTimeMillis();
+		List<VolumeMount> volumeMounts = volumeMountFactory.addObject(request(), "1");
+
+		assertThat(System.currentTimeMillis() - start).isLessThan(1500);
+		assertThat(volumeMounts).isEmpty();
+		assertThat(meterRegistry.get(VolumeMountConfigServerFactory.CONFIG_SERVER_METER)
+				.tag("outcome", "timeout").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void lastKnownVolumeMountsWhenRefreshFails() throws InterruptedException {
+		configServer.enqueue(configServerResponse());
+		configServer.enqueue(new MockResponse().setResponseCode(500));
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		properties.setConfigServerVolumeMountsTtl(1);
+		volumeMountFactory = new VolumeMountConfigServerFactory(
+				stubConfigServerLocator(), properties, new SimpleMeterRegistry());
+
+		volumeMountFactory.addObject(request(), "1");
+		Thread.sleep(10);
+		// triggers a background refresh, which fails
+		List<VolumeMount> refreshing = volumeMountFactory.addObject(request(), "1");
+		configServer.takeRequest(1, TimeUnit.SECONDS);
+		configServer.takeRequest(1, TimeUnit.SECONDS);
+		Thread.sleep(100);
+		List<VolumeMount> refreshed = volumeMountFactory.addObject(request(), "1");
+
+		assertThat(refreshing).containsExactly(
+				new VolumeMount("/mnt/test", "testVolume", null, null));
+		assertThat(refreshed).containsExactly(
+				new VolumeMount("/mnt/test", "testVolume", null, null));
+	}
+
+	@Test
+	public void refreshMoreAppsThanThreads() throws InterruptedException {
+		int apps = 4;
+		for (int i = 0; i < apps * 2; i++) {
+			configServer.enqueue(configServerResponse());
+		}
+		OpenShiftDeployerProperties properties = new OpenShiftDeployerProperties();
+		properties.setConfigServerVolumeMountsTtl(1);
+		properties.setConfigServerTimeout(500);
+		properties.getThreadPool().setCorePoolSize(1);
+		properties.getThreadPool().setMaxPoolSize(1);
+		properties.getThreadPool().setQueueCapacity(apps);
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		DeployerTaskExecutor taskExecutor = new DeployerTaskExecutor("config-server-test",
+				properties.getThreadPool(), meterRegistry);
+		taskExecutor.initialize();
+		try {
+			volumeMountFactory = new VolumeMountConfigServerFactory(
+					stubConfigServerLocator(), properties, meterRegistry, taskExecutor);
+			for (int i = 0; i < apps; i++) {
+				volumeMountFactory.addObject(request(), "app-" + i);
+			}
+			Thread.sleep(10);
+			// each triggers a background refresh on the single thread of the executor
+			for (int i = 0; i < apps; i++) {
+				volumeMountFactory.addObject(request(), "app-" + i);
+			}
+
+			Timer successes = meterRegistry
+					.get(VolumeMountConfigServerFactory.CONFIG_SERVER_METER)
+					.tag("outcome", "success").timer();
+			long deadline = System.currentTimeMillis() + 5000;
+			while (successes.count() < apps * 2
+					&& System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+
+			assertThat(successes.count()).isEqualTo(apps * 2);
+			assertThat(meterRegistry
+					.find(VolumeMountConfigServerFactory.CONFIG_SERVER_METER)
+					.tag("outcome", "timeout").timer()).isNull();
+		}
+		finally {
+			taskExecutor.shutdown();
+		}
+	}
+
+	private AppDeploymentRequest request() {
+		return new AppDeploymentRequest(new AppDefinition("testapp-source", null),
+				mock(Resource.class), null);
+	}
+
+	private ConfigServicePropertySourceLocator stubConfigServerLocator() {
+		ConfigClientProperties properties = new ConfigClientProperties(
+				new StandardEnvironment());
+		properties.setUri(configServer.url("/config").toString());
+		properties.setFailFast(false);
+		return new ConfigServicePropertySourceLocator(properties);
+	}
+
+	private MockResponse configServerResponse() {
+		return new MockResponse().setHeader("Content-Type", "application/json")
+				.setBody(CONFIG_SERVER_RESPONSE);
+	}
+
 }